@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.exception.HyperwalletRestException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code AuthenticationReplayListener} hands results to a {@link HyperwalletListener}, except the first
+ * {@code 401 Unauthorized} failure: the authentication token was rejected by the platform before it turned stale,
+ * for instance after a clock skew or a revocation, so the request is replayed instead with a new token
+ */
+class AuthenticationReplayListener implements HyperwalletListener<Object> {
+
+    private final HyperwalletListener mListener;
+    private final Replay mReplay;
+    private final AtomicBoolean mReplayed = new AtomicBoolean();
+
+    /**
+     * @param listener listener notified of the results
+     * @param replay   replays the request with a new authentication token, the result is handed to
+     *                 {@code listener} directly
+     */
+    AuthenticationReplayListener(@NonNull final HyperwalletListener listener, @NonNull final Replay replay) {
+        mListener = listener;
+        mReplay = replay;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onSuccess(@Nullable final Object result) {
+        mListener.onSuccess(result);
+    }
+
+    @Override
+    public void onFailure(final HyperwalletException exception) {
+        if (isAuthenticationFailure(exception) && mReplayed.compareAndSet(false, true)) {
+            mReplay.replay();
+        } else {
+            mListener.onFailure(exception);
+        }
+    }
+
+    @Override
+    public Handler getHandler() {
+        return mListener.getHandler();
+    }
+
+    private static boolean isAuthenticationFailure(@Nullable final HyperwalletException exception) {
+        return exception instanceof HyperwalletRestException
+                && ((HyperwalletRestException) exception).getHttpCode() == HttpURLConnection.HTTP_UNAUTHORIZED;
+    }
+
+    /**
+     * Replays a request rejected with {@code 401 Unauthorized}
+     */
+    interface Replay {
+
+        /**
+         * Retrieves a new authentication token and sends the request again with it
+         */
+        void replay();
+    }
+}
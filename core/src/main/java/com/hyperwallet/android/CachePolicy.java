@@ -0,0 +1,38 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+/**
+ * {@code CachePolicy} defines whether a GET request is answered from the {@link com.hyperwallet.android.util.DiskCache},
+ * from the network, or from both.
+ */
+public enum CachePolicy {
+    /**
+     * The request is sent to the Hyperwallet platform, a successful response is stored in the disk cache
+     */
+    NETWORK_ONLY,
+    /**
+     * A cached response, if any, is delivered first; the request is then sent to the Hyperwallet platform and its
+     * response is delivered as well, so the listener can be notified twice
+     */
+    CACHE_THEN_NETWORK,
+    /**
+     * Only the cached response is delivered, the listener fails with
+     * {@link ExceptionMapper#EC_CACHE_MISS_EXCEPTION} when there is none
+     */
+    CACHE_ONLY
+}
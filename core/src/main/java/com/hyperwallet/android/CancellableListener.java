@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+
+/**
+ * {@code CancellableListener} hands results to a {@link HyperwalletListener} unless its {@link RequestHandle} was
+ * cancelled; the check is made on the listener {@link Handler}, right before the listener would be notified
+ */
+class CancellableListener implements HyperwalletListener<Object> {
+
+    private final HyperwalletListener mListener;
+    private final RequestHandle mRequestHandle;
+
+    CancellableListener(@NonNull final HyperwalletListener listener, @NonNull final RequestHandle requestHandle) {
+        mListener = listener;
+        mRequestHandle = requestHandle;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onSuccess(@Nullable final Object result) {
+        if (!mRequestHandle.isCancelled()) {
+            mListener.onSuccess(result);
+        }
+    }
+
+    @Override
+    public void onFailure(final HyperwalletException exception) {
+        if (!mRequestHandle.isCancelled()) {
+            mListener.onFailure(exception);
+        }
+    }
+
+    @Override
+    public Handler getHandler() {
+        return mListener.getHandler();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.util.RequestCoalescer;
+
+import java.util.List;
+
+/**
+ * {@code CoalescedListener} receives the result of a request shared by identical in-flight requests and hands it to
+ * every {@link HyperwalletListener} that joined the request, each on its own {@link Handler}
+ */
+class CoalescedListener implements HyperwalletListener<Object> {
+
+    private final RequestCoalescer<HyperwalletListener> mRequestCoalescer;
+    private final String mKey;
+
+    CoalescedListener(@NonNull final RequestCoalescer<HyperwalletListener> requestCoalescer,
+            @NonNull final String key) {
+        mRequestCoalescer = requestCoalescer;
+        mKey = key;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onSuccess(@Nullable final Object result) {
+        List<HyperwalletListener> listeners = mRequestCoalescer.complete(mKey);
+        for (final HyperwalletListener listener : listeners) {
+            if (listener.getHandler() == null) {
+                try {
+                    listener.onSuccess(result);
+                } catch (Exception e) {
+                    listener.onFailure(ExceptionMapper.toHyperwalletException(e));
+                }
+            } else {
+                listener.getHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onSuccess(result);
+                    }
+                });
+            }
+        }
+    }
+
+    @Override
+    public void onFailure(final HyperwalletException exception) {
+        List<HyperwalletListener> listeners = mRequestCoalescer.complete(mKey);
+        for (final HyperwalletListener listener : listeners) {
+            if (listener.getHandler() == null) {
+                listener.onFailure(exception);
+            } else {
+                listener.getHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onFailure(exception);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Results are delivered on the worker thread and handed to the listeners of the coalesced requests from there
+     */
+    @Override
+    public Handler getHandler() {
+        return null;
+    }
+}
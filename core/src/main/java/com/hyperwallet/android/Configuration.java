@@ -80,6 +80,18 @@ public class Configuration {
         parseAuthenticationToken();
     }
 
+    /**
+     * Construct {@code Configuration} with an authentication token retrieved earlier, whose remaining lifetime is
+     * measured from its expiration time instead of its issue time
+     *
+     * @param token             authentication token
+     * @param currentTimeMillis current wall clock time
+     */
+    Configuration(@NonNull final String token, final long currentTimeMillis) throws JSONException {
+        this(token);
+        mExpireOnBootTime = SystemClock.elapsedRealtime() + mExpiresOn - currentTimeMillis;
+    }
+
     /**
      * @return authentication token assigned to this {@code Configuration}
      */
@@ -150,6 +162,19 @@ public class Configuration {
         return SystemClock.elapsedRealtime() >= mExpireOnBootTime - STALE_PERIOD;
     }
 
+    /**
+     * @param lifetimeFraction fraction of the authentication token lifetime, between {@code 0} and {@code 1}
+     * @return milliseconds from now until the given fraction of the authentication token lifetime has elapsed, at
+     * the latest until this {@code Configuration} turns stale; {@code 0} if that time has already passed
+     */
+    long getRefreshAheadDelayMillis(final float lifetimeFraction) {
+        long tokenLifespan = mExpiresOn - mCreatedOn;
+        long createdOnBootTime = mExpireOnBootTime - tokenLifespan;
+        long refreshOnBootTime = Math.min(createdOnBootTime + (long) (tokenLifespan * lifetimeFraction),
+                mExpireOnBootTime - STALE_PERIOD);
+        return Math.max(0, refreshOnBootTime - SystemClock.elapsedRealtime());
+    }
+
     /**
      * @return program model
      */
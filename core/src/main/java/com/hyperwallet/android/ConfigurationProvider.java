@@ -0,0 +1,422 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.exception.HyperwalletAuthenticationTokenProviderException;
+import com.hyperwallet.android.exception.HyperwalletException;
+
+import org.json.JSONException;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code ConfigurationProvider} keeps the current {@link Configuration} and retrieves a new authentication token
+ * once it is missing or stale. At most one token is retrieved at a time: callers asking while a retrieval is
+ * outstanding are queued and resumed with its outcome, so parallel calls cost a single token request.
+ *
+ * <p>With refresh ahead, a new token is also retrieved in the background once a fraction of the lifetime of the
+ * current token has elapsed. Callers keep using the current {@link Configuration} meanwhile and are switched to the
+ * new one as soon as it is retrieved, so calls made around the expiry of a token do not wait for the
+ * {@link HyperwalletAuthenticationTokenProvider}.</p>
+ *
+ * <p>The current {@link Configuration} is published through an atomic reference together with its version, so
+ * callers finding a valid configuration never take the lock; the lock only guards the queue of waiting callers and
+ * the outstanding retrieval.</p>
+ *
+ * <p>With a {@link ConfigurationStore}, every new {@link Configuration} is stored and the first caller needing one
+ * reuses the stored configuration while it is valid, so a new process does not wait for a token before its first
+ * call. The store is loaded and saved on its own executor, never on the thread of a caller or of the
+ * {@link HyperwalletAuthenticationTokenProvider}, since it reads and decrypts a file.</p>
+ */
+final class ConfigurationProvider {
+
+    private final HyperwalletAuthenticationTokenProvider mAuthenticationTokenProvider;
+    private final OnRefreshListener mOnRefreshListener;
+    private final float mRefreshAheadFraction;
+    private final ScheduledExecutorService mRefreshAheadScheduler;
+    private final ConfigurationStore mConfigurationStore;
+    private final Executor mStoreExecutor;
+    private final AtomicReference<Version> mCurrent = new AtomicReference<>(new Version(null, 0, false));
+    private final AtomicLong mRefreshCount = new AtomicLong();
+    private final List<Callback> mWaiters = new ArrayList<>();
+    private Refresh mRefresh;
+    private boolean mStoreLoaded;
+    private boolean mStoreLoading;
+
+    /**
+     * @param authenticationTokenProvider provider of the authentication tokens
+     * @param onRefreshListener           notified of every new {@link Configuration}; {@code null} if not needed
+     */
+    ConfigurationProvider(@NonNull final HyperwalletAuthenticationTokenProvider authenticationTokenProvider,
+            @Nullable final OnRefreshListener onRefreshListener) {
+        this(authenticationTokenProvider, onRefreshListener, 0, null, null, null);
+    }
+
+    /**
+     * @param authenticationTokenProvider provider of the authentication tokens
+     * @param onRefreshListener           notified of every new {@link Configuration}; {@code null} if not needed
+     * @param refreshAheadFraction        fraction of the token lifetime after which a new token is retrieved in the
+     *                                    background
+     * @param refreshAheadScheduler       runs the background retrievals; {@code null} to only retrieve a new token
+     *                                    once the current one is stale
+     * @param configurationStore          keeps the last configuration across processes; {@code null} if not needed
+     * @param storeExecutor               loads and saves the configurations of {@code configurationStore}; required
+     *                                    with a {@code configurationStore}
+     */
+    ConfigurationProvider(@NonNull final HyperwalletAuthenticationTokenProvider authenticationTokenProvider,
+            @Nullable final OnRefreshListener onRefreshListener, final float refreshAheadFraction,
+            @Nullable final ScheduledExecutorService refreshAheadScheduler,
+            @Nullable final ConfigurationStore configurationStore, @Nullable final Executor storeExecutor) {
+        if (configurationStore != null && storeExecutor == null) {
+            throw new IllegalArgumentException("configuration store requires an executor");
+        }
+        mAuthenticationTokenProvider = authenticationTokenProvider;
+        mOnRefreshListener = onRefreshListener;
+        mRefreshAheadFraction = refreshAheadFraction;
+        mRefreshAheadScheduler = refreshAheadScheduler;
+        mConfigurationStore = configurationStore;
+        mStoreExecutor = storeExecutor;
+    }
+
+    /**
+     * Resumes {@code callback} with the current {@link Configuration}, once retrieved when it is missing or stale;
+     * {@code callback} is called on the thread the authentication token is provided on, or the store is loaded on,
+     * in that case
+     *
+     * @param callback resumed with the configuration or the error retrieving it
+     */
+    void get(@NonNull final Callback callback) {
+        Version current = mCurrent.get();
+        if (current.isValid()) {
+            callback.onConfiguration(current.mConfiguration);
+            return;
+        }
+
+        Configuration configuration = null;
+        boolean loadStore = false;
+        Refresh refresh = null;
+        synchronized (this) {
+            current = mCurrent.get();
+            if (current.isValid()) {
+                configuration = current.mConfiguration;
+            } else {
+                mWaiters.add(callback);
+                if (mConfigurationStore != null && !mStoreLoaded) {
+                    loadStore = !mStoreLoading;
+                    mStoreLoading = true;
+                } else {
+                    refresh = startRefresh();
+                }
+            }
+        }
+
+        if (configuration != null) {
+            callback.onConfiguration(configuration);
+        } else if (loadStore) {
+            loadStore();
+        } else if (refresh != null) {
+            mAuthenticationTokenProvider.retrieveAuthenticationToken(refresh);
+        }
+    }
+
+    /**
+     * Resumes {@code callback} with a {@link Configuration} replacing {@code rejected}, whose authentication token
+     * was rejected by the platform: a new token is retrieved unless {@code rejected} was already replaced, and
+     * {@code rejected} is not handed to callers anymore meanwhile
+     *
+     * @param rejected configuration whose authentication token was rejected
+     * @param callback resumed with the new configuration or the error retrieving it
+     */
+    void refresh(@NonNull final Configuration rejected, @NonNull final Callback callback) {
+        Configuration configuration = null;
+        Refresh refresh = null;
+        synchronized (this) {
+            Version current = mCurrent.get();
+            if (current.mConfiguration != rejected && current.isValid()) {
+                configuration = current.mConfiguration;
+            } else {
+                if (current.mConfiguration == rejected && !current.mRejected) {
+                    mCurrent.set(new Version(rejected, current.mNumber, true));
+                }
+                mWaiters.add(callback);
+                refresh = startRefresh();
+            }
+        }
+
+        if (configuration != null) {
+            callback.onConfiguration(configuration);
+        } else if (refresh != null) {
+            mAuthenticationTokenProvider.retrieveAuthenticationToken(refresh);
+        }
+    }
+
+    /**
+     * @return current configuration, stale or not; {@code null} if none was retrieved yet
+     */
+    @Nullable
+    Configuration getCurrent() {
+        return mCurrent.get().mConfiguration;
+    }
+
+    /**
+     * @return version of the current configuration, incremented every time a new one is retrieved; {@code 0} if
+     * none was retrieved yet
+     */
+    long getVersion() {
+        return mCurrent.get().mNumber;
+    }
+
+    /**
+     * @return number of authentication tokens requested from the {@link HyperwalletAuthenticationTokenProvider}
+     */
+    long getRefreshCount() {
+        return mRefreshCount.get();
+    }
+
+    /**
+     * Retrieves a new authentication token in the background unless {@code configuration} was already replaced or a
+     * retrieval is outstanding; callers keep using {@code configuration} until the new one is retrieved
+     *
+     * @param configuration configuration the retrieval was scheduled for
+     */
+    void refreshAhead(@NonNull final Configuration configuration) {
+        Refresh refresh;
+        synchronized (this) {
+            if (mCurrent.get().mConfiguration != configuration || mRefresh != null) {
+                return;
+            }
+            refresh = startRefresh();
+        }
+        mAuthenticationTokenProvider.retrieveAuthenticationToken(refresh);
+    }
+
+    private void scheduleRefreshAhead(@NonNull final Configuration configuration) {
+        if (mRefreshAheadScheduler == null) {
+            return;
+        }
+        try {
+            mRefreshAheadScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    refreshAhead(configuration);
+                }
+            }, configuration.getRefreshAheadDelayMillis(mRefreshAheadFraction), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // scheduler was shut down by the app, the token is retrieved once stale
+        }
+    }
+
+    /**
+     * @return retrieval to start by the caller once the lock is released; {@code null} if one is outstanding
+     */
+    @Nullable
+    private Refresh startRefresh() {
+        if (mRefresh != null) {
+            return null;
+        }
+        mRefresh = new Refresh();
+        mRefreshCount.incrementAndGet();
+        return mRefresh;
+    }
+
+    /**
+     * Loads the stored configuration in the background, then resumes the waiting callers with it while it is valid
+     * or retrieves a new authentication token for them
+     */
+    private void loadStore() {
+        try {
+            mStoreExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    onStoreLoaded(mConfigurationStore.load());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // executor was shut down, the token is retrieved as if nothing was stored
+            onStoreLoaded(null);
+        }
+    }
+
+    private void onStoreLoaded(@Nullable final Configuration stored) {
+        boolean published = false;
+        Configuration configuration = null;
+        List<Callback> waiters = null;
+        Refresh refresh = null;
+        synchronized (this) {
+            mStoreLoaded = true;
+            mStoreLoading = false;
+            Version current = mCurrent.get();
+            if (stored != null && current.mConfiguration == null) {
+                current = new Version(stored, current.mNumber + 1, false);
+                mCurrent.set(current);
+                published = true;
+            }
+            if (current.isValid()) {
+                configuration = current.mConfiguration;
+                waiters = new ArrayList<>(mWaiters);
+                mWaiters.clear();
+            } else {
+                refresh = startRefresh();
+            }
+        }
+
+        if (published) {
+            onPublished(stored);
+        }
+        if (waiters != null) {
+            for (Callback waiter : waiters) {
+                waiter.onConfiguration(configuration);
+            }
+        } else if (refresh != null) {
+            mAuthenticationTokenProvider.retrieveAuthenticationToken(refresh);
+        }
+    }
+
+    private void complete(@NonNull final Refresh refresh, @Nullable final Configuration configuration,
+            @Nullable final HyperwalletException exception) {
+        List<Callback> waiters;
+        synchronized (this) {
+            if (mRefresh != refresh) {
+                return;
+            }
+            mRefresh = null;
+            if (configuration != null) {
+                mCurrent.set(new Version(configuration, mCurrent.get().mNumber + 1, false));
+            }
+            waiters = new ArrayList<>(mWaiters);
+            mWaiters.clear();
+        }
+
+        if (configuration != null) {
+            onPublished(configuration);
+        }
+        for (Callback waiter : waiters) {
+            if (configuration != null) {
+                waiter.onConfiguration(configuration);
+            } else {
+                waiter.onFailure(exception);
+            }
+        }
+        if (configuration != null && mConfigurationStore != null) {
+            save(configuration);
+        }
+    }
+
+    private void save(@NonNull final Configuration configuration) {
+        try {
+            mStoreExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    mConfigurationStore.save(configuration);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // executor was shut down, the next process retrieves a token instead
+        }
+    }
+
+    private void onPublished(@NonNull final Configuration configuration) {
+        scheduleRefreshAhead(configuration);
+        if (mOnRefreshListener != null) {
+            mOnRefreshListener.onRefreshed(configuration);
+        }
+    }
+
+    /**
+     * Resumed with the outcome of {@link #get(Callback)}
+     */
+    interface Callback {
+
+        /**
+         * @param configuration configuration that is not stale
+         */
+        void onConfiguration(@NonNull Configuration configuration);
+
+        /**
+         * @param exception error retrieving the configuration
+         */
+        void onFailure(@NonNull HyperwalletException exception);
+    }
+
+    /**
+     * Notified of every new {@link Configuration}, before the waiting callers are resumed
+     */
+    interface OnRefreshListener {
+
+        /**
+         * @param configuration the new configuration
+         */
+        void onRefreshed(@NonNull Configuration configuration);
+    }
+
+    /**
+     * A published {@link Configuration} with its version
+     */
+    private static final class Version {
+        private final Configuration mConfiguration;
+        private final long mNumber;
+        private final boolean mRejected;
+
+        private Version(@Nullable final Configuration configuration, final long number, final boolean rejected) {
+            mConfiguration = configuration;
+            mNumber = number;
+            mRejected = rejected;
+        }
+
+        private boolean isValid() {
+            return mConfiguration != null && !mRejected && !mConfiguration.isStale();
+        }
+    }
+
+    /**
+     * One retrieval of an authentication token, outcomes reported after the first one are ignored
+     */
+    private final class Refresh implements HyperwalletAuthenticationTokenListener {
+
+        @Override
+        public void onSuccess(final String authenticationToken) {
+            Configuration configuration;
+            try {
+                configuration = new Configuration(authenticationToken);
+            } catch (JSONException e) {
+                complete(this, null, ExceptionMapper.toHyperwalletException(e));
+                return;
+            }
+            complete(this, configuration, null);
+        }
+
+        @Override
+        public void onFailure(final UUID uuid, final String message) {
+            String logMessage = MessageFormat.format("Integrator was unable to provide an authentication token. \nId: "
+                    + "{0} Message: {1}", uuid.toString(), message);
+            complete(this, null, ExceptionMapper.toHyperwalletException(
+                    new HyperwalletAuthenticationTokenProviderException(logMessage)));
+        }
+    }
+}
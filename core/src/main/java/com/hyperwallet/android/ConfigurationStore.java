@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * {@code ConfigurationStore} keeps the authentication token of the last {@link Configuration} in a file, for
+ * instance under {@code Context#getFilesDir()}, so a new process can reuse it instead of requesting a token from the
+ * {@link HyperwalletAuthenticationTokenProvider} before its first call.
+ *
+ * <p>The token is encrypted with AES/GCM using the {@link SecretKey} provided by the app, for instance a key kept in
+ * the Android Keystore. A stored token is only reused while it has not expired by the wall clock; a file that can not
+ * be decrypted, is corrupt or holds an expired token is deleted. Call {@link #clear()} when the user logs out.</p>
+ */
+public final class ConfigurationStore {
+
+    private static final int MAGIC = 0x48574b31; // HWK1
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File mFile;
+    private final SecretKey mKey;
+    private final SecureRandom mRandom = new SecureRandom();
+
+    /**
+     * Construct a {@code ConfigurationStore}
+     *
+     * @param file file owned by the store, its directory is created when missing
+     * @param key  AES key encrypting the stored token
+     */
+    public ConfigurationStore(@NonNull final File file, @NonNull final SecretKey key) {
+        mFile = file;
+        mKey = key;
+    }
+
+    /**
+     * @return stored configuration; {@code null} if none is stored, it is not readable or it is stale
+     */
+    @Nullable
+    public synchronized Configuration load() {
+        if (!mFile.isFile()) {
+            return null;
+        }
+        try {
+            Configuration configuration = new Configuration(decrypt(read()), System.currentTimeMillis());
+            if (!configuration.isStale()) {
+                return configuration;
+            }
+        } catch (IOException | GeneralSecurityException | JSONException | IllegalArgumentException e) {
+            // not readable with this key or corrupt, the file is deleted below
+        }
+        mFile.delete();
+        return null;
+    }
+
+    /**
+     * Stores the authentication token of {@code configuration}, replacing the stored one
+     *
+     * @param configuration configuration to store
+     */
+    public synchronized void save(@NonNull final Configuration configuration) {
+        File directory = mFile.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            return;
+        }
+        File tempFile = new File(mFile.getPath() + TEMP_SUFFIX);
+        try {
+            write(tempFile, encrypt(configuration.getAuthenticationToken()));
+            if (!tempFile.renameTo(mFile)) {
+                throw new IOException("Unable to rename " + tempFile);
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Removes the stored token, for instance when the user logs out
+     */
+    public synchronized void clear() {
+        mFile.delete();
+    }
+
+    private byte[][] encrypt(final String token) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        mRandom.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, mKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        return new byte[][]{iv, cipher.doFinal(token.getBytes(StandardCharsets.UTF_8))};
+    }
+
+    private String decrypt(final byte[][] sealed) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, mKey, new GCMParameterSpec(TAG_LENGTH_BITS, sealed[0]));
+        return new String(cipher.doFinal(sealed[1]), StandardCharsets.UTF_8);
+    }
+
+    private static void write(final File file, final byte[][] sealed) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.write(sealed[0]);
+            out.writeInt(sealed[1].length);
+            out.write(sealed[1]);
+        } finally {
+            out.close();
+        }
+    }
+
+    private byte[][] read() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unexpected configuration file " + mFile);
+            }
+            byte[] iv = new byte[IV_LENGTH];
+            in.readFully(iv);
+            int length = in.readInt();
+            if (length < 0 || length > mFile.length()) {
+                throw new IOException("Corrupt configuration file " + mFile);
+            }
+            byte[] ciphertext = new byte[length];
+            in.readFully(ciphertext);
+            return new byte[][]{iv, ciphertext};
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -21,6 +21,8 @@ import androidx.annotation.RestrictTo;
 import androidx.annotation.StringRes;
 
 import com.hyperwallet.android.exception.HyperwalletAuthenticationTokenProviderException;
+import com.hyperwallet.android.exception.HyperwalletCacheMissException;
+import com.hyperwallet.android.exception.HyperwalletCircuitOpenException;
 import com.hyperwallet.android.exception.HyperwalletException;
 import com.hyperwallet.android.exception.HyperwalletGqlException;
 import com.hyperwallet.android.exception.HyperwalletJsonParseException;
@@ -48,6 +50,8 @@ public final class ExceptionMapper {
 
     public static final String EC_AUTHENTICATION_TOKEN_PROVIDER_EXCEPTION =
             "EC_AUTHENTICATION_TOKEN_PROVIDER_EXCEPTION";
+    public static final String EC_CACHE_MISS_EXCEPTION = "EC_CACHE_MISS_EXCEPTION";
+    public static final String EC_CIRCUIT_OPEN_EXCEPTION = "EC_CIRCUIT_OPEN_EXCEPTION";
     public static final String EC_IO_EXCEPTION = "EC_IO_EXCEPTION";
     public static final String EC_JSON_EXCEPTION = "EC_JSON_EXCEPTION";
     public static final String EC_JSON_PARSE_EXCEPTION = "EC_JSON_PARSE_EXCEPTION";
@@ -81,6 +85,10 @@ public final class ExceptionMapper {
             return initHyperwalletException(R.string.json_exception, EC_JSON_EXCEPTION, exception);
         } else if (exception instanceof HyperwalletJsonParseException) {
             return initHyperwalletException(R.string.json_parse_exception, EC_JSON_PARSE_EXCEPTION, exception);
+        } else if (exception instanceof HyperwalletCacheMissException) {
+            return initHyperwalletException(R.string.cache_miss_exception, EC_CACHE_MISS_EXCEPTION, exception);
+        } else if (exception instanceof HyperwalletCircuitOpenException) {
+            return initHyperwalletException(R.string.circuit_open_exception, EC_CIRCUIT_OPEN_EXCEPTION, exception);
         } else if (exception instanceof HyperwalletAuthenticationTokenProviderException) {
             return initHyperwalletException(R.string.authentication_token_provider_exception,
                     EC_AUTHENTICATION_TOKEN_PROVIDER_EXCEPTION, exception);
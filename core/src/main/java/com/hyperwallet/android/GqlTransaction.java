@@ -24,8 +24,9 @@ import com.hyperwallet.android.listener.HyperwalletListener;
 import com.hyperwallet.android.model.TypeReference;
 import com.hyperwallet.android.model.graphql.error.GqlErrors;
 import com.hyperwallet.android.model.graphql.query.GqlQuery;
-import com.hyperwallet.android.util.HttpClient;
 import com.hyperwallet.android.util.HttpMethod;
+import com.hyperwallet.android.util.HttpResponse;
+import com.hyperwallet.android.util.HttpTransport;
 import com.hyperwallet.android.util.JsonUtils;
 
 import org.json.JSONException;
@@ -39,6 +40,8 @@ import java.lang.reflect.InvocationTargetException;
  */
 class GqlTransaction extends HttpTransaction {
 
+    private static final String GQL_ENDPOINT = "graphql";
+
     /**
      * Construct a {@code GqlTransaction} object based on specified required parameters
      *
@@ -55,14 +58,23 @@ class GqlTransaction extends HttpTransaction {
         super(HttpMethod.POST, uri, typeReference, hyperwalletListener);
         addHeader(HTTP_HEADER_AUTHORIZATION, AUTHENTICATION_STRATEGY + authenticationToken);
         setPayload(body);
+        setEndpoint(HttpMethod.POST.name() + " " + GQL_ENDPOINT);
+    }
+
+    /**
+     * Refer to {@link HttpTransaction#performRequest(HttpTransport)}
+     */
+    @Override
+    protected HttpResponse performRequest(final @NonNull HttpTransport transport) throws IOException {
+        return transport.execute(newRequestBuilder(HttpMethod.POST).body(getPayloadBytes()).build());
     }
 
     /**
-     * Refer to {@link HttpTransaction#performRequest(HttpClient)}
+     * Refer to {@link HttpTransaction#isIdempotent()}, the GraphQL platform api is only used for queries
      */
     @Override
-    protected int performRequest(final @NonNull HttpClient client) throws IOException {
-        return client.post(getPayload());
+    protected boolean isIdempotent() {
+        return true;
     }
 
     /**
@@ -17,24 +17,56 @@
 package com.hyperwallet.android;
 
 import android.os.Build;
+import android.os.CancellationSignal;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
+import com.hyperwallet.android.exception.HyperwalletCacheMissException;
+import com.hyperwallet.android.exception.HyperwalletCircuitOpenException;
+import com.hyperwallet.android.exception.HyperwalletException;
 import com.hyperwallet.android.listener.HyperwalletListener;
 import com.hyperwallet.android.model.TypeReference;
 import com.hyperwallet.android.sdk.BuildConfig;
+import com.hyperwallet.android.util.CircuitBreaker;
+import com.hyperwallet.android.util.DiskCache;
+import com.hyperwallet.android.util.Headers;
+import com.hyperwallet.android.util.HedgingPolicy;
 import com.hyperwallet.android.util.HttpClient;
 import com.hyperwallet.android.util.HttpMethod;
+import com.hyperwallet.android.util.HttpRequest;
+import com.hyperwallet.android.util.HttpResponse;
+import com.hyperwallet.android.util.HttpTransport;
+import com.hyperwallet.android.util.HttpUrlConnectionTransport;
 import com.hyperwallet.android.util.JsonUtils;
+import com.hyperwallet.android.util.MetricsRegistry;
+import com.hyperwallet.android.util.RequestEventListener;
+import com.hyperwallet.android.util.ResponseCache;
+import com.hyperwallet.android.util.RetryCounter;
+import com.hyperwallet.android.util.RetryPolicy;
 
 import org.json.JSONException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code HttpTransaction} HTTP transaction service that sends request
@@ -53,16 +85,46 @@ public abstract class HttpTransaction implements Runnable {
     private static final String HTTP_HEADER_X_SDK_VERSION_KEY = "X-Sdk-Version";
     private static final String HTTP_HEADER_X_SDK_TYPE_KEY = "X-Sdk-Type";
     protected static final String HTTP_HEADER_X_SDK_CONTEXTID_KEY = "X-Sdk-ContextId";
+    private static final String HTTP_HEADER_ETAG_KEY = "ETag";
+    private static final String HTTP_HEADER_LAST_MODIFIED_KEY = "Last-Modified";
+    private static final String HTTP_HEADER_IF_NONE_MATCH_KEY = "If-None-Match";
+    private static final String HTTP_HEADER_IF_MODIFIED_SINCE_KEY = "If-Modified-Since";
+    private static final String HTTP_HEADER_RETRY_AFTER_KEY = "Retry-After";
     private static final String HTTP_HEADER_X_SDK_TYPE = "android";
 
-    private Map<String, String> mHeaderMap;
+    private static volatile DefaultHeaders sDefaultHeaders;
+
+    private Headers mHeaders;
     private HyperwalletListener mListener;
     private HttpMethod mMethod;
     private String mPayload;
+    private byte[] mPayloadBytes;
     private String mPath;
+    private String mEndpoint;
     private Map<String, String> mQueryMap;
     private String mUri;
     private TypeReference mTypeReference;
+    private HttpTransport mTransport;
+    private ResponseCache mResponseCache;
+    private DiskCache mDiskCache;
+    private CachePolicy mCachePolicy = CachePolicy.NETWORK_ONLY;
+    private String mDiskCacheReadKey;
+    private DiskCache.Entry mDiskCacheReadEntry;
+    private Object mDiskCacheReadResult;
+    private RequestPriority mPriority;
+    private RetryPolicy mRetryPolicy;
+    private RetryCounter mRetryCounter;
+    private CircuitBreaker mCircuitBreaker;
+    private HedgingPolicy mHedgingPolicy;
+    private RequestScheduler mRequestScheduler;
+    private RequestEventListener mEventListener = RequestEventListener.NONE;
+    private long mSubmittedNanos;
+    private MetricsRegistry mMetricsRegistry;
+    private long mStartNanos;
+    private volatile boolean mCancelled;
+    private volatile HttpResponse mActiveResponse;
+    private final List<CancellationSignal> mAttemptSignals = new CopyOnWriteArrayList<>();
+    private String mUserToken;
 
     /**
      * Construct a {@code HttpTransaction} object based from specified required parameters
@@ -80,34 +142,120 @@ public abstract class HttpTransaction implements Runnable {
         mTypeReference = typeReference;
         mListener = httpListener;
         mQueryMap = new HashMap<>();
-        mHeaderMap = new HashMap<>();
+        mHeaders = getDefaultHeaders();
+    }
 
-        addHeader(HTTP_HEADER_ACCEPT_KEY, APPLICATION_JSON);
-        addHeader(HTTP_HEADER_CONTENT_TYPE_KEY, APPLICATION_JSON);
-        addHeader(HTTP_HEADER_USER_AGENT_KEY, getUserAgent());
-        addHeader(HTTP_HEADER_ACCEPT_LANGUAGE_KEY, Locale.getDefault().toLanguageTag());
-        addHeader(HTTP_HEADER_X_SDK_VERSION_KEY, BuildConfig.VERSION_NAME);
-        addHeader(HTTP_HEADER_X_SDK_TYPE_KEY, HTTP_HEADER_X_SDK_TYPE);
+    /**
+     * @return SDK level headers shared by all requests, built again only once the default locale has changed
+     */
+    @VisibleForTesting
+    static Headers getDefaultHeaders() {
+        Locale locale = Locale.getDefault();
+        DefaultHeaders defaultHeaders = sDefaultHeaders;
+        if (defaultHeaders == null || !defaultHeaders.mLocale.equals(locale)) {
+            defaultHeaders = new DefaultHeaders(locale);
+            sDefaultHeaders = defaultHeaders;
+        }
+        return defaultHeaders.mHeaders;
     }
 
     /**
      * Background execution
      */
     public void run() {
+        if (mCancelled) {
+            return;
+        }
+        mStartNanos = System.nanoTime();
+        if (mSubmittedNanos != 0) {
+            mEventListener.onQueueWait(getContextId(), mEndpoint, mStartNanos - mSubmittedNanos);
+        }
         try {
-            HttpClient client = new HttpClient.Builder(mUri).path(mPath).putHeaders(getHeaders()).putQueries(
-                    getQueries()).build();
+            String requestKey = mUserToken != null ? getRequestKey() : null;
+            // the disk cache may have been read before the authentication token was retrieved, a found entry was
+            // already delivered then
+            boolean diskRead = requestKey != null && requestKey.equals(mDiskCacheReadKey);
+            DiskCache.Entry diskEntry = diskRead ? mDiskCacheReadEntry
+                    : requestKey != null && mDiskCache != null ? mDiskCache.get(requestKey) : null;
+            Object diskResult = diskRead ? mDiskCacheReadResult : null;
+            if (mCachePolicy == CachePolicy.CACHE_ONLY) {
+                if (diskEntry == null) {
+                    throw new HyperwalletCacheMissException("No cached response for " + getEndpoint());
+                }
+                if (!diskRead) {
+                    deliverSuccess(JsonUtils.fromJsonString(diskEntry.getBody(), mTypeReference));
+                }
+                return;
+            } else if (mCachePolicy == CachePolicy.CACHE_THEN_NETWORK && diskEntry != null && !diskRead) {
+                diskResult = JsonUtils.fromJsonString(diskEntry.getBody(), mTypeReference);
+                deliverSuccess(diskResult);
+            }
+
+            ResponseCache.Entry cachedEntry = requestKey != null && mResponseCache != null
+                    ? mResponseCache.get(requestKey) : null;
+            boolean conditional = cachedEntry != null
+                    ? addConditionalHeaders(cachedEntry.getETag(), cachedEntry.getLastModified())
+                    : diskEntry != null && addConditionalHeaders(diskEntry.getETag(), diskEntry.getLastModified());
 
-            int responseCode = performRequest(client);
-            String response = client.getResponse();
+            HttpResponse httpResponse = performRequestWithRetries();
+            mActiveResponse = httpResponse;
+            if (mCancelled) {
+                httpResponse.close();
+                return;
+            }
 
-            if (HttpClient.isSuccess(responseCode)) {
-                onSuccess(response);
+            int responseCode = httpResponse.getCode();
+            if (conditional && mResponseCache != null) {
+                mResponseCache.recordValidation(responseCode == HttpURLConnection.HTTP_NOT_MODIFIED);
+            }
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && conditional) {
+                httpResponse.getBodyAsString();
+                Object result;
+                if (cachedEntry != null) {
+                    result = cachedEntry.getResult();
+                } else {
+                    result = diskResult != null ? diskResult
+                            : JsonUtils.fromJsonString(diskEntry.getBody(), mTypeReference);
+                    cacheResponse(requestKey, diskEntry.getETag(), diskEntry.getLastModified(), result, null);
+                }
+                recordSuccess();
+                deliverSuccess(result);
+            } else if (HttpClient.isSuccess(responseCode)) {
+                TimedInputStream timedBody = new TimedInputStream(httpResponse.getBody());
+                InputStream body = timedBody;
+                ByteArrayOutputStream bodyCopy = null;
+                if (requestKey != null && mDiskCache != null) {
+                    bodyCopy = new ByteArrayOutputStream();
+                    body = new CopyingInputStream(body, bodyCopy);
+                }
+                Object result;
+                long parseStartNanos = System.nanoTime();
+                try {
+                    result = JsonUtils.fromJsonStream(body, mTypeReference);
+                } finally {
+                    httpResponse.close();
+                }
+                // the body is parsed while it is read, the time spent reading is reported apart
+                mEventListener.onBodyRead(getContextId(), mEndpoint, timedBody.getReadNanos());
+                mEventListener.onJsonParsed(getContextId(), mEndpoint,
+                        System.nanoTime() - parseStartNanos - timedBody.getReadNanos());
+                if (requestKey != null) {
+                    cacheResponse(requestKey, httpResponse.getHeader(HTTP_HEADER_ETAG_KEY),
+                            httpResponse.getHeader(HTTP_HEADER_LAST_MODIFIED_KEY), result,
+                            bodyCopy != null && result != null ? bodyCopy.toString("UTF-8") : null);
+                }
+                recordSuccess();
+                deliverSuccess(result);
             } else {
-                handleErrors(responseCode, response);
+                long readStartNanos = System.nanoTime();
+                String errorBody = httpResponse.getBodyAsString();
+                mEventListener.onBodyRead(getContextId(), mEndpoint, System.nanoTime() - readStartNanos);
+                handleErrors(responseCode, errorBody);
             }
         } catch (Exception exception) {
             onFailure(exception);
+        } finally {
+            mAttemptSignals.clear();
         }
     }
 
@@ -128,22 +276,211 @@ public abstract class HttpTransaction implements Runnable {
     /**
      * Perform HTTP request
      *
-     * @param client Http client to use for this operation {@link HttpClient}
-     * @return HTTP response code
+     * @param transport Http transport to use for this operation {@link HttpTransport}
+     * @return HTTP response
      * @throws IOException
      */
-    protected abstract int performRequest(HttpClient client) throws IOException;
+    protected abstract HttpResponse performRequest(HttpTransport transport) throws IOException;
+
+    /**
+     * Idempotent requests can be sent again safely, when they fail or to race a slow attempt
+     *
+     * @return {@code true} if sending the request more than once has the same effect as sending it once
+     */
+    protected abstract boolean isIdempotent();
+
+    /**
+     * @param method HTTP method of the request
+     * @return {@link HttpRequest.Builder} initialized with the location, path, headers and queries of this
+     * transaction
+     */
+    protected HttpRequest.Builder newRequestBuilder(@NonNull final HttpMethod method) {
+        return new HttpRequest.Builder(method, mUri).path(mPath).endpoint(mEndpoint)
+                .putHeaders(getHeaders()).putQueries(getQueries()).eventListener(mEventListener, getContextId());
+    }
 
     public HyperwalletListener getListener() {
         return mListener;
     }
 
+    /**
+     * @param listener callback object that replaces the one the transaction was created with
+     */
+    void setListener(@NonNull final HyperwalletListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Transactions with the same request key are identical: they share one network call while in flight and their
+     * response can be cached
+     *
+     * @return key identifying identical requests; {@code null} if the transaction must always be sent on its own
+     */
+    @Nullable
+    protected String getRequestKey() {
+        return null;
+    }
+
+    @Nullable
+    protected String getUserToken() {
+        return mUserToken;
+    }
+
+    protected void setUserToken(@NonNull final String userToken) {
+        mUserToken = userToken;
+    }
+
+    /**
+     * @param responseCache cache used to send the request conditionally and to keep its response; {@code null} to
+     *                      not cache
+     */
+    void setResponseCache(@Nullable final ResponseCache responseCache) {
+        mResponseCache = responseCache;
+    }
+
+    /**
+     * @param diskCache cache the response is persisted to and read from according to the {@link CachePolicy};
+     *                  {@code null} to not persist
+     */
+    void setDiskCache(@Nullable final DiskCache diskCache) {
+        mDiskCache = diskCache;
+    }
+
+    /**
+     * @param requestKey key the disk cache was already read with
+     * @param entry      entry read; {@code null} if the disk cache had none
+     * @param result     deserialized body of {@code entry}, already delivered to the listener
+     */
+    void setDiskCacheRead(@NonNull final String requestKey, @Nullable final DiskCache.Entry entry,
+            @Nullable final Object result) {
+        mDiskCacheReadKey = requestKey;
+        mDiskCacheReadEntry = entry;
+        mDiskCacheReadResult = result;
+    }
+
+    /**
+     * @param retryPolicy  policy deciding when an idempotent request is sent again; {@code null} to never retry
+     * @param retryCounter counter the attempts are recorded to; {@code null} to not record them
+     */
+    void setRetryPolicy(@Nullable final RetryPolicy retryPolicy, @Nullable final RetryCounter retryCounter) {
+        mRetryPolicy = retryPolicy;
+        mRetryCounter = retryCounter;
+    }
+
+    /**
+     * Cancels the transaction: it is not started if still queued, the connection of every attempt is aborted, even
+     * while it is being opened, the response being read is closed, which also aborts its parsing, and the listener is
+     * not notified anymore
+     */
+    void cancel() {
+        mCancelled = true;
+        for (CancellationSignal cancellationSignal : mAttemptSignals) {
+            cancellationSignal.cancel();
+        }
+        HttpResponse httpResponse = mActiveResponse;
+        if (httpResponse != null) {
+            try {
+                httpResponse.close();
+            } catch (IOException e) {
+                // the connection is aborted either way
+            }
+        }
+    }
+
+    /**
+     * @param circuitBreaker breaker keeping the circuit of the host of the request; {@code null} to always send it
+     */
+    void setCircuitBreaker(@Nullable final CircuitBreaker circuitBreaker) {
+        mCircuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * @param requestScheduler scheduler running the transaction, the round trip of every attempt is fed to its
+     *                         adaptive limit; {@code null} to not record round trips
+     */
+    void setRequestScheduler(@Nullable final RequestScheduler requestScheduler) {
+        mRequestScheduler = requestScheduler;
+    }
+
+    /**
+     * @param hedgingPolicy policy deciding when a GET request is sent a second time; {@code null} to never hedge
+     */
+    void setHedgingPolicy(@Nullable final HedgingPolicy hedgingPolicy) {
+        mHedgingPolicy = hedgingPolicy;
+    }
+
+    /**
+     * @param eventListener listener notified of the timings of the request; {@code null} to not report them
+     */
+    void setEventListener(@Nullable final RequestEventListener eventListener) {
+        mEventListener = eventListener != null ? eventListener : RequestEventListener.NONE;
+    }
+
+    /**
+     * @param metricsRegistry registry the latency and outcome of the request are recorded to; {@code null} to not
+     *                        record them
+     */
+    void setMetricsRegistry(@Nullable final MetricsRegistry metricsRegistry) {
+        mMetricsRegistry = metricsRegistry;
+    }
+
+    /**
+     * Records that the transaction was handed to the {@link RequestScheduler}, the time until it starts running is
+     * reported as {@link RequestEventListener#onQueueWait}
+     */
+    void onSubmitted() {
+        mSubmittedNanos = System.nanoTime();
+    }
+
+    @NonNull
+    protected CachePolicy getCachePolicy() {
+        return mCachePolicy;
+    }
+
+    protected void setCachePolicy(@NonNull final CachePolicy cachePolicy) {
+        mCachePolicy = cachePolicy;
+    }
+
+    /**
+     * @return {@link RequestPriority} the request is scheduled with; when not specified requests that can be retried
+     * safely are {@link RequestPriority#NORMAL} and all others {@link RequestPriority#INTERACTIVE}
+     */
+    @NonNull
+    protected RequestPriority getPriority() {
+        if (mPriority != null) {
+            return mPriority;
+        }
+        return isIdempotent() ? RequestPriority.NORMAL : RequestPriority.INTERACTIVE;
+    }
+
+    protected void setPriority(@Nullable final RequestPriority priority) {
+        mPriority = priority;
+    }
+
+    /**
+     * @return serialized request body; {@code null} if the request has no body
+     */
+    @Nullable
     protected String getPayload() {
         return mPayload;
     }
 
-    protected void setPayload(String payload) {
+    /**
+     * @return request body encoded as UTF-8; {@code null} if the request has no body
+     */
+    @Nullable
+    protected byte[] getPayloadBytes() {
+        return mPayloadBytes;
+    }
+
+    /**
+     * Encodes the request body once, the encoded bytes are sent as they are
+     *
+     * @param payload serialized request body
+     */
+    protected void setPayload(@Nullable String payload) {
         mPayload = payload;
+        mPayloadBytes = payload != null ? payload.getBytes(StandardCharsets.UTF_8) : null;
     }
 
     protected String getPath() {
@@ -154,6 +491,28 @@ public abstract class HttpTransaction implements Runnable {
         mPath = path;
     }
 
+    protected String getEndpoint() {
+        return mEndpoint;
+    }
+
+    /**
+     * @param endpoint name the request is reported under, shared by all requests to the same api
+     */
+    protected void setEndpoint(@NonNull String endpoint) {
+        mEndpoint = endpoint;
+    }
+
+    protected HttpTransport getTransport() {
+        if (mTransport == null) {
+            mTransport = new HttpUrlConnectionTransport();
+        }
+        return mTransport;
+    }
+
+    protected void setTransport(@Nullable final HttpTransport transport) {
+        mTransport = transport;
+    }
+
     protected HttpMethod getMethod() {
         return mMethod;
     }
@@ -163,7 +522,7 @@ public abstract class HttpTransaction implements Runnable {
     }
 
     protected void addHeader(String key, String value) {
-        mHeaderMap.put(key, value);
+        mHeaders = mHeaders.with(key, value);
     }
 
     protected Map<String, String> getQueries() {
@@ -171,52 +530,505 @@ public abstract class HttpTransaction implements Runnable {
     }
 
     protected Map<String, String> getHeaders() {
-        return mHeaderMap;
+        return mHeaders;
     }
 
-    @SuppressWarnings("unchecked")
-    @VisibleForTesting
-    void onSuccess(final String content) throws JSONException, InvocationTargetException, NoSuchMethodException,
-            InstantiationException,
-            IllegalAccessException {
-        if (mListener.getHandler() == null) {
-            if (content != null && !content.trim().isEmpty()) {
-                mListener.onSuccess(JsonUtils.fromJsonString(content, mTypeReference));
+    /**
+     * @return {@code X-Sdk-ContextId} the request is sent with; {@code null} if it has none
+     */
+    @Nullable
+    private String getContextId() {
+        return mHeaders.get(HTTP_HEADER_X_SDK_CONTEXTID_KEY);
+    }
+
+    /**
+     * @return {@code true} if the request was made conditional, that is at least one validator is available
+     */
+    private boolean addConditionalHeaders(@Nullable final String eTag, @Nullable final String lastModified) {
+        if (eTag != null) {
+            addHeader(HTTP_HEADER_IF_NONE_MATCH_KEY, eTag);
+        }
+        if (lastModified != null) {
+            addHeader(HTTP_HEADER_IF_MODIFIED_SINCE_KEY, lastModified);
+        }
+        return eTag != null || lastModified != null;
+    }
+
+    /**
+     * Performs the request, sending it again as long as it fails with a retryable error and the {@link RetryPolicy}
+     * allows another attempt
+     *
+     * @return response of the last attempt
+     * @throws IOException                     of the last attempt, or {@link InterruptedIOException} if interrupted
+     *                                         while waiting
+     * @throws HyperwalletCircuitOpenException if the circuit of the host is open
+     */
+    private HttpResponse performRequestWithRetries() throws IOException, HyperwalletCircuitOpenException {
+        if (mRetryPolicy == null || !isIdempotent()) {
+            return performHedgedAttempt();
+        }
+
+        long startNanos = System.nanoTime();
+        int attempt = 1;
+        boolean exhausted = false;
+        try {
+            while (true) {
+                HttpResponse httpResponse = null;
+                IOException failure = null;
+                try {
+                    httpResponse = performHedgedAttempt();
+                } catch (IOException e) {
+                    failure = e;
+                }
+                if (httpResponse != null && !RetryPolicy.isRetryable(httpResponse.getCode())) {
+                    return httpResponse;
+                }
+
+                long delay = mRetryPolicy.getDelayMillis(attempt,
+                        httpResponse != null ? httpResponse.getCode() : 0,
+                        httpResponse != null ? httpResponse.getHeader(HTTP_HEADER_RETRY_AFTER_KEY) : null,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                if (delay == RetryPolicy.NO_RETRY) {
+                    exhausted = true;
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return httpResponse;
+                }
+
+                if (httpResponse != null) {
+                    httpResponse.getBodyAsString();
+                }
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting to retry " + getEndpoint());
+                }
+                attempt++;
+            }
+        } finally {
+            if (mRetryCounter != null && getEndpoint() != null) {
+                mRetryCounter.record(getEndpoint(), attempt, exhausted);
+            }
+        }
+    }
+
+    /**
+     * Performs the request once; a GET request still waiting for its response after the delay of the
+     * {@link HedgingPolicy} is sent a second time and the first response received is used, the other one is closed
+     *
+     * @return response of the request
+     * @throws HyperwalletCircuitOpenException if the circuit of the host is open
+     */
+    private HttpResponse performHedgedAttempt() throws IOException, HyperwalletCircuitOpenException {
+        if (mHedgingPolicy == null || mMethod != HttpMethod.GET || !isIdempotent() || mEndpoint == null) {
+            return performAttempt(newAttemptSignal());
+        }
+        long delay = mHedgingPolicy.getDelayMillis(mEndpoint);
+        if (delay == HedgingPolicy.NO_HEDGE) {
+            return timedAttempt(newAttemptSignal());
+        }
+
+        HedgedAttempts attempts = new HedgedAttempts();
+        Outcome outcome = null;
+        try {
+            attempts.start(false);
+            outcome = attempts.mOutcomes.poll(delay, TimeUnit.MILLISECONDS);
+            if (outcome == null) {
+                attempts.start(true);
+                outcome = attempts.mOutcomes.take();
+                if (outcome.mFailure != null) {
+                    outcome = attempts.mOutcomes.take();
+                }
+                mHedgingPolicy.recordHedge(outcome.mHedge);
+            }
+            return outcome.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + mEndpoint);
+        } finally {
+            attempts.decide(outcome);
+        }
+    }
+
+    /**
+     * Performs the request once and records its latency with the {@link HedgingPolicy}
+     */
+    private HttpResponse timedAttempt(@NonNull final CancellationSignal cancellationSignal)
+            throws IOException, HyperwalletCircuitOpenException {
+        long startNanos = System.nanoTime();
+        HttpResponse httpResponse = performAttempt(cancellationSignal);
+        mHedgingPolicy.recordLatency(mEndpoint, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return httpResponse;
+    }
+
+    /**
+     * Performs the request once, provided the {@link CircuitBreaker} lets it through, and records its outcome
+     *
+     * @param cancellationSignal signal that aborts the connection of this attempt
+     * @return response of the request
+     * @throws HyperwalletCircuitOpenException if the circuit of the host is open
+     */
+    private HttpResponse performAttempt(@NonNull final CancellationSignal cancellationSignal)
+            throws IOException, HyperwalletCircuitOpenException {
+        if (mCancelled) {
+            throw new InterruptedIOException("Cancelled " + getEndpoint());
+        }
+        HttpTransport transport = new CancellableTransport(getTransport(), cancellationSignal);
+        if (mCircuitBreaker == null) {
+            return performRoundTrip(transport);
+        }
+        long permit = mCircuitBreaker.tryAcquire(mUri);
+        if (permit == CircuitBreaker.NO_PERMIT) {
+            throw new HyperwalletCircuitOpenException("Circuit open for " + mUri);
+        }
+
+        boolean success = false;
+        try {
+            HttpResponse httpResponse = performRoundTrip(transport);
+            success = !CircuitBreaker.isFailure(httpResponse.getCode());
+            return httpResponse;
+        } finally {
+            if (cancellationSignal.isCanceled()) {
+                // an attempt aborted by the SDK says nothing about the health of the host
+                mCircuitBreaker.release(mUri, permit);
             } else {
-                mListener.onSuccess(null); //204 case
+                mCircuitBreaker.record(mUri, permit, success);
+            }
+        }
+    }
+
+    /**
+     * Sends the request and records the time until its response headers were received with the
+     * {@link RequestScheduler}, unless the transaction was cancelled meanwhile
+     */
+    private HttpResponse performRoundTrip(@NonNull final HttpTransport transport) throws IOException {
+        if (mRequestScheduler == null) {
+            return performRequest(transport);
+        }
+        int inFlight = mRequestScheduler.getRunningCount();
+        long startNanos = System.nanoTime();
+        HttpResponse httpResponse = performRequest(transport);
+        if (!mCancelled) {
+            mRequestScheduler.recordRoundTrip(System.nanoTime() - startNanos, Math.max(1, inFlight));
+        }
+        return httpResponse;
+    }
+
+    /**
+     * @return signal aborting the connection of a new attempt, cancelled along with the transaction
+     */
+    private CancellationSignal newAttemptSignal() {
+        CancellationSignal cancellationSignal = new CancellationSignal();
+        mAttemptSignals.add(cancellationSignal);
+        if (mCancelled) {
+            cancellationSignal.cancel();
+        }
+        return cancellationSignal;
+    }
+
+    /**
+     * Keeps a response in the memory cache and, when its serialized body is given, in the disk cache
+     */
+    private void cacheResponse(@NonNull final String requestKey, @Nullable final String eTag,
+            @Nullable final String lastModified, @Nullable final Object result, @Nullable final String body) {
+        if (mResponseCache != null) {
+            mResponseCache.put(requestKey, new ResponseCache.Entry(mUserToken, eTag, lastModified, result));
+        }
+        if (mDiskCache != null && body != null) {
+            mDiskCache.put(requestKey, new DiskCache.Entry(eTag, lastModified, body));
+        }
+    }
+
+    @VisibleForTesting
+    void onSuccess(final String content) {
+        Object result = null; //204 case
+        if (content != null && !content.trim().isEmpty()) {
+            try {
+                long parseStartNanos = System.nanoTime();
+                result = JsonUtils.fromJsonString(content, mTypeReference);
+                mEventListener.onJsonParsed(getContextId(), mEndpoint, System.nanoTime() - parseStartNanos);
+            } catch (Exception e) {
+                onFailure(e);
+                return;
             }
+        }
+        deliverSuccess(result);
+    }
+
+    /**
+     * Notifies the listener with the already deserialized result, on the listener {@link android.os.Handler} when
+     * one is specified
+     *
+     * @param result deserialized response; {@code null} when the response has no content
+     */
+    @SuppressWarnings("unchecked")
+    private void deliverSuccess(final Object result) {
+        if (mCancelled) {
+            return;
+        }
+        final long readyNanos = System.nanoTime();
+        if (mListener.getHandler() == null) {
+            reportDispatched(readyNanos);
+            mListener.onSuccess(result);
         } else {
             mListener.getHandler().post(new Runnable() {
                 @Override
                 public void run() {
-                    try {
-                        if (content != null && !content.trim().isEmpty()) {
-                            mListener.onSuccess(JsonUtils.fromJsonString(content, mTypeReference));
-                        } else {
-                            mListener.onSuccess(null); //204 case
-                        }
-                    } catch (Exception e) {
-                        onFailure(e);
-                    }
+                    reportDispatched(readyNanos);
+                    mListener.onSuccess(result);
                 }
             });
         }
     }
 
     protected void onFailure(@NonNull final Exception exception) {
+        if (mCancelled) {
+            return;
+        }
+        final long readyNanos = System.nanoTime();
+        final HyperwalletException hyperwalletException = ExceptionMapper.toHyperwalletException(exception);
+        recordFailure(hyperwalletException);
         if (mListener.getHandler() == null) {
-            mListener.onFailure(ExceptionMapper.toHyperwalletException(exception));
+            reportDispatched(readyNanos);
+            mListener.onFailure(hyperwalletException);
         } else {
             mListener.getHandler().post(new Runnable() {
                 @Override
                 public void run() {
-                    mListener.onFailure(ExceptionMapper.toHyperwalletException(exception));
+                    reportDispatched(readyNanos);
+                    mListener.onFailure(hyperwalletException);
                 }
             });
         }
     }
 
-    private String getUserAgent() {
-        return String.format(HTTP_HEADER_USER_AGENT, BuildConfig.VERSION_NAME, Build.VERSION.RELEASE);
+    /**
+     * Records the latency of a request answered from the network as a success
+     */
+    private void recordSuccess() {
+        if (mMetricsRegistry != null && mStartNanos != 0) {
+            mMetricsRegistry.recordSuccess(mEndpoint, System.nanoTime() - mStartNanos);
+        }
+    }
+
+    /**
+     * Records the latency of a request that started running as a failure with the code of its first error
+     */
+    private void recordFailure(@NonNull final HyperwalletException exception) {
+        if (mMetricsRegistry == null || mStartNanos == 0) {
+            return;
+        }
+        String errorCode = exception.getErrors().getErrors().isEmpty() ? ExceptionMapper.EC_UNEXPECTED_EXCEPTION
+                : exception.getErrors().getErrors().get(0).getCode();
+        mMetricsRegistry.recordFailure(mEndpoint, System.nanoTime() - mStartNanos,
+                errorCode != null ? errorCode : ExceptionMapper.EC_UNEXPECTED_EXCEPTION);
+    }
+
+    /**
+     * Reports the time from the result being ready until the listener is called back
+     */
+    private void reportDispatched(final long readyNanos) {
+        mEventListener.onListenerDispatched(getContextId(), mEndpoint, System.nanoTime() - readyNanos);
+    }
+
+    /**
+     * SDK level headers built for a locale
+     */
+    private static final class DefaultHeaders {
+
+        private final Locale mLocale;
+        private final Headers mHeaders;
+
+        DefaultHeaders(@NonNull final Locale locale) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            headers.put(HTTP_HEADER_ACCEPT_KEY, APPLICATION_JSON);
+            headers.put(HTTP_HEADER_CONTENT_TYPE_KEY, APPLICATION_JSON);
+            headers.put(HTTP_HEADER_USER_AGENT_KEY,
+                    String.format(HTTP_HEADER_USER_AGENT, BuildConfig.VERSION_NAME, Build.VERSION.RELEASE));
+            headers.put(HTTP_HEADER_ACCEPT_LANGUAGE_KEY, locale.toLanguageTag());
+            headers.put(HTTP_HEADER_X_SDK_VERSION_KEY, BuildConfig.VERSION_NAME);
+            headers.put(HTTP_HEADER_X_SDK_TYPE_KEY, HTTP_HEADER_X_SDK_TYPE);
+            mLocale = locale;
+            mHeaders = Headers.of(headers);
+        }
+    }
+
+    /**
+     * Competing attempts of a hedged request; once decided, the connection of the losing attempt is aborted and
+     * responses still arriving are closed
+     */
+    private final class HedgedAttempts {
+        private final BlockingQueue<Outcome> mOutcomes = new LinkedBlockingQueue<>();
+        private final List<Outcome> mStarted = new ArrayList<>(2);
+        private boolean mDecided;
+
+        void start(final boolean hedge) {
+            final Outcome outcome = new Outcome(hedge, newAttemptSignal());
+            synchronized (this) {
+                mStarted.add(outcome);
+            }
+            mHedgingPolicy.getExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        outcome.mResponse = timedAttempt(outcome.mCancellationSignal);
+                    } catch (Throwable e) {
+                        outcome.mFailure = e;
+                    }
+                    synchronized (HedgedAttempts.this) {
+                        if (!mDecided) {
+                            mOutcomes.add(outcome);
+                            return;
+                        }
+                    }
+                    outcome.discard();
+                }
+            });
+        }
+
+        /**
+         * @param winner outcome whose response is used; {@code null} if none is, which aborts every attempt
+         */
+        void decide(@Nullable final Outcome winner) {
+            List<Outcome> started;
+            synchronized (this) {
+                mDecided = true;
+                started = new ArrayList<>(mStarted);
+            }
+            for (Outcome outcome : started) {
+                if (outcome != winner) {
+                    outcome.mCancellationSignal.cancel();
+                }
+            }
+            Outcome outcome;
+            while ((outcome = mOutcomes.poll()) != null) {
+                outcome.discard();
+            }
+        }
+    }
+
+    /**
+     * Response or failure of one attempt of a hedged request
+     */
+    private static final class Outcome {
+        private final boolean mHedge;
+        private final CancellationSignal mCancellationSignal;
+        private HttpResponse mResponse;
+        private Throwable mFailure;
+
+        Outcome(final boolean hedge, @NonNull final CancellationSignal cancellationSignal) {
+            mHedge = hedge;
+            mCancellationSignal = cancellationSignal;
+        }
+
+        HttpResponse get() throws IOException, HyperwalletCircuitOpenException {
+            if (mFailure instanceof IOException) {
+                throw (IOException) mFailure;
+            } else if (mFailure instanceof HyperwalletCircuitOpenException) {
+                throw (HyperwalletCircuitOpenException) mFailure;
+            } else if (mFailure instanceof RuntimeException) {
+                throw (RuntimeException) mFailure;
+            } else if (mFailure instanceof Error) {
+                throw (Error) mFailure;
+            }
+            return mResponse;
+        }
+
+        void discard() {
+            if (mResponse != null) {
+                try {
+                    mResponse.close();
+                } catch (IOException e) {
+                    // the response is not used
+                }
+            }
+        }
+    }
+
+    /**
+     * Transport sending the request of one attempt with the signal that aborts its connection
+     */
+    private static final class CancellableTransport implements HttpTransport {
+        private final HttpTransport mTransport;
+        private final CancellationSignal mCancellationSignal;
+
+        CancellableTransport(@NonNull final HttpTransport transport,
+                @NonNull final CancellationSignal cancellationSignal) {
+            mTransport = transport;
+            mCancellationSignal = cancellationSignal;
+        }
+
+        @NonNull
+        @Override
+        public HttpResponse execute(@NonNull final HttpRequest request) throws IOException {
+            return mTransport.execute(request.withCancellationSignal(mCancellationSignal));
+        }
+    }
+
+    /**
+     * Stream that copies the bytes read through it, so a parsed response body can also be persisted
+     */
+    private static final class CopyingInputStream extends FilterInputStream {
+        private final OutputStream mCopy;
+
+        CopyingInputStream(final InputStream in, final OutputStream copy) {
+            super(in);
+            mCopy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value != -1) {
+                mCopy.write(value);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                mCopy.write(buffer, offset, count);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Accumulates the time spent in reads of the wrapped stream
+     */
+    private static final class TimedInputStream extends FilterInputStream {
+        private long mReadNanos;
+
+        TimedInputStream(final InputStream in) {
+            super(in);
+        }
+
+        long getReadNanos() {
+            return mReadNanos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long startNanos = System.nanoTime();
+            try {
+                return super.read();
+            } finally {
+                mReadNanos += System.nanoTime() - startNanos;
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            long startNanos = System.nanoTime();
+            try {
+                return super.read(buffer, offset, length);
+            } finally {
+                mReadNanos += System.nanoTime() - startNanos;
+            }
+        }
     }
 }
@@ -25,7 +25,6 @@ import static com.hyperwallet.android.util.HttpMethod.PUT;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import com.hyperwallet.android.exception.HyperwalletAuthenticationTokenProviderException;
 import com.hyperwallet.android.exception.HyperwalletException;
 import com.hyperwallet.android.exception.HyperwalletInitializationException;
 import com.hyperwallet.android.listener.HyperwalletListener;
@@ -64,15 +63,38 @@ import com.hyperwallet.android.model.transfermethod.TransferMethodQueryParam;
 import com.hyperwallet.android.model.transfermethod.VenmoAccount;
 import com.hyperwallet.android.model.transfermethod.VenmoAccountQueryParam;
 import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.util.ByteCounter;
+import com.hyperwallet.android.util.CircuitBreaker;
+import com.hyperwallet.android.util.ConnectionPool;
+import com.hyperwallet.android.util.ConnectionWarmer;
+import com.hyperwallet.android.util.DiskCache;
+import com.hyperwallet.android.util.HedgingPolicy;
+import com.hyperwallet.android.util.HttpTransport;
+import com.hyperwallet.android.util.HttpUrlConnectionTransport;
+import com.hyperwallet.android.util.JsonUtils;
+import com.hyperwallet.android.util.MetricsRegistry;
+import com.hyperwallet.android.util.RequestCoalescer;
+import com.hyperwallet.android.util.RequestEventListener;
+import com.hyperwallet.android.util.ResponseCache;
+import com.hyperwallet.android.util.RetryCounter;
+import com.hyperwallet.android.util.RetryPolicy;
+import com.hyperwallet.android.util.Tls12SocketFactory;
 
 import org.json.JSONException;
 
-import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
+import java.util.WeakHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The {@code Hyperwallet} class is an Android specific implementation of the
@@ -92,22 +114,71 @@ import java.util.concurrent.Executors;
  */
 public class Hyperwallet {
 
-    private static final int EXECUTOR_POOL_SIZE = 2;
     private static final String TAG = Hyperwallet.class.getName();
 
 
     private static Hyperwallet sInstanceLast;
 
-    private final ExecutorService mExecutor;
-    private final HyperwalletAuthenticationTokenProvider mHyperwalletAuthenticationTokenProvider;
-
-    private Configuration mConfiguration;
+    private final RequestScheduler mRequestScheduler;
+    private final ConnectionPool mConnectionPool;
+    private final Tls12SocketFactory mTlsSocketFactory;
+    private final HttpTransport mTransport;
+    private final ByteCounter mByteCounter;
+    private final MetricsRegistry mMetricsRegistry;
+    private final RequestCoalescer<HyperwalletListener> mRequestCoalescer;
+    private final ResponseCache mResponseCache;
+    private final DiskCache mDiskCache;
+    private final RetryPolicy mRetryPolicy;
+    private final RetryCounter mRetryCounter;
+    private final CircuitBreaker mCircuitBreaker;
+    private final HedgingPolicy mHedgingPolicy;
+    private final RequestEventListener mRequestEventListener;
+    private final ConnectionWarmer mConnectionWarmer;
+    private final Set<RequestHandle> mRequestHandles;
+
+    private final ConfigurationProvider mConfigurationProvider;
+    private final AtomicLong mAuthenticationReplayCount = new AtomicLong();
 
     private String contextId;
 
-    private Hyperwallet(@NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider) {
-        mExecutor = Executors.newFixedThreadPool(EXECUTOR_POOL_SIZE);
-        mHyperwalletAuthenticationTokenProvider = hyperwalletAuthenticationTokenProvider;
+    private Hyperwallet(@NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider,
+            @NonNull final HyperwalletOptions options) {
+        mRequestScheduler = options.getRequestScheduler();
+        mConnectionPool = options.getConnectionPool();
+        mTlsSocketFactory = createTlsSocketFactory();
+        mByteCounter = new ByteCounter();
+        mMetricsRegistry = new MetricsRegistry(mByteCounter);
+        mRequestCoalescer = new RequestCoalescer<>();
+        mResponseCache = options.getResponseCache();
+        mDiskCache = options.getDiskCache();
+        mRetryPolicy = options.getRetryPolicy();
+        mRetryCounter = new RetryCounter();
+        mCircuitBreaker = options.getCircuitBreaker();
+        mHedgingPolicy = options.getHedgingPolicy();
+        mRequestEventListener = options.getRequestEventListener();
+        mRequestHandles = Collections.synchronizedSet(
+                Collections.newSetFromMap(new WeakHashMap<RequestHandle, Boolean>()));
+        mTransport = options.getTransport() != null ? options.getTransport()
+                : new HttpUrlConnectionTransport.Builder()
+                        .connectionPool(mConnectionPool)
+                        .sslSocketFactory(mTlsSocketFactory)
+                        .byteCounter(mByteCounter)
+                        .requestCompressionThreshold(options.getRequestCompressionThreshold())
+                        .build();
+        mConnectionWarmer = options.isConnectionWarmupEnabled() && options.getTransport() == null
+                ? new ConnectionWarmer(mConnectionPool, mTlsSocketFactory) : null;
+        // the stored configuration is loaded and saved on the thread that retrieves tokens ahead
+        boolean refreshAhead = options.getTokenRefreshAheadFraction() != HyperwalletOptions.NO_TOKEN_REFRESH_AHEAD;
+        ScheduledExecutorService configurationScheduler = refreshAhead || options.getConfigurationStore() != null
+                ? createConfigurationScheduler() : null;
+        mConfigurationProvider = new ConfigurationProvider(hyperwalletAuthenticationTokenProvider,
+                new ConfigurationProvider.OnRefreshListener() {
+                    @Override
+                    public void onRefreshed(@NonNull final Configuration configuration) {
+                        warmUpConnections(configuration);
+                    }
+                }, options.getTokenRefreshAheadFraction(), refreshAhead ? configurationScheduler : null,
+                options.getConfigurationStore(), configurationScheduler);
         if (contextId == null) {
             contextId = UUID.randomUUID().toString();
         }
@@ -122,8 +193,23 @@ public class Hyperwallet {
      */
     public static synchronized Hyperwallet getInstance(
             @NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider) {
+        return getInstance(hyperwalletAuthenticationTokenProvider, new HyperwalletOptions.Builder().build());
+    }
+
+    /**
+     * Creates a new instance of the Hyperwallet Core SDK interface object. If a previously created instance exists,
+     * it will be replaced. In addition to {@link Hyperwallet#getInstance(HyperwalletAuthenticationTokenProvider)},
+     * the {@link HyperwalletOptions} define how requests are sent to the Hyperwallet platform.
+     *
+     * @param hyperwalletAuthenticationTokenProvider a provider of Hyperwallet authentication tokens; must not be null
+     * @param options                                the SDK options; must not be null
+     * @return A {@code Hyperwallet} instance
+     */
+    public static synchronized Hyperwallet getInstance(
+            @NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider,
+            @NonNull final HyperwalletOptions options) {
         if (sInstanceLast == null) {
-            sInstanceLast = new Hyperwallet(hyperwalletAuthenticationTokenProvider);
+            sInstanceLast = new Hyperwallet(hyperwalletAuthenticationTokenProvider, options);
         }
         return sInstanceLast;
     }
@@ -147,8 +233,25 @@ public class Hyperwallet {
     public static synchronized Hyperwallet getInstance(
             @NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider,
             @NonNull final HyperwalletListener<Configuration> listener) {
+        return getInstance(hyperwalletAuthenticationTokenProvider, listener, new HyperwalletOptions.Builder().build());
+    }
+
+    /**
+     * Creates a new instance of the Hyperwallet Core SDK interface object. If a previously created instance exists,
+     * it will be replaced. Same as
+     * {@link Hyperwallet#getInstance(HyperwalletAuthenticationTokenProvider, HyperwalletListener)} with the
+     * {@link HyperwalletOptions} that define how requests are sent to the Hyperwallet platform.
+     *
+     * @param hyperwalletAuthenticationTokenProvider a provider of Hyperwallet authentication tokens; must not be null
+     * @param listener                               the callback handler of responses from the Hyperwallet platform;
+     *                                               must not be null
+     * @param options                                the SDK options; must not be null
+     */
+    public static synchronized Hyperwallet getInstance(
+            @NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider,
+            @NonNull final HyperwalletListener<Configuration> listener, @NonNull final HyperwalletOptions options) {
         if (sInstanceLast == null) {
-            sInstanceLast = new Hyperwallet(hyperwalletAuthenticationTokenProvider);
+            sInstanceLast = new Hyperwallet(hyperwalletAuthenticationTokenProvider, options);
             sInstanceLast.getConfiguration(listener);
         }
         return sInstanceLast;
@@ -176,6 +279,139 @@ public class Hyperwallet {
         sInstanceLast = null;
     }
 
+    /**
+     * @return {@link ConnectionPool} that keeps connections to the REST and GraphQL hosts alive
+     */
+    @NonNull
+    public ConnectionPool getConnectionPool() {
+        return mConnectionPool;
+    }
+
+    /**
+     * @return {@link ByteCounter} with the wire and decoded bytes sent and received per endpoint by the default
+     * transport
+     */
+    @NonNull
+    public ByteCounter getByteCounter() {
+        return mByteCounter;
+    }
+
+    /**
+     * @return {@link MetricsRegistry} with the latency percentiles, successes, failures per error code and bytes
+     * sent and received per endpoint of the requests of this instance
+     */
+    @NonNull
+    public MetricsRegistry getMetricsRegistry() {
+        return mMetricsRegistry;
+    }
+
+    /**
+     * @return {@link RequestCoalescer} that lets identical in-flight GET requests share one network call, it counts
+     * issued and coalesced requests
+     */
+    @NonNull
+    public RequestCoalescer<HyperwalletListener> getRequestCoalescer() {
+        return mRequestCoalescer;
+    }
+
+    /**
+     * @return {@link ResponseCache} with the validated GET responses of this instance; clear it when the user logs
+     * out
+     */
+    @NonNull
+    public ResponseCache getResponseCache() {
+        return mResponseCache;
+    }
+
+    /**
+     * @return {@link DiskCache} persisting the GET responses of this instance, clear it when the user logs out;
+     * {@code null} if no disk cache was configured
+     */
+    @Nullable
+    public DiskCache getDiskCache() {
+        return mDiskCache;
+    }
+
+    /**
+     * @return {@link RetryCounter} with the requests, attempts and exhausted retries per endpoint of the GET requests
+     * and GraphQL queries of this instance
+     */
+    @NonNull
+    public RetryCounter getRetryCounter() {
+        return mRetryCounter;
+    }
+
+    /**
+     * @return number of REST requests rejected with {@code 401 Unauthorized} and sent once more with a new
+     * authentication token
+     */
+    public long getAuthenticationReplayCount() {
+        return mAuthenticationReplayCount.get();
+    }
+
+    /**
+     * @return {@link ConnectionWarmer} with the time the connection to each host took to warm up; {@code null} if
+     * connections are not warmed up
+     */
+    @Nullable
+    public ConnectionWarmer getConnectionWarmer() {
+        return mConnectionWarmer;
+    }
+
+    /**
+     * @return {@link HedgingPolicy} with the number of hedged GET requests and hedges that won; {@code null} if
+     * requests are not hedged
+     */
+    @Nullable
+    public HedgingPolicy getHedgingPolicy() {
+        return mHedgingPolicy;
+    }
+
+    /**
+     * @return {@link RequestScheduler} running the requests of this instance, with the queue wait times per
+     * {@link RequestPriority}
+     */
+    @NonNull
+    public RequestScheduler getRequestScheduler() {
+        return mRequestScheduler;
+    }
+
+    /**
+     * @return {@link CircuitBreaker} keeping one circuit per REST and GraphQL host, add a
+     * {@link CircuitBreaker.Listener} to observe its state transitions
+     */
+    @NonNull
+    public CircuitBreaker getCircuitBreaker() {
+        return mCircuitBreaker;
+    }
+
+    /**
+     * Cancels every request whose {@link RequestHandle} was given the tag, for instance all requests of a screen
+     * that is closed
+     *
+     * @param tag the tag given through {@link RequestHandle#tag(Object)}; must not be null
+     */
+    public void cancelAll(@NonNull final Object tag) {
+        List<RequestHandle> requestHandles;
+        synchronized (mRequestHandles) {
+            requestHandles = new ArrayList<>(mRequestHandles);
+        }
+        for (RequestHandle requestHandle : requestHandles) {
+            if (tag.equals(requestHandle.getTag())) {
+                requestHandle.cancel();
+            }
+        }
+    }
+
+    /**
+     * @return {@link Tls12SocketFactory} shared by all connections of this instance, it keeps the TLS session cache
+     * and counts full and resumed handshakes; {@code null} if TLS could not be initialized
+     */
+    @Nullable
+    public Tls12SocketFactory getTlsSocketFactory() {
+        return mTlsSocketFactory;
+    }
+
     /**
      * Retrieves the Configuration based on the values from the Authentication Token Provider. Please be aware that this
      * method will also authenticate, if for instance there's a previous authentication that is still valid then the
@@ -184,53 +420,18 @@ public class Hyperwallet {
      *
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
      */
-    public synchronized void getConfiguration(@NonNull final HyperwalletListener<Configuration> listener) {
-        if (mConfiguration == null || mConfiguration.isStale()) {
-            mHyperwalletAuthenticationTokenProvider.retrieveAuthenticationToken(
-                    new HyperwalletAuthenticationTokenListener() {
-                        @Override
-                        public void onSuccess(String authenticationToken) {
-                            try {
-                                mConfiguration = new Configuration(authenticationToken);
-                                listener.onSuccess(mConfiguration);
-                            } catch (final JSONException e) {
-                                if (listener.getHandler() == null) {
-                                    listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                } else {
-                                    listener.getHandler().post(new Runnable() {
-                                        @Override
-                                        public void run() {
-                                            listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                        }
-                                    });
-                                }
-                            }
-                        }
+    public void getConfiguration(@NonNull final HyperwalletListener<Configuration> listener) {
+        mConfigurationProvider.get(new ConfigurationProvider.Callback() {
+            @Override
+            public void onConfiguration(@NonNull final Configuration configuration) {
+                listener.onSuccess(configuration);
+            }
 
-                        @Override
-                        public void onFailure(UUID uuid, String message) {
-                            final String logMessage = MessageFormat
-                                    .format("Integrator was unable to provide an authentication token. \nId: {0} "
-                                                    + "Message: {1}",
-                                            uuid.toString(), message);
-
-                            if (listener.getHandler() == null) {
-                                listener.onFailure(ExceptionMapper.toHyperwalletException(
-                                        new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                            } else {
-                                listener.getHandler().post(new Runnable() {
-                                    @Override
-                                    public void run() {
-                                        listener.onFailure(ExceptionMapper.toHyperwalletException(
-                                                new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                                    }
-                                });
-                            }
-                        }
-                    });
-        } else {
-            listener.onSuccess(mConfiguration);
-        }
+            @Override
+            public void onFailure(@NonNull final HyperwalletException exception) {
+                notifyFailure(listener, exception);
+            }
+        });
     }
 
     /**
@@ -245,8 +446,9 @@ public class Hyperwallet {
      *
      * @param bankAccount the {@code BankAccount} to be created; must not be null
      * @param listener    the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void createBankAccount(@NonNull final BankAccount bankAccount,
+    public RequestHandle createBankAccount(@NonNull final BankAccount bankAccount,
                                   @NonNull final HyperwalletListener<BankAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
 
@@ -254,7 +456,7 @@ public class Hyperwallet {
                 new TypeReference<BankAccount>() {
                 }, listener, contextId).jsonModel(bankAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -285,9 +487,24 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listBankAccounts(@Nullable final BankAccountQueryParam queryParam,
+    public RequestHandle listBankAccounts(@Nullable final BankAccountQueryParam queryParam,
                                  @NonNull final HyperwalletListener<PageList<BankAccount>> listener) {
+        return listBankAccounts(queryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listBankAccounts(BankAccountQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param queryParam the ordering and filtering criteria
+     * @param options    settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listBankAccounts(@Nullable final BankAccountQueryParam queryParam,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PageList<BankAccount>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
 
@@ -295,7 +512,8 @@ public class Hyperwallet {
                 new TypeReference<PageList<BankAccount>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -310,8 +528,9 @@ public class Hyperwallet {
      *
      * @param bankCard the {@code BankCard} to be created; must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void createBankCard(@NonNull final BankCard bankCard,
+    public RequestHandle createBankCard(@NonNull final BankCard bankCard,
                                @NonNull final HyperwalletListener<BankCard> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards");
 
@@ -319,7 +538,7 @@ public class Hyperwallet {
                 new TypeReference<BankCard>() {
                 }, listener, contextId).jsonModel(bankCard);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -334,8 +553,9 @@ public class Hyperwallet {
      *
      * @param payPalAccount the {@code PayPalAccount} to be created; must not be null
      * @param listener      the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void createPayPalAccount(@NonNull final PayPalAccount payPalAccount,
+    public RequestHandle createPayPalAccount(@NonNull final PayPalAccount payPalAccount,
                                     @NonNull final HyperwalletListener<PayPalAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paypal-accounts");
 
@@ -343,7 +563,7 @@ public class Hyperwallet {
                 new TypeReference<PayPalAccount>() {
                 }, listener, contextId).jsonModel(payPalAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -358,8 +578,9 @@ public class Hyperwallet {
      *
      * @param venmoAccount the {@code VenmoAccount} to be created; must not be null
      * @param listener     the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void createVenmoAccount(@NonNull final VenmoAccount venmoAccount,
+    public RequestHandle createVenmoAccount(@NonNull final VenmoAccount venmoAccount,
                                    @NonNull final HyperwalletListener<VenmoAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/venmo-accounts");
 
@@ -367,7 +588,7 @@ public class Hyperwallet {
                 new TypeReference<VenmoAccount>() {
                 }, listener, contextId).jsonModel(venmoAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -382,8 +603,9 @@ public class Hyperwallet {
      *
      * @param paperCheck the {@code PaperCheck} to be created; must not be null
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void createPaperCheck(@NonNull final PaperCheck paperCheck,
+    public RequestHandle createPaperCheck(@NonNull final PaperCheck paperCheck,
                                  @NonNull final HyperwalletListener<PaperCheck> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paper-checks");
 
@@ -391,7 +613,7 @@ public class Hyperwallet {
                 new TypeReference<PaperCheck>() {
                 }, listener, contextId).jsonModel(paperCheck);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -406,8 +628,9 @@ public class Hyperwallet {
      *
      * @param transfer the {@code Transfer} to be created; must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void createTransfer(@NonNull final Transfer transfer,
+    public RequestHandle createTransfer(@NonNull final Transfer transfer,
                                @NonNull final HyperwalletListener<Transfer> listener) {
         PathFormatter pathFormatter = new PathFormatter("transfers");
 
@@ -415,7 +638,7 @@ public class Hyperwallet {
                 new TypeReference<Transfer>() {
                 }, listener, contextId).jsonModel(transfer);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -430,16 +653,32 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code BankAccount}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void getBankAccount(@NonNull final String transferMethodToken,
+    public RequestHandle getBankAccount(@NonNull final String transferMethodToken,
                                @NonNull final HyperwalletListener<BankAccount> listener) {
+        return getBankAccount(transferMethodToken, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #getBankAccount(String, HyperwalletListener)}, applying the given {@link RequestOptions}.
+     *
+     * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code BankAccount}
+     *                            being requested; must not be null
+     * @param options             settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle getBankAccount(@NonNull final String transferMethodToken,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<BankAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<BankAccount>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -454,15 +693,31 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code BankCard}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void getBankCard(@NonNull final String transferMethodToken,
+    public RequestHandle getBankCard(@NonNull final String transferMethodToken,
                             @NonNull final HyperwalletListener<BankCard> listener) {
+        return getBankCard(transferMethodToken, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #getBankCard(String, HyperwalletListener)}, applying the given {@link RequestOptions}.
+     *
+     * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code BankCard}
+     *                            being requested; must not be null
+     * @param options             settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle getBankCard(@NonNull final String transferMethodToken, @NonNull final RequestOptions options,
+            @NonNull final HyperwalletListener<BankCard> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<BankCard>() {
                 }, listener, contextId);
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -475,15 +730,29 @@ public class Hyperwallet {
      * if the current one is expired or about to expire.</p>
      *
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void getUser(@NonNull final HyperwalletListener<User> listener) {
+    public RequestHandle getUser(@NonNull final HyperwalletListener<User> listener) {
+        return getUser(new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #getUser(HyperwalletListener)}, applying the given {@link RequestOptions}.
+     *
+     * @param options  settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle getUser(@NonNull final RequestOptions options,
+            @NonNull final HyperwalletListener<User> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}");
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<User>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -498,16 +767,32 @@ public class Hyperwallet {
      * @param transferToken the Hyperwallet specific unique identifier for the {@code Transfer}
      *                      being requested; must not be null
      * @param listener      the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void getTransfer(@NonNull final String transferToken,
+    public RequestHandle getTransfer(@NonNull final String transferToken,
                             @NonNull final HyperwalletListener<Transfer> listener) {
+        return getTransfer(transferToken, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #getTransfer(String, HyperwalletListener)}, applying the given {@link RequestOptions}.
+     *
+     * @param transferToken the Hyperwallet specific unique identifier for the {@code Transfer}
+     *                      being requested; must not be null
+     * @param options       settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener      the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle getTransfer(@NonNull final String transferToken, @NonNull final RequestOptions options,
+            @NonNull final HyperwalletListener<Transfer> listener) {
         PathFormatter pathFormatter = new PathFormatter("transfers/{1}", transferToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<Transfer>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -525,8 +810,9 @@ public class Hyperwallet {
      *
      * @param bankAccount the {@code BankAccount} to be created; must not be null
      * @param listener    the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void updateBankAccount(@NonNull final BankAccount bankAccount,
+    public RequestHandle updateBankAccount(@NonNull final BankAccount bankAccount,
                                   @NonNull final HyperwalletListener<BankAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts/{1}",
                 bankAccount.getField(TransferMethod.TransferMethodFields.TOKEN));
@@ -535,7 +821,7 @@ public class Hyperwallet {
                 new TypeReference<BankAccount>() {
                 }, listener, contextId).jsonModel(bankAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -554,8 +840,9 @@ public class Hyperwallet {
      *
      * @param bankCard the {@code BankCard} to be created; must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void updateBankCard(@NonNull final BankCard bankCard,
+    public RequestHandle updateBankCard(@NonNull final BankCard bankCard,
                                @NonNull final HyperwalletListener<BankCard> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards/{1}",
                 bankCard.getField(TransferMethod.TransferMethodFields.TOKEN));
@@ -564,7 +851,7 @@ public class Hyperwallet {
                 new TypeReference<BankCard>() {
                 }, listener, contextId).jsonModel(bankCard);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -582,8 +869,9 @@ public class Hyperwallet {
      *
      * @param payPalAccount the {@code PayPalAccount} to be created; must not be null
      * @param listener      the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void updatePayPalAccount(@NonNull final PayPalAccount payPalAccount,
+    public RequestHandle updatePayPalAccount(@NonNull final PayPalAccount payPalAccount,
                                     @NonNull final HyperwalletListener<PayPalAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paypal-accounts/{1}",
                 payPalAccount.getField(TransferMethod.TransferMethodFields.TOKEN));
@@ -592,7 +880,7 @@ public class Hyperwallet {
                 new TypeReference<PayPalAccount>() {
                 }, listener, contextId).jsonModel(payPalAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -610,8 +898,9 @@ public class Hyperwallet {
      *
      * @param venmoAccount the {@code VenmoAccount} to be created; must not be null
      * @param listener     the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void updateVenmoAccount(@NonNull final VenmoAccount venmoAccount,
+    public RequestHandle updateVenmoAccount(@NonNull final VenmoAccount venmoAccount,
                                    @NonNull final HyperwalletListener<VenmoAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/venmo-accounts/{1}",
                 venmoAccount.getField(TransferMethod.TransferMethodFields.TOKEN));
@@ -620,7 +909,7 @@ public class Hyperwallet {
                 new TypeReference<VenmoAccount>() {
                 }, listener, contextId).jsonModel(venmoAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -638,8 +927,9 @@ public class Hyperwallet {
      *
      * @param paperCheck the {@code PaperCheck} to be created; must not be null
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void updatePaperCheck(@NonNull final PaperCheck paperCheck,
+    public RequestHandle updatePaperCheck(@NonNull final PaperCheck paperCheck,
                                  @NonNull final HyperwalletListener<PaperCheck> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paper-checks/{1}",
                 paperCheck.getField(TransferMethod.TransferMethodFields.TOKEN));
@@ -648,7 +938,7 @@ public class Hyperwallet {
                 new TypeReference<PaperCheck>() {
                 }, listener, contextId).jsonModel(paperCheck);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -667,8 +957,9 @@ public class Hyperwallet {
      *                            being deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void deactivateBankAccount(@NonNull final String transferMethodToken, @Nullable final String notes,
+    public RequestHandle deactivateBankAccount(@NonNull final String transferMethodToken, @Nullable final String notes,
                                       @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts/{1}/status-transitions",
                 transferMethodToken);
@@ -681,7 +972,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -700,8 +991,9 @@ public class Hyperwallet {
      *                            deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void deactivateBankCard(@NonNull final String transferMethodToken, @Nullable final String notes,
+    public RequestHandle deactivateBankCard(@NonNull final String transferMethodToken, @Nullable final String notes,
                                    @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards/{1}/status-transitions",
                 transferMethodToken);
@@ -714,7 +1006,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -733,9 +1025,10 @@ public class Hyperwallet {
      *                            being deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void deactivatePayPalAccount(@NonNull final String transferMethodToken, @Nullable final String notes,
-                                        @NonNull final HyperwalletListener<StatusTransition> listener) {
+    public RequestHandle deactivatePayPalAccount(@NonNull final String transferMethodToken,
+            @Nullable final String notes, @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paypal-accounts/{1}/status-transitions",
                 transferMethodToken);
 
@@ -747,7 +1040,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -766,8 +1059,9 @@ public class Hyperwallet {
      *                            being deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void deactivateVenmoAccount(@NonNull final String transferMethodToken, @Nullable final String notes,
+    public RequestHandle deactivateVenmoAccount(@NonNull final String transferMethodToken, @Nullable final String notes,
                                        @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/venmo-accounts/{1}/status-transitions",
                 transferMethodToken);
@@ -780,7 +1074,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -799,8 +1093,9 @@ public class Hyperwallet {
      *                            being deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void deactivatePaperCheck(@NonNull final String transferMethodToken, @Nullable final String notes,
+    public RequestHandle deactivatePaperCheck(@NonNull final String transferMethodToken, @Nullable final String notes,
                                      @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paper-checks/{1}/status-transitions",
                 transferMethodToken);
@@ -813,7 +1108,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -844,9 +1139,25 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listTransferMethods(@Nullable final TransferMethodQueryParam queryParam,
+    public RequestHandle listTransferMethods(@Nullable final TransferMethodQueryParam queryParam,
                                     @NonNull final HyperwalletListener<PageList<TransferMethod>> listener) {
+        return listTransferMethods(queryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listTransferMethods(TransferMethodQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param queryParam the ordering and filtering criteria
+     * @param options    settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listTransferMethods(@Nullable final TransferMethodQueryParam queryParam,
+            @NonNull final RequestOptions options,
+            @NonNull final HyperwalletListener<PageList<TransferMethod>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/transfer-methods");
 
@@ -854,7 +1165,8 @@ public class Hyperwallet {
                 new TypeReference<PageList<TransferMethod>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -884,16 +1196,32 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listBankCards(@Nullable final BankCardQueryParam queryParam,
+    public RequestHandle listBankCards(@Nullable final BankCardQueryParam queryParam,
                               @NonNull final HyperwalletListener<PageList<BankCard>> listener) {
+        return listBankCards(queryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listBankCards(BankCardQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param queryParam the ordering and filtering criteria
+     * @param options    settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listBankCards(@Nullable final BankCardQueryParam queryParam,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PageList<BankCard>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards");
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PageList<BankCard>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -924,16 +1252,32 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listPrepaidCards(@Nullable final PrepaidCardQueryParam queryParam,
+    public RequestHandle listPrepaidCards(@Nullable final PrepaidCardQueryParam queryParam,
                                  @NonNull final HyperwalletListener<PageList<PrepaidCard>> listener) {
+        return listPrepaidCards(queryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listPrepaidCards(PrepaidCardQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param queryParam the ordering and filtering criteria
+     * @param options    settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listPrepaidCards(@Nullable final PrepaidCardQueryParam queryParam,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PageList<PrepaidCard>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/prepaid-cards");
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PageList<PrepaidCard>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -961,16 +1305,32 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listUserBalances(@Nullable final BalanceQueryParam queryParam,
+    public RequestHandle listUserBalances(@Nullable final BalanceQueryParam queryParam,
                                  @NonNull final HyperwalletListener<PageList<Balance>> listener) {
+        return listUserBalances(queryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listUserBalances(BalanceQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param queryParam the ordering and filtering criteria
+     * @param options    settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listUserBalances(@Nullable final BalanceQueryParam queryParam,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PageList<Balance>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/balances");
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PageList<Balance>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -992,10 +1352,29 @@ public class Hyperwallet {
      * @param prepaidCardBalanceQueryParam the ordering criteria
      * @param listener                     the callback handler of responses from the Hyperwallet platform; must not be
      *                                     null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listPrepaidCardBalances(@NonNull final String prepaidCardToken,
+    public RequestHandle listPrepaidCardBalances(@NonNull final String prepaidCardToken,
                                         @Nullable final PrepaidCardBalanceQueryParam prepaidCardBalanceQueryParam,
                                         @NonNull final HyperwalletListener<PageList<Balance>> listener) {
+        return listPrepaidCardBalances(prepaidCardToken, prepaidCardBalanceQueryParam,
+                new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listPrepaidCardBalances(String, PrepaidCardBalanceQueryParam, HyperwalletListener)}, applying the
+     * given {@link RequestOptions}.
+     *
+     * @param prepaidCardToken             the token for prepaid card
+     * @param prepaidCardBalanceQueryParam the ordering criteria
+     * @param options                      settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener                     the callback handler of responses from the Hyperwallet platform; must not be
+     *                                     null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listPrepaidCardBalances(@NonNull final String prepaidCardToken,
+            @Nullable final PrepaidCardBalanceQueryParam prepaidCardBalanceQueryParam,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PageList<Balance>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(prepaidCardBalanceQueryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/prepaid-cards/{1}/balances", prepaidCardToken);
 
@@ -1003,7 +1382,8 @@ public class Hyperwallet {
                 new TypeReference<PageList<Balance>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1034,17 +1414,35 @@ public class Hyperwallet {
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must
      *                   not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listPayPalAccounts(
+    public RequestHandle listPayPalAccounts(
             @Nullable final PayPalAccountQueryParam queryParam,
             @NonNull final HyperwalletListener<PageList<PayPalAccount>> listener) {
+        return listPayPalAccounts(queryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listPayPalAccounts(PayPalAccountQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param queryParam the ordering and filtering criteria
+     * @param options    settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener   the callback handler of responses from the Hyperwallet platform; must
+     *                   not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listPayPalAccounts(@Nullable final PayPalAccountQueryParam queryParam,
+            @NonNull final RequestOptions options,
+            @NonNull final HyperwalletListener<PageList<PayPalAccount>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paypal-accounts");
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PageList<PayPalAccount>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1075,17 +1473,35 @@ public class Hyperwallet {
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must
      *                   not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listVenmoAccounts(
+    public RequestHandle listVenmoAccounts(
             @Nullable final VenmoAccountQueryParam queryParam,
             @NonNull final HyperwalletListener<PageList<VenmoAccount>> listener) {
+        return listVenmoAccounts(queryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listVenmoAccounts(VenmoAccountQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param queryParam the ordering and filtering criteria
+     * @param options    settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener   the callback handler of responses from the Hyperwallet platform; must
+     *                   not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listVenmoAccounts(@Nullable final VenmoAccountQueryParam queryParam,
+            @NonNull final RequestOptions options,
+            @NonNull final HyperwalletListener<PageList<VenmoAccount>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/venmo-accounts");
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PageList<VenmoAccount>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1116,17 +1532,34 @@ public class Hyperwallet {
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must
      *                   not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listPaperChecks(
+    public RequestHandle listPaperChecks(
             @Nullable final PaperCheckQueryParam queryParam,
             @NonNull final HyperwalletListener<PageList<PaperCheck>> listener) {
+        return listPaperChecks(queryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listPaperChecks(PaperCheckQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param queryParam the ordering and filtering criteria
+     * @param options    settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener   the callback handler of responses from the Hyperwallet platform; must
+     *                   not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listPaperChecks(@Nullable final PaperCheckQueryParam queryParam,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PageList<PaperCheck>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paper-checks");
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PageList<PaperCheck>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1141,16 +1574,32 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code PrepaidCard}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void getPrepaidCard(@NonNull final String transferMethodToken,
+    public RequestHandle getPrepaidCard(@NonNull final String transferMethodToken,
                                @NonNull final HyperwalletListener<PrepaidCard> listener) {
+        return getPrepaidCard(transferMethodToken, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #getPrepaidCard(String, HyperwalletListener)}, applying the given {@link RequestOptions}.
+     *
+     * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code PrepaidCard}
+     *                            being requested; must not be null
+     * @param options             settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle getPrepaidCard(@NonNull final String transferMethodToken,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PrepaidCard> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/prepaid-cards/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PrepaidCard>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1165,16 +1614,32 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code PayPalAccount}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void getPayPalAccount(@NonNull final String transferMethodToken,
+    public RequestHandle getPayPalAccount(@NonNull final String transferMethodToken,
                                  @NonNull final HyperwalletListener<PayPalAccount> listener) {
+        return getPayPalAccount(transferMethodToken, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #getPayPalAccount(String, HyperwalletListener)}, applying the given {@link RequestOptions}.
+     *
+     * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code PayPalAccount}
+     *                            being requested; must not be null
+     * @param options             settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle getPayPalAccount(@NonNull final String transferMethodToken,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PayPalAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paypal-accounts/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PayPalAccount>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1189,17 +1654,33 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code VenmoAccount}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
 
-    public void getVenmoAccount(@NonNull final String transferMethodToken,
+    public RequestHandle getVenmoAccount(@NonNull final String transferMethodToken,
                                 @NonNull final HyperwalletListener<VenmoAccount> listener) {
+        return getVenmoAccount(transferMethodToken, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #getVenmoAccount(String, HyperwalletListener)}, applying the given {@link RequestOptions}.
+     *
+     * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code VenmoAccount}
+     *                            being requested; must not be null
+     * @param options             settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle getVenmoAccount(@NonNull final String transferMethodToken,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<VenmoAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/venmo-accounts/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<VenmoAccount>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1214,17 +1695,33 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code PaperCheck}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
 
-    public void getPaperCheck(@NonNull final String transferMethodToken,
+    public RequestHandle getPaperCheck(@NonNull final String transferMethodToken,
                               @NonNull final HyperwalletListener<PaperCheck> listener) {
+        return getPaperCheck(transferMethodToken, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #getPaperCheck(String, HyperwalletListener)}, applying the given {@link RequestOptions}.
+     *
+     * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code PaperCheck}
+     *                            being requested; must not be null
+     * @param options             settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle getPaperCheck(@NonNull final String transferMethodToken, @NonNull final RequestOptions options,
+            @NonNull final HyperwalletListener<PaperCheck> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paper-checks/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PaperCheck>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1240,15 +1737,16 @@ public class Hyperwallet {
      *
      * @param query    containing the transfer method configuration key query, must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void retrieveTransferMethodConfigurationKeys(
+    public RequestHandle retrieveTransferMethodConfigurationKeys(
             @NonNull final TransferMethodConfigurationKeysQuery query,
             @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationKey> listener) {
         GqlTransaction.Builder<TransferMethodConfigurationKeyResult> builder = new GqlTransaction.Builder<>(
                 query, new TypeReference<TransferMethodConfigurationKeyResult>() {
         }, listener);
 
-        performGqlTransaction(builder, listener);
+        return performGqlTransaction(builder, listener);
     }
 
     /**
@@ -1264,14 +1762,15 @@ public class Hyperwallet {
      *
      * @param query    containing the transfer method configuration key query, must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void retrieveTransferMethodTypesFeesAndProcessingTimes(
+    public RequestHandle retrieveTransferMethodTypesFeesAndProcessingTimes(
             @NonNull final TransferMethodTypesFeeAndProcessingTimesQuery query,
             @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationKey> listener) {
         GqlTransaction.Builder<TransferMethodConfigurationKeyResult> builder = new GqlTransaction.Builder<>(
                 query, new TypeReference<TransferMethodConfigurationKeyResult>() {
         }, listener);
-        performGqlTransaction(builder, listener);
+        return performGqlTransaction(builder, listener);
     }
 
     /**
@@ -1289,8 +1788,9 @@ public class Hyperwallet {
      *                 country, currency, transfer method type and profile,
      *                 must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void retrieveTransferMethodConfigurationFields(
+    public RequestHandle retrieveTransferMethodConfigurationFields(
             @NonNull final TransferMethodConfigurationFieldQuery query,
             @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationField> listener) {
 
@@ -1298,7 +1798,7 @@ public class Hyperwallet {
                 new GqlTransaction.Builder<>(query,
                         new TypeReference<TransferMethodConfigurationFieldResult>() {
                         }, listener);
-        performGqlTransaction(builder, listener);
+        return performGqlTransaction(builder, listener);
     }
 
     /**
@@ -1316,15 +1816,16 @@ public class Hyperwallet {
      *                 transfer method token,
      *                 must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void retrieveUpdateTransferMethodConfigurationFields(
+    public RequestHandle retrieveUpdateTransferMethodConfigurationFields(
             @NonNull final TransferMethodUpdateConfigurationFieldQuery query,
             @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationField> listener) {
 
         GqlTransaction.Builder<TransferMethodUpdateConfigurationFieldResult> builder =
                 new GqlTransaction.Builder<>(query, new TypeReference<TransferMethodUpdateConfigurationFieldResult>() {
                 }, listener);
-        performGqlTransaction(builder, listener);
+        return performGqlTransaction(builder, listener);
     }
 
     /**
@@ -1354,9 +1855,24 @@ public class Hyperwallet {
      *
      * @param receiptQueryParam the ordering and filtering criteria
      * @param listener          the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listUserReceipts(@Nullable final ReceiptQueryParam receiptQueryParam,
+    public RequestHandle listUserReceipts(@Nullable final ReceiptQueryParam receiptQueryParam,
                                  @NonNull final HyperwalletListener<PageList<Receipt>> listener) {
+        return listUserReceipts(receiptQueryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listUserReceipts(ReceiptQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param receiptQueryParam the ordering and filtering criteria
+     * @param options           settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener          the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listUserReceipts(@Nullable final ReceiptQueryParam receiptQueryParam,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PageList<Receipt>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(receiptQueryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/receipts");
 
@@ -1364,7 +1880,8 @@ public class Hyperwallet {
                 new TypeReference<PageList<Receipt>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1391,10 +1908,28 @@ public class Hyperwallet {
      * @param prepaidCardToken  the token for prepaid card
      * @param receiptQueryParam the filtering criteria
      * @param listener          the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listPrepaidCardReceipts(@NonNull final String prepaidCardToken,
+    public RequestHandle listPrepaidCardReceipts(@NonNull final String prepaidCardToken,
                                         @Nullable final ReceiptQueryParam receiptQueryParam,
                                         @NonNull final HyperwalletListener<PageList<Receipt>> listener) {
+        return listPrepaidCardReceipts(prepaidCardToken, receiptQueryParam, new RequestOptions.Builder().build(),
+                listener);
+    }
+
+    /**
+     * Same as {@link #listPrepaidCardReceipts(String, ReceiptQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param prepaidCardToken  the token for prepaid card
+     * @param receiptQueryParam the filtering criteria
+     * @param options           settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener          the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listPrepaidCardReceipts(@NonNull final String prepaidCardToken,
+            @Nullable final ReceiptQueryParam receiptQueryParam, @NonNull final RequestOptions options,
+            @NonNull final HyperwalletListener<PageList<Receipt>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(receiptQueryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/prepaid-cards/{1}/receipts", prepaidCardToken);
 
@@ -1402,7 +1937,8 @@ public class Hyperwallet {
                 new TypeReference<PageList<Receipt>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1433,9 +1969,24 @@ public class Hyperwallet {
      *
      * @param transferQueryParam the filtering criteria
      * @param listener           the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void listTransfers(@Nullable final TransferQueryParam transferQueryParam,
+    public RequestHandle listTransfers(@Nullable final TransferQueryParam transferQueryParam,
                               @NonNull final HyperwalletListener<PageList<Transfer>> listener) {
+        return listTransfers(transferQueryParam, new RequestOptions.Builder().build(), listener);
+    }
+
+    /**
+     * Same as {@link #listTransfers(TransferQueryParam, HyperwalletListener)}, applying the given
+     * {@link RequestOptions}.
+     *
+     * @param transferQueryParam the filtering criteria
+     * @param options            settings of this call, such as its {@link CachePolicy}; must not be null
+     * @param listener           the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
+     */
+    public RequestHandle listTransfers(@Nullable final TransferQueryParam transferQueryParam,
+            @NonNull final RequestOptions options, @NonNull final HyperwalletListener<PageList<Transfer>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(transferQueryParam);
         PathFormatter pathFormatter = new PathFormatter("transfers");
 
@@ -1443,7 +1994,8 @@ public class Hyperwallet {
                 new TypeReference<PageList<Transfer>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        builder.cachePolicy(options.getCachePolicy()).priority(options.getPriority());
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1452,8 +2004,9 @@ public class Hyperwallet {
      * @param transferToken transfer token generated when transfer is created
      * @param notes         additional information for committing transfer
      * @param listener      the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return {@link RequestHandle} to cancel the request
      */
-    public void scheduleTransfer(@NonNull final String transferToken, @Nullable final String notes,
+    public RequestHandle scheduleTransfer(@NonNull final String transferToken, @Nullable final String notes,
                                  @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("transfers/{1}/status-transitions",
                 transferToken);
@@ -1467,133 +2020,268 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(statusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
-    private void performGqlTransaction(@NonNull final GqlTransaction.Builder builder,
-                                       @NonNull final HyperwalletListener listener) {
-        if (mConfiguration == null || mConfiguration.isStale()) {
-            mHyperwalletAuthenticationTokenProvider.retrieveAuthenticationToken(
-                    new HyperwalletAuthenticationTokenListener() {
-                        @Override
-                        public void onSuccess(String authenticationToken) {
-                            try {
-                                mConfiguration = new Configuration(authenticationToken);
-                                GqlTransaction transaction =
-                                        builder.build(mConfiguration.getGraphQlUri(), mConfiguration.getUserToken(),
-                                                mConfiguration.getAuthenticationToken());
-                                mExecutor.submit(transaction);
-                            } catch (final JSONException e) {
-                                if (listener.getHandler() == null) {
-                                    listener.onFailure(ExceptionMapper
-                                            .toHyperwalletException(e));
-                                } else {
-                                    listener.getHandler().post(new Runnable() {
-                                        @Override
-                                        public void run() {
-                                            listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                        }
-                                    });
-                                }
-                            }
-                        }
+    private RequestHandle performGqlTransaction(@NonNull final GqlTransaction.Builder builder,
+                                                @NonNull final HyperwalletListener hyperwalletListener) {
+        final RequestHandle requestHandle = newRequestHandle();
+        final HyperwalletListener listener = new CancellableListener(hyperwalletListener, requestHandle);
+        mConfigurationProvider.get(new ConfigurationProvider.Callback() {
+            @Override
+            public void onConfiguration(@NonNull final Configuration configuration) {
+                GqlTransaction transaction = builder.build(configuration.getGraphQlUri(),
+                        configuration.getUserToken(), configuration.getAuthenticationToken());
+                submitTransaction(transaction, listener, requestHandle);
+            }
 
-                        @Override
-                        public void onFailure(UUID uuid, String message) {
-                            final String logMessage = MessageFormat
-                                    .format("Integrator was unable to provide an authentication token. \nId: {0} "
-                                                    + "Message: {1}",
-                                            uuid.toString(), message);
-                            if (listener.getHandler() == null) {
-                                listener.onFailure(ExceptionMapper
-                                        .toHyperwalletException(
-                                                new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                            } else {
-                                listener.getHandler().post(new Runnable() {
-                                    @Override
-                                    public void run() {
-                                        listener.onFailure(ExceptionMapper
-                                                .toHyperwalletException(
-                                                        new HyperwalletAuthenticationTokenProviderException(
-                                                                logMessage)));
-                                    }
-                                });
-                            }
-                        }
-                    });
-        } else {
-            GqlTransaction transaction = builder.build(mConfiguration.getGraphQlUri(),
-                    mConfiguration.getUserToken(), mConfiguration.getAuthenticationToken());
-            mExecutor.submit(transaction);
+            @Override
+            public void onFailure(@NonNull final HyperwalletException exception) {
+                notifyFailure(listener, exception);
+            }
+        });
+        return requestHandle;
+    }
+
+    private RequestHandle performRestTransaction(@NonNull final RestTransaction.Builder builder,
+                                                 @NonNull final HyperwalletListener hyperwalletListener) {
+        final RequestHandle requestHandle = newRequestHandle();
+        final HyperwalletListener listener = new CancellableListener(hyperwalletListener, requestHandle);
+        Configuration last = mConfigurationProvider.getCurrent();
+        final String requestKey = mDiskCache != null && last != null
+                && builder.getCachePolicy() != CachePolicy.NETWORK_ONLY ? builder.getRequestKey(last.getUserToken())
+                : null;
+        if (requestKey == null) {
+            submitWithConfiguration(builder, listener, requestHandle);
+            return requestHandle;
         }
+
+        // the user token of the last configuration is known without waiting for an authentication token, so the
+        // disk cache is read first
+        RequestPriority priority = builder.getPriority() != null ? builder.getPriority() : RequestPriority.NORMAL;
+        try {
+            mRequestScheduler.submit(new Runnable() {
+                @Override
+                public void run() {
+                    if (!requestHandle.isCancelled() && !answerFromDiskCache(builder, requestKey, listener)) {
+                        submitWithConfiguration(builder, listener, requestHandle);
+                    }
+                }
+            }, priority, new RequestScheduler.OnRejectedListener() {
+                @Override
+                public void onRejected(@NonNull final RejectedExecutionException exception) {
+                    notifyFailure(listener, ExceptionMapper.toHyperwalletException(exception));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            notifyFailure(listener, ExceptionMapper.toHyperwalletException(e));
+        }
+        return requestHandle;
     }
 
-    private void performRestTransaction(@NonNull final RestTransaction.Builder builder,
-                                        @NonNull final HyperwalletListener listener) {
+    /**
+     * Delivers the response cached on disk under {@code requestKey}, if any, and records the read with
+     * {@code builder}
+     *
+     * @return {@code true} if the request is answered; {@code false} if it must still be sent, or read again from the
+     * disk cache with the user token of a new configuration
+     */
+    private boolean answerFromDiskCache(@NonNull final RestTransaction.Builder builder,
+            @NonNull final String requestKey, @NonNull final HyperwalletListener listener) {
+        DiskCache.Entry entry = mDiskCache.get(requestKey);
+        if (entry == null) {
+            builder.diskCacheRead(requestKey, null, null);
+            return false;
+        }
+        Object result;
+        try {
+            result = JsonUtils.fromJsonString(entry.getBody(), builder.getTypeReference());
+        } catch (Exception e) {
+            // the transaction reads the entry again and reports the error
+            return false;
+        }
+        notifySuccess(listener, result);
+        if (builder.getCachePolicy() == CachePolicy.CACHE_ONLY) {
+            return true;
+        }
+        builder.diskCacheRead(requestKey, entry, result);
+        return false;
+    }
 
-        if (mConfiguration == null || mConfiguration.isStale()) {
-            mHyperwalletAuthenticationTokenProvider.retrieveAuthenticationToken(
-                    new HyperwalletAuthenticationTokenListener() {
-                        @Override
-                        public void onSuccess(String authenticationToken) {
-                            try {
-                                mConfiguration = new Configuration(authenticationToken);
-                                RestTransaction restTransaction = builder.build(mConfiguration.getRestUri(),
-                                        mConfiguration.getAuthenticationToken(), mConfiguration.getUserToken());
-                                mExecutor.submit(restTransaction);
-                            } catch (final JSONException e) {
-                                if (listener.getHandler() == null) {
-                                    listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                } else {
-                                    listener.getHandler().post(new Runnable() {
-                                        @Override
-                                        public void run() {
-                                            listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                        }
-                                    });
-                                }
+    private void submitWithConfiguration(@NonNull final RestTransaction.Builder builder,
+            @NonNull final HyperwalletListener listener, @NonNull final RequestHandle requestHandle) {
+        mConfigurationProvider.get(new ConfigurationProvider.Callback() {
+            @Override
+            public void onConfiguration(@NonNull final Configuration configuration) {
+                submitRestTransaction(builder, configuration, new AuthenticationReplayListener(listener,
+                        new AuthenticationReplayListener.Replay() {
+                            @Override
+                            public void replay() {
+                                replayRestTransaction(builder, configuration, listener, requestHandle);
                             }
-                        }
+                        }), requestHandle);
+            }
 
-                        @Override
-                        public void onFailure(UUID uuid, String message) {
-                            final String logMessage = MessageFormat
-                                    .format("Integrator was unable to provide an authentication token. \nId: {0} "
-                                                    + "Message: {1}",
-                                            uuid.toString(), message);
-
-                            if (listener.getHandler() == null) {
-                                listener.onFailure(ExceptionMapper.toHyperwalletException(
-                                        new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                            } else {
-                                listener.getHandler().post(new Runnable() {
-                                    @Override
-                                    public void run() {
-                                        listener.onFailure(ExceptionMapper.toHyperwalletException(
-                                                new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                                    }
-                                });
-                            }
-                        }
-                    });
+            @Override
+            public void onFailure(@NonNull final HyperwalletException exception) {
+                notifyFailure(listener, exception);
+            }
+        });
+    }
+
+    /**
+     * Sends a REST request rejected with {@code 401 Unauthorized} once more with a new authentication token, the
+     * token is retrieved once for all requests rejected with the same one
+     */
+    private void replayRestTransaction(@NonNull final RestTransaction.Builder builder,
+            @NonNull final Configuration rejected, @NonNull final HyperwalletListener listener,
+            @NonNull final RequestHandle requestHandle) {
+        if (requestHandle.isCancelled()) {
+            return;
+        }
+        mConfigurationProvider.refresh(rejected, new ConfigurationProvider.Callback() {
+            @Override
+            public void onConfiguration(@NonNull final Configuration configuration) {
+                mAuthenticationReplayCount.incrementAndGet();
+                submitRestTransaction(builder, configuration, listener, requestHandle);
+            }
+
+            @Override
+            public void onFailure(@NonNull final HyperwalletException exception) {
+                notifyFailure(listener, exception);
+            }
+        });
+    }
+
+    private void submitRestTransaction(@NonNull final RestTransaction.Builder builder,
+            @NonNull final Configuration configuration, @NonNull final HyperwalletListener listener,
+            @NonNull final RequestHandle requestHandle) {
+        try {
+            RestTransaction restTransaction = builder.build(configuration.getRestUri(),
+                    configuration.getAuthenticationToken(), configuration.getUserToken());
+            submitTransaction(restTransaction, listener, requestHandle);
+        } catch (JSONException e) {
+            notifyFailure(listener, ExceptionMapper.toHyperwalletException(e));
+        }
+    }
+
+    /**
+     * Notifies {@code listener} of a result, on its {@link android.os.Handler} when one is specified
+     */
+    @SuppressWarnings("unchecked")
+    private static void notifySuccess(@NonNull final HyperwalletListener listener, @Nullable final Object result) {
+        if (listener.getHandler() == null) {
+            listener.onSuccess(result);
         } else {
+            listener.getHandler().post(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onSuccess(result);
+                }
+            });
+        }
+    }
+
+    /**
+     * Notifies {@code listener} of a failure, on its {@link android.os.Handler} when one is specified
+     */
+    private static void notifyFailure(@NonNull final HyperwalletListener listener,
+            @NonNull final HyperwalletException exception) {
+        if (listener.getHandler() == null) {
+            listener.onFailure(exception);
+        } else {
+            listener.getHandler().post(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onFailure(exception);
+                }
+            });
+        }
+    }
+
+    private static ScheduledExecutorService createConfigurationScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull final Runnable runnable) {
+                Thread thread = new Thread(runnable, "hyperwallet-configuration");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Warms the connections to the REST and GraphQL hosts of {@code configuration} in the background, hosts already
+     * warmed are skipped
+     */
+    private void warmUpConnections(@NonNull final Configuration configuration) {
+        if (mConnectionWarmer == null) {
+            return;
+        }
+        for (final String uri : new String[]{configuration.getRestUri(), configuration.getGraphQlUri()}) {
             try {
-                RestTransaction restTransaction = builder.build(mConfiguration.getRestUri(),
-                        mConfiguration.getAuthenticationToken(), mConfiguration.getUserToken());
-                mExecutor.submit(restTransaction);
-            } catch (final JSONException e) {
-
-                if (listener.getHandler() == null) {
-                    listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                } else {
-                    listener.getHandler().post(new Runnable() {
+                mRequestScheduler.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        mConnectionWarmer.warm(uri);
+                    }
+                }, RequestPriority.BACKGROUND);
+            } catch (RejectedExecutionException e) {
+                // the queue is full, the requests will open the connection themselves
+            }
+        }
+    }
+
+    private RequestHandle newRequestHandle() {
+        RequestHandle requestHandle = new RequestHandle();
+        mRequestHandles.add(requestHandle);
+        return requestHandle;
+    }
+
+    private void submitTransaction(@NonNull final HttpTransaction transaction,
+            @NonNull final HyperwalletListener listener, @NonNull final RequestHandle requestHandle) {
+        if (requestHandle.isCancelled()) {
+            return;
+        }
+        transaction.setListener(listener);
+        String coalescingKey = transaction.getCachePolicy() == CachePolicy.NETWORK_ONLY
+                ? transaction.getRequestKey() : null;
+        if (coalescingKey != null) {
+            if (!requestHandle.join(mRequestCoalescer, coalescingKey, listener)) {
+                return;
+            }
+            transaction.setListener(new CoalescedListener(mRequestCoalescer, coalescingKey));
+        }
+        transaction.setTransport(mTransport);
+        transaction.setResponseCache(mResponseCache);
+        transaction.setDiskCache(mDiskCache);
+        transaction.setRetryPolicy(mRetryPolicy, mRetryCounter);
+        transaction.setCircuitBreaker(mCircuitBreaker);
+        transaction.setHedgingPolicy(mHedgingPolicy);
+        transaction.setRequestScheduler(mRequestScheduler);
+        transaction.setEventListener(mRequestEventListener);
+        transaction.setMetricsRegistry(mMetricsRegistry);
+        transaction.onSubmitted();
+        try {
+            requestHandle.attach(transaction, mRequestScheduler.submit(transaction, transaction.getPriority(),
+                    new RequestScheduler.OnRejectedListener() {
                         @Override
-                        public void run() {
-                            listener.onFailure(ExceptionMapper.toHyperwalletException(e));
+                        public void onRejected(@NonNull final RejectedExecutionException exception) {
+                            transaction.onFailure(exception);
                         }
-                    });
-                }
-            }
+                    }));
+        } catch (RejectedExecutionException e) {
+            transaction.onFailure(e);
+        }
+    }
+
+    @Nullable
+    private static Tls12SocketFactory createTlsSocketFactory() {
+        try {
+            return new Tls12SocketFactory();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
         }
     }
 
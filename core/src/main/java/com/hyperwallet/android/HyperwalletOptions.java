@@ -0,0 +1,385 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.util.CircuitBreaker;
+import com.hyperwallet.android.util.ConnectionPool;
+import com.hyperwallet.android.util.DiskCache;
+import com.hyperwallet.android.util.HedgingPolicy;
+import com.hyperwallet.android.util.HttpClient;
+import com.hyperwallet.android.util.HttpTransport;
+import com.hyperwallet.android.util.RequestEventListener;
+import com.hyperwallet.android.util.ResponseCache;
+import com.hyperwallet.android.util.RetryPolicy;
+
+/**
+ * {@code HyperwalletOptions} holds the optional settings used by a {@link Hyperwallet} instance when sending
+ * requests to the Hyperwallet platform.
+ */
+public final class HyperwalletOptions {
+
+    /**
+     * Authentication tokens are not refreshed ahead, see {@link Builder#tokenRefreshAhead(float)}
+     */
+    public static final float NO_TOKEN_REFRESH_AHEAD = 0;
+
+    private final ConnectionPool mConnectionPool;
+    private final HttpTransport mTransport;
+    private final int mRequestCompressionThreshold;
+    private final ResponseCache mResponseCache;
+    private final DiskCache mDiskCache;
+    private final RetryPolicy mRetryPolicy;
+    private final CircuitBreaker mCircuitBreaker;
+    private final RequestScheduler mRequestScheduler;
+    private final HedgingPolicy mHedgingPolicy;
+    private final boolean mConnectionWarmupEnabled;
+    private final RequestEventListener mRequestEventListener;
+    private final float mTokenRefreshAheadFraction;
+    private final ConfigurationStore mConfigurationStore;
+
+    private HyperwalletOptions(@NonNull final Builder builder) {
+        mConnectionPool = builder.connectionPool;
+        mTransport = builder.transport;
+        mRequestCompressionThreshold = builder.requestCompressionThreshold;
+        mResponseCache = builder.responseCache;
+        mDiskCache = builder.diskCache;
+        mRetryPolicy = builder.retryPolicy;
+        mCircuitBreaker = builder.circuitBreaker;
+        mRequestScheduler = builder.requestScheduler;
+        mHedgingPolicy = builder.hedgingPolicy;
+        mConnectionWarmupEnabled = builder.connectionWarmupEnabled;
+        mRequestEventListener = builder.requestEventListener;
+        mTokenRefreshAheadFraction = builder.tokenRefreshAheadFraction;
+        mConfigurationStore = builder.configurationStore;
+    }
+
+    /**
+     * @return {@link ConnectionPool} shared by the REST and GraphQL requests
+     */
+    @NonNull
+    public ConnectionPool getConnectionPool() {
+        return mConnectionPool;
+    }
+
+    /**
+     * @return {@link HttpTransport} used to send requests; {@code null} when the default
+     * {@link java.net.HttpURLConnection} based transport is used
+     */
+    @Nullable
+    public HttpTransport getTransport() {
+        return mTransport;
+    }
+
+    /**
+     * @return request body size in bytes from which bodies are sent gzip compressed;
+     * {@link HttpClient#NO_REQUEST_COMPRESSION} when request bodies are never compressed
+     */
+    public int getRequestCompressionThreshold() {
+        return mRequestCompressionThreshold;
+    }
+
+    /**
+     * @return {@link ResponseCache} keeping validated GET responses
+     */
+    @NonNull
+    public ResponseCache getResponseCache() {
+        return mResponseCache;
+    }
+
+    /**
+     * @return {@link DiskCache} persisting GET responses; {@code null} when responses are not persisted
+     */
+    @Nullable
+    public DiskCache getDiskCache() {
+        return mDiskCache;
+    }
+
+    /**
+     * @return {@link RetryPolicy} applied to GET requests and GraphQL queries
+     */
+    @NonNull
+    public RetryPolicy getRetryPolicy() {
+        return mRetryPolicy;
+    }
+
+    /**
+     * @return {@link CircuitBreaker} keeping one circuit per REST and GraphQL host
+     */
+    @NonNull
+    public CircuitBreaker getCircuitBreaker() {
+        return mCircuitBreaker;
+    }
+
+    /**
+     * @return {@link RequestScheduler} running the REST and GraphQL requests
+     */
+    @NonNull
+    public RequestScheduler getRequestScheduler() {
+        return mRequestScheduler;
+    }
+
+    /**
+     * @return {@link HedgingPolicy} applied to GET requests; {@code null} if requests are not hedged
+     */
+    @Nullable
+    public HedgingPolicy getHedgingPolicy() {
+        return mHedgingPolicy;
+    }
+
+    /**
+     * @return {@code true} if the connections to the REST and GraphQL hosts are opened as soon as the
+     * {@link Configuration} is known
+     */
+    public boolean isConnectionWarmupEnabled() {
+        return mConnectionWarmupEnabled;
+    }
+
+    /**
+     * @return {@link RequestEventListener} notified of the timings of every request; {@code null} if they are not
+     * reported
+     */
+    @Nullable
+    public RequestEventListener getRequestEventListener() {
+        return mRequestEventListener;
+    }
+
+    /**
+     * @return fraction of the authentication token lifetime after which a new token is retrieved in the background;
+     * {@link #NO_TOKEN_REFRESH_AHEAD} when a new token is only retrieved once the current one is stale
+     */
+    public float getTokenRefreshAheadFraction() {
+        return mTokenRefreshAheadFraction;
+    }
+
+    /**
+     * @return {@link ConfigurationStore} keeping the last {@link Configuration} across processes; {@code null} when
+     * a token is requested before the first call of every process
+     */
+    @Nullable
+    public ConfigurationStore getConfigurationStore() {
+        return mConfigurationStore;
+    }
+
+    /**
+     * Builder for {@link HyperwalletOptions}
+     */
+    public static final class Builder {
+        private ConnectionPool connectionPool;
+        private HttpTransport transport;
+        private int requestCompressionThreshold = HttpClient.NO_REQUEST_COMPRESSION;
+        private ResponseCache responseCache;
+        private DiskCache diskCache;
+        private RetryPolicy retryPolicy;
+        private CircuitBreaker circuitBreaker;
+        private RequestScheduler requestScheduler;
+        private HedgingPolicy hedgingPolicy;
+        private boolean connectionWarmupEnabled;
+        private RequestEventListener requestEventListener;
+        private float tokenRefreshAheadFraction = NO_TOKEN_REFRESH_AHEAD;
+        private ConfigurationStore configurationStore;
+
+        /**
+         * Defines the {@link ConnectionPool} used to keep connections to the Hyperwallet platform alive; when not
+         * specified a pool with the default settings is used
+         *
+         * @param connectionPool the connection pool; must not be null
+         */
+        public Builder connectionPool(@NonNull final ConnectionPool connectionPool) {
+            this.connectionPool = connectionPool;
+            return this;
+        }
+
+        /**
+         * Defines the {@link HttpTransport} that sends the requests, for instance a different HTTP engine or an
+         * in-memory {@link com.hyperwallet.android.util.LoopbackTransport}; when not specified requests are sent
+         * through {@link java.net.HttpURLConnection} using the {@link ConnectionPool}
+         *
+         * @param transport the transport; must not be null
+         */
+        public Builder transport(@NonNull final HttpTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Defines the request body size in bytes from which REST and GraphQL request bodies are sent gzip
+         * compressed with {@code Content-Encoding: gzip}; request bodies are not compressed by default. Responses
+         * are always requested compressed. Only applies to the default transport
+         *
+         * @param bytes minimum body size to compress; {@link HttpClient#NO_REQUEST_COMPRESSION} to never compress
+         */
+        public Builder requestCompressionThreshold(final int bytes) {
+            if (bytes < 0 && bytes != HttpClient.NO_REQUEST_COMPRESSION) {
+                throw new IllegalArgumentException("request compression threshold can not be negative");
+            }
+            requestCompressionThreshold = bytes;
+            return this;
+        }
+
+        /**
+         * Defines the {@link ResponseCache} that keeps GET responses carrying an {@code ETag} or
+         * {@code Last-Modified} header, so they are revalidated instead of downloaded again; when not specified a
+         * cache with the default size is used. Use {@code new ResponseCache(0)} to disable caching
+         *
+         * @param responseCache the response cache; must not be null
+         */
+        public Builder responseCache(@NonNull final ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Defines the {@link DiskCache} that persists GET responses so they can be read with
+         * {@link CachePolicy#CACHE_THEN_NETWORK} or {@link CachePolicy#CACHE_ONLY}, for instance
+         * {@code new DiskCache(new File(context.getCacheDir(), "hyperwallet"), 5 * 1024 * 1024)}; responses are not
+         * persisted when not specified
+         *
+         * @param diskCache the disk cache; must not be null
+         */
+        public Builder diskCache(@NonNull final DiskCache diskCache) {
+            this.diskCache = diskCache;
+            return this;
+        }
+
+        /**
+         * Defines the {@link RetryPolicy} that decides when GET requests and GraphQL queries failing with an
+         * {@link java.io.IOException} or a {@code 429}, {@code 502}, {@code 503} or {@code 504} response are sent
+         * again; when not specified the default policy is used. Use {@code new RetryPolicy.Builder().maxAttempts(1)}
+         * to disable retries
+         *
+         * @param retryPolicy the retry policy; must not be null
+         */
+        public Builder retryPolicy(@NonNull final RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Defines the {@link CircuitBreaker} that rejects requests to the REST or GraphQL host while it is failing,
+         * so they fail fast with {@link ExceptionMapper#EC_CIRCUIT_OPEN_EXCEPTION}; when not specified a breaker with
+         * the default settings is used
+         *
+         * @param circuitBreaker the circuit breaker; must not be null
+         */
+        public Builder circuitBreaker(@NonNull final CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * Defines the {@link RequestScheduler} that queues the requests per {@link RequestPriority} and limits how
+         * many of each class run at the same time, for instance one running on the I/O pool of the app or with an
+         * {@link com.hyperwallet.android.util.AdaptiveConcurrencyLimit}; when not specified a scheduler with the
+         * default limits is used
+         *
+         * @param requestScheduler the request scheduler; must not be null
+         */
+        public Builder requestScheduler(@NonNull final RequestScheduler requestScheduler) {
+            this.requestScheduler = requestScheduler;
+            return this;
+        }
+
+        /**
+         * Defines the {@link HedgingPolicy} that sends a GET request a second time when its response takes longer
+         * than usual for its endpoint and uses whichever response arrives first; requests are not hedged when not
+         * specified
+         *
+         * @param hedgingPolicy the hedging policy; must not be null
+         */
+        public Builder hedgingPolicy(@NonNull final HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        /**
+         * Defines whether the host names of the REST and GraphQL platform api are resolved and a connection to each
+         * is opened in the background as soon as the {@link Configuration} is known, so the first request does not
+         * wait for DNS, TCP and TLS; disabled by default. Only applies to the default transport
+         *
+         * @param enabled {@code true} to warm up the connections
+         */
+        public Builder connectionWarmup(final boolean enabled) {
+            connectionWarmupEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Defines the {@link RequestEventListener} notified of the time every request spends waiting in the queue,
+         * acquiring a connection, writing, waiting for the first byte, reading and parsing the response and calling
+         * back its listener, each reported with the {@code X-Sdk-ContextId} of the request; timings are not reported
+         * when not specified. Connection, write and first byte timings are only reported by the default transport
+         *
+         * @param requestEventListener the event listener; must not be null
+         */
+        public Builder requestEventListener(@NonNull final RequestEventListener requestEventListener) {
+            this.requestEventListener = requestEventListener;
+            return this;
+        }
+
+        /**
+         * Defines the fraction of the authentication token lifetime ({@code exp - iat}) after which a new token is
+         * requested from the {@link HyperwalletAuthenticationTokenProvider} in the background, while requests keep
+         * using the current token until the new one is provided; when not specified a new token is only requested
+         * once the current one is stale, delaying the request that needs it
+         *
+         * @param lifetimeFraction fraction between {@code 0} and {@code 1}, exclusive;
+         *                         {@link #NO_TOKEN_REFRESH_AHEAD} to not refresh ahead
+         */
+        public Builder tokenRefreshAhead(final float lifetimeFraction) {
+            if (lifetimeFraction != NO_TOKEN_REFRESH_AHEAD && (lifetimeFraction <= 0 || lifetimeFraction >= 1)) {
+                throw new IllegalArgumentException("lifetime fraction must be between 0 and 1");
+            }
+            tokenRefreshAheadFraction = lifetimeFraction;
+            return this;
+        }
+
+        /**
+         * Defines the {@link ConfigurationStore} that keeps the last {@link Configuration} encrypted in the app's
+         * private storage, so the first call of a new process reuses it while it has not expired instead of waiting
+         * for the {@link HyperwalletAuthenticationTokenProvider}; when not specified nothing is stored. Clear the
+         * store when the user logs out
+         *
+         * @param configurationStore the configuration store; must not be null
+         */
+        public Builder configurationStore(@NonNull final ConfigurationStore configurationStore) {
+            this.configurationStore = configurationStore;
+            return this;
+        }
+
+        public HyperwalletOptions build() {
+            if (connectionPool == null) {
+                connectionPool = new ConnectionPool();
+            }
+            if (responseCache == null) {
+                responseCache = new ResponseCache();
+            }
+            if (retryPolicy == null) {
+                retryPolicy = new RetryPolicy.Builder().build();
+            }
+            if (circuitBreaker == null) {
+                circuitBreaker = new CircuitBreaker.Builder().build();
+            }
+            if (requestScheduler == null) {
+                requestScheduler = new RequestScheduler.Builder().build();
+            }
+            return new HyperwalletOptions(this);
+        }
+    }
+}
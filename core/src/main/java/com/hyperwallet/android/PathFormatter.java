@@ -28,24 +28,13 @@ package com.hyperwallet.android;
 
 import androidx.annotation.NonNull;
 
-import java.text.MessageFormat;
-import java.util.ArrayList;
-import java.util.Arrays;
-
 /**
  * {@code PathFormatter} utility that creates api postfix uri for REST
- * based on postfix uri pattern and arguments
+ * based on postfix uri pattern and arguments, using the compiled {@link RouteTemplate} of the pattern
  */
 class PathFormatter {
-    private final String pattern;
-    private Object[] arguments;
-
-    /**
-     * Construct a {@code PathFormatter} object from pattern provided
-     */
-    private PathFormatter(String pattern) {
-        this.pattern = pattern;
-    }
+    private final RouteTemplate template;
+    private final Object[] arguments;
 
     /**
      * Construct a {@code PathFormatter} object from pattern and list of arguments provided
@@ -54,8 +43,15 @@ class PathFormatter {
      * @param args
      */
     PathFormatter(@NonNull String pattern, Object... args) {
-        this(pattern);
-        arguments = args;
+        template = RouteTemplate.of(pattern);
+        arguments = args != null ? args : new Object[0];
+    }
+
+    /**
+     * @return postfix uri pattern, without arguments applied
+     */
+    String getPattern() {
+        return template.getPattern();
     }
 
     /**
@@ -64,13 +60,6 @@ class PathFormatter {
      * @return String of formatted path
      */
     String format(String token) {
-        arguments = prependArgument(token, arguments);
-        return MessageFormat.format(pattern, arguments);
-    }
-
-    Object[] prependArgument(Object newArgument, Object[] arguments) {
-        ArrayList<Object> argumentsList = new ArrayList<>(Arrays.asList(arguments));
-        argumentsList.add(0, newArgument);
-        return argumentsList.toArray();
+        return template.expand(token, arguments);
     }
 }
@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.util.RequestCoalescer;
+
+import java.util.concurrent.Future;
+
+/**
+ * {@code RequestHandle} is returned by every {@link Hyperwallet} API method and allows the request to be cancelled,
+ * for instance when the screen that issued it is closed.
+ *
+ * <p>Once cancelled, the listener of the request is not notified anymore. A request waiting for a worker thread is
+ * removed from the queue; a request in flight has its connection aborted, which also stops the parsing of its
+ * response. A request sharing its network call with identical requests only stops receiving the result, the call is
+ * aborted when every request sharing it is cancelled.</p>
+ */
+public final class RequestHandle {
+
+    private volatile boolean mCancelled;
+    private volatile Object mTag;
+    private boolean mJoined;
+    private boolean mAborted;
+    private HttpTransaction mTransaction;
+    private Future<?> mFuture;
+    private RequestCoalescer<HyperwalletListener> mRequestCoalescer;
+    private String mCoalescingKey;
+    private HyperwalletListener mWaiter;
+    private final RequestCoalescer.Call mCall = new RequestCoalescer.Call() {
+        @Override
+        public void abort() {
+            RequestHandle.this.abort();
+        }
+    };
+
+    RequestHandle() {
+    }
+
+    /**
+     * Tags the request so it can be cancelled together with other requests through
+     * {@link Hyperwallet#cancelAll(Object)}
+     *
+     * @param tag the tag, for instance the screen issuing the request
+     * @return this handle
+     */
+    @NonNull
+    public RequestHandle tag(@Nullable final Object tag) {
+        mTag = tag;
+        return this;
+    }
+
+    /**
+     * @return tag of the request; {@code null} if not tagged
+     */
+    @Nullable
+    public Object getTag() {
+        return mTag;
+    }
+
+    /**
+     * @return {@code true} if the request was cancelled
+     */
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    /**
+     * Cancels the request, its listener is not notified anymore; cancelling a completed request has no effect
+     */
+    public void cancel() {
+        boolean joined;
+        synchronized (this) {
+            if (mCancelled) {
+                return;
+            }
+            mCancelled = true;
+            if (mCoalescingKey == null) {
+                joined = false;
+            } else if (mJoined) {
+                joined = true;
+            } else {
+                // join leaves the coalescer once it sees the cancellation
+                return;
+            }
+        }
+        if (joined) {
+            // the coalescer aborts the call once every request sharing it left
+            mRequestCoalescer.leave(mCoalescingKey, mWaiter);
+        } else {
+            abort();
+        }
+    }
+
+    /**
+     * Joins the identical requests in flight, the call is issued by this request if none is
+     *
+     * @param requestCoalescer coalescer to join
+     * @param key              key identifying identical requests
+     * @param waiter           listener notified with the shared result
+     * @return {@code true} if this request has to issue the call, which is aborted once every request sharing it
+     * was cancelled
+     */
+    boolean join(@NonNull final RequestCoalescer<HyperwalletListener> requestCoalescer, @NonNull final String key,
+            @NonNull final HyperwalletListener waiter) {
+        synchronized (this) {
+            mRequestCoalescer = requestCoalescer;
+            mCoalescingKey = key;
+            mWaiter = waiter;
+        }
+        boolean issued = requestCoalescer.join(key, waiter, mCall);
+        boolean cancelled;
+        synchronized (this) {
+            mJoined = true;
+            cancelled = mCancelled;
+        }
+        if (cancelled) {
+            requestCoalescer.leave(key, waiter);
+        }
+        return issued;
+    }
+
+    /**
+     * @param transaction transaction sending the request
+     * @param future      future of the transaction submitted to the executor
+     */
+    void attach(@NonNull final HttpTransaction transaction, @NonNull final Future<?> future) {
+        synchronized (this) {
+            mTransaction = transaction;
+            mFuture = future;
+            if (!mAborted) {
+                return;
+            }
+        }
+        transaction.cancel();
+        future.cancel(true);
+    }
+
+    private void abort() {
+        HttpTransaction transaction;
+        Future<?> future;
+        synchronized (this) {
+            mAborted = true;
+            transaction = mTransaction;
+            future = mFuture;
+        }
+        if (transaction != null) {
+            transaction.cancel();
+        }
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * {@code RequestOptions} holds the settings that apply to a single call on {@link Hyperwallet}.
+ */
+public final class RequestOptions {
+
+    private final CachePolicy mCachePolicy;
+    private final RequestPriority mPriority;
+
+    private RequestOptions(@NonNull final Builder builder) {
+        mCachePolicy = builder.cachePolicy;
+        mPriority = builder.priority;
+    }
+
+    /**
+     * @return {@link CachePolicy} of the call
+     */
+    @NonNull
+    public CachePolicy getCachePolicy() {
+        return mCachePolicy;
+    }
+
+    /**
+     * @return {@link RequestPriority} of the call; {@code null} to use the default priority of the call
+     */
+    @Nullable
+    public RequestPriority getPriority() {
+        return mPriority;
+    }
+
+    /**
+     * Builder for {@link RequestOptions}
+     */
+    public static final class Builder {
+        private CachePolicy cachePolicy = CachePolicy.NETWORK_ONLY;
+        private RequestPriority priority;
+
+        /**
+         * Defines how a GET call uses the disk cache configured through
+         * {@link HyperwalletOptions.Builder#diskCache(com.hyperwallet.android.util.DiskCache)}; defaults to
+         * {@link CachePolicy#NETWORK_ONLY}. Calls that are not GET requests ignore the cache policy
+         *
+         * @param cachePolicy the cache policy; must not be null
+         */
+        public Builder cachePolicy(@NonNull final CachePolicy cachePolicy) {
+            this.cachePolicy = cachePolicy;
+            return this;
+        }
+
+        /**
+         * Defines the class the call is scheduled in by the {@link RequestScheduler}; by default calls reading data
+         * are {@link RequestPriority#NORMAL} and calls modifying data {@link RequestPriority#INTERACTIVE}. Use
+         * {@link RequestPriority#BACKGROUND} for prefetching
+         *
+         * @param priority the priority; must not be null
+         */
+        public Builder priority(@NonNull final RequestPriority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public RequestOptions build() {
+            return new RequestOptions(this);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+/**
+ * {@code RequestPriority} is the class a request is scheduled in by the {@link RequestScheduler}; queued requests of
+ * a higher class are started first and every class has its own concurrency limit, so background work can not delay
+ * requests the user is waiting for.
+ */
+public enum RequestPriority {
+    /**
+     * Requests the user is actively waiting for, such as creating a transfer; the default of requests that modify
+     * data
+     */
+    INTERACTIVE,
+    /**
+     * Requests loading the content of a screen; the default of requests that read data
+     */
+    NORMAL,
+    /**
+     * Prefetching and other work whose result is not immediately shown
+     */
+    BACKGROUND
+}
@@ -0,0 +1,480 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.util.AdaptiveConcurrencyLimit;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RequestScheduler} runs the requests of a {@link Hyperwallet} instance according to their
+ * {@link RequestPriority}.
+ *
+ * <p>Each priority class has its own queue and concurrency limit, next to the limit of all requests together.
+ * Whenever a request completes or is submitted, the queued requests are started highest class first, as long as
+ * neither their class nor the total is at its limit. Keeping the limit of the lower classes below the total leaves
+ * room for interactive requests while background requests are running. Queued requests are
+ * bounded: a request submitted while the queues are full is rejected. The time requests spend queued is recorded
+ * per class.</p>
+ *
+ * <p>The total limit is either fixed or follows an {@link AdaptiveConcurrencyLimit} fed with the network round trip
+ * of every request attempt; answers from the cache, requests rejected by an open circuit, cancelled requests and the
+ * waits between retries are no samples. Requests run on the threads of an {@link Executor}, which can be shared with
+ * the app, never on the thread that submitted them. A request the executor rejects while other requests are running
+ * goes back to the head of its queue and is started again once another request completes or after a short delay; a
+ * request rejected while none is running, or by an executor that was shut down, fails through its
+ * {@link OnRejectedListener}.</p>
+ */
+public final class RequestScheduler {
+
+    private static final int DEFAULT_MAX_CONCURRENCY = 4;
+    private static final int DEFAULT_BACKGROUND_CONCURRENCY = 1;
+    private static final int DEFAULT_MAX_QUEUED = 64;
+    private static final long DISPATCH_RETRY_DELAY_MILLIS = 100;
+
+    private final Executor mWorkers;
+    private final int mMaxConcurrency;
+    private final AdaptiveConcurrencyLimit mAdaptiveLimit;
+    private final Map<RequestPriority, Integer> mConcurrencyLimits;
+    private final int mMaxQueued;
+    private final Map<RequestPriority, Deque<Task>> mQueues = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Integer> mRunning = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, QueueWaitStats> mQueueWaitStats = new EnumMap<>(RequestPriority.class);
+    private int mQueued;
+    private int mRunningTotal;
+    private ScheduledThreadPoolExecutor mDispatchRetryScheduler;
+    private boolean mDispatchRetryScheduled;
+
+    private RequestScheduler(@NonNull final Builder builder) {
+        mMaxConcurrency = builder.maxConcurrency;
+        mAdaptiveLimit = builder.adaptiveLimit;
+        mConcurrencyLimits = new EnumMap<>(builder.concurrencyLimits);
+        mMaxQueued = builder.maxQueued;
+        mWorkers = builder.executor != null ? builder.executor : Executors.newCachedThreadPool();
+        for (RequestPriority priority : RequestPriority.values()) {
+            mQueues.put(priority, new ArrayDeque<Task>());
+            mRunning.put(priority, 0);
+            mQueueWaitStats.put(priority, new QueueWaitStats());
+        }
+    }
+
+    /**
+     * Queues a request in its priority class
+     *
+     * @param runnable the request
+     * @param priority class of the request
+     * @return future of the request, cancelling it removes the request from its queue
+     * @throws RejectedExecutionException if the queues are full
+     */
+    @NonNull
+    public Future<?> submit(@NonNull final Runnable runnable, @NonNull final RequestPriority priority) {
+        return submit(runnable, priority, null);
+    }
+
+    /**
+     * Queues a request in its priority class
+     *
+     * @param runnable           the request
+     * @param priority           class of the request
+     * @param onRejectedListener notified if the executor rejects the request and it can not be started again;
+     *                           {@code null} to drop the request silently then
+     * @return future of the request, cancelling it removes the request from its queue
+     * @throws RejectedExecutionException if the queues are full
+     */
+    @NonNull
+    public Future<?> submit(@NonNull final Runnable runnable, @NonNull final RequestPriority priority,
+            @Nullable final OnRejectedListener onRejectedListener) {
+        Task task = new Task(runnable, priority, onRejectedListener);
+        synchronized (this) {
+            if (mQueued >= mMaxQueued) {
+                throw new RejectedExecutionException("Request queue is full, " + mQueued + " requests are queued");
+            }
+            mQueues.get(priority).addLast(task);
+            mQueued++;
+        }
+        dispatch();
+        return task;
+    }
+
+    /**
+     * @return maximum number of requests currently allowed to run at the same time, the limit of the
+     * {@link AdaptiveConcurrencyLimit} if one is set
+     */
+    public int getMaxConcurrency() {
+        return mAdaptiveLimit != null ? mAdaptiveLimit.getLimit() : mMaxConcurrency;
+    }
+
+    /**
+     * @param priority priority class
+     * @return maximum number of requests of the class currently allowed to run at the same time; never above
+     * {@link #getMaxConcurrency()}
+     */
+    public int getConcurrencyLimit(@NonNull final RequestPriority priority) {
+        int maxConcurrency = getMaxConcurrency();
+        Integer limit = mConcurrencyLimits.get(priority);
+        if (limit != null) {
+            return Math.min(limit, maxConcurrency);
+        }
+        return priority == RequestPriority.NORMAL ? Math.max(1, maxConcurrency - 1) : maxConcurrency;
+    }
+
+    /**
+     * @return {@link AdaptiveConcurrencyLimit} the total limit follows; {@code null} if the limit is fixed
+     */
+    @Nullable
+    public AdaptiveConcurrencyLimit getAdaptiveLimit() {
+        return mAdaptiveLimit;
+    }
+
+    /**
+     * @return maximum number of requests waiting in all queues together
+     */
+    public int getMaxQueued() {
+        return mMaxQueued;
+    }
+
+    /**
+     * @param priority priority class
+     * @return number of requests of the class waiting to be started
+     */
+    public synchronized int getQueuedCount(@NonNull final RequestPriority priority) {
+        return mQueues.get(priority).size();
+    }
+
+    /**
+     * Feeds the round trip of one attempt of a running request to the {@link AdaptiveConcurrencyLimit}, if one is set
+     *
+     * @param roundTripNanos time from sending the request until its response headers were received
+     * @param inFlight       number of requests running when the attempt was sent, including its own
+     */
+    void recordRoundTrip(final long roundTripNanos, final int inFlight) {
+        if (mAdaptiveLimit != null) {
+            mAdaptiveLimit.onSample(roundTripNanos, inFlight);
+        }
+    }
+
+    /**
+     * @return number of requests currently running, all classes together
+     */
+    synchronized int getRunningCount() {
+        return mRunningTotal;
+    }
+
+    /**
+     * @param priority priority class
+     * @return number of requests of the class currently running
+     */
+    public synchronized int getRunningCount(@NonNull final RequestPriority priority) {
+        return mRunning.get(priority);
+    }
+
+    /**
+     * @param priority priority class
+     * @return time the started requests of the class spent queued
+     */
+    @NonNull
+    public QueueWaitStats getQueueWaitStats(@NonNull final RequestPriority priority) {
+        return mQueueWaitStats.get(priority);
+    }
+
+    private void dispatch() {
+        while (true) {
+            Task task = null;
+            synchronized (this) {
+                if (mRunningTotal >= getMaxConcurrency()) {
+                    return;
+                }
+                for (RequestPriority priority : RequestPriority.values()) {
+                    Deque<Task> queue = mQueues.get(priority);
+                    if (!queue.isEmpty() && mRunning.get(priority) < getConcurrencyLimit(priority)) {
+                        task = queue.pollFirst();
+                        mQueued--;
+                        mRunning.put(priority, mRunning.get(priority) + 1);
+                        mRunningTotal++;
+                        break;
+                    }
+                }
+            }
+            if (task == null) {
+                return;
+            }
+            try {
+                mWorkers.execute(task);
+            } catch (RejectedExecutionException e) {
+                // the submitting thread may be the main thread, the request is never run on it
+                if (requeue(task)) {
+                    scheduleDispatchRetry();
+                    return;
+                }
+                task.reject(e);
+                continue;
+            }
+            mQueueWaitStats.get(task.mPriority).record(System.nanoTime() - task.mQueuedAtNanos);
+        }
+    }
+
+    /**
+     * Puts a task the executor rejected back to the head of its queue, unless nothing would start it again
+     *
+     * @return {@code true} if the task is queued again; {@code false} if it must fail since no request is running
+     * or the executor was shut down
+     */
+    private synchronized boolean requeue(@NonNull final Task task) {
+        mRunning.put(task.mPriority, mRunning.get(task.mPriority) - 1);
+        mRunningTotal--;
+        if (mRunningTotal == 0 || mWorkers instanceof ExecutorService && ((ExecutorService) mWorkers).isShutdown()) {
+            return false;
+        }
+        if (!task.isCancelled()) {
+            mQueues.get(task.mPriority).addFirst(task);
+            mQueued++;
+        }
+        return true;
+    }
+
+    /**
+     * Dispatches again after a delay, the executor may accept the requeued task before a running request completes
+     */
+    private void scheduleDispatchRetry() {
+        synchronized (this) {
+            if (mDispatchRetryScheduled) {
+                return;
+            }
+            mDispatchRetryScheduled = true;
+            if (mDispatchRetryScheduler == null) {
+                mDispatchRetryScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                    @Override
+                    public Thread newThread(@NonNull final Runnable runnable) {
+                        Thread thread = new Thread(runnable, "hyperwallet-request-dispatch");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+                mDispatchRetryScheduler.setKeepAliveTime(DISPATCH_RETRY_DELAY_MILLIS * 10, TimeUnit.MILLISECONDS);
+                mDispatchRetryScheduler.allowCoreThreadTimeOut(true);
+            }
+        }
+        mDispatchRetryScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (RequestScheduler.this) {
+                    mDispatchRetryScheduled = false;
+                }
+                dispatch();
+            }
+        }, DISPATCH_RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void finished(@NonNull final RequestPriority priority) {
+        synchronized (this) {
+            mRunning.put(priority, mRunning.get(priority) - 1);
+            mRunningTotal--;
+        }
+        dispatch();
+    }
+
+    private synchronized void cancelled(@NonNull final Task task) {
+        if (mQueues.get(task.mPriority).remove(task)) {
+            mQueued--;
+        }
+    }
+
+    /**
+     * Queued request, removed from its queue when cancelled
+     */
+    private final class Task extends FutureTask<Void> {
+        private final RequestPriority mPriority;
+        private final OnRejectedListener mOnRejectedListener;
+        private final long mQueuedAtNanos;
+
+        Task(@NonNull final Runnable runnable, @NonNull final RequestPriority priority,
+                @Nullable final OnRejectedListener onRejectedListener) {
+            super(runnable, null);
+            mPriority = priority;
+            mOnRejectedListener = onRejectedListener;
+            mQueuedAtNanos = System.nanoTime();
+        }
+
+        void reject(@NonNull final RejectedExecutionException exception) {
+            if (isCancelled()) {
+                return;
+            }
+            setException(exception);
+            if (mOnRejectedListener != null) {
+                mOnRejectedListener.onRejected(exception);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                finished(mPriority);
+            }
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                cancelled(this);
+            }
+            return cancelled;
+        }
+    }
+
+    /**
+     * Notified when a request fails because the executor rejected it and nothing would start it again
+     */
+    public interface OnRejectedListener {
+
+        /**
+         * @param exception the rejection of the executor
+         */
+        void onRejected(@NonNull RejectedExecutionException exception);
+    }
+
+    /**
+     * Time requests of one priority class spent queued before being started
+     */
+    public static final class QueueWaitStats {
+        private long mCount;
+        private long mTotalNanos;
+        private long mMaxNanos;
+
+        private QueueWaitStats() {
+        }
+
+        private synchronized void record(final long waitNanos) {
+            mCount++;
+            mTotalNanos += waitNanos;
+            mMaxNanos = Math.max(mMaxNanos, waitNanos);
+        }
+
+        /**
+         * @return number of requests started
+         */
+        public synchronized long getCount() {
+            return mCount;
+        }
+
+        /**
+         * @return average time a request spent queued in milliseconds; {@code 0} if no request was started
+         */
+        public synchronized long getAverageWaitMillis() {
+            return mCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(mTotalNanos / mCount);
+        }
+
+        /**
+         * @return longest time a request spent queued in milliseconds
+         */
+        public synchronized long getMaxWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(mMaxNanos);
+        }
+    }
+
+    /**
+     * Builder for {@link RequestScheduler}, by default at most 4 requests run at the same time on a cached thread
+     * pool; normal requests leave one of them to interactive requests, at most 1 background request runs and at most
+     * 64 requests are queued
+     */
+    public static final class Builder {
+        private final Map<RequestPriority, Integer> concurrencyLimits = new EnumMap<>(RequestPriority.class);
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        private AdaptiveConcurrencyLimit adaptiveLimit;
+        private int maxQueued = DEFAULT_MAX_QUEUED;
+        private Executor executor;
+
+        public Builder() {
+            concurrencyLimits.put(RequestPriority.BACKGROUND, DEFAULT_BACKGROUND_CONCURRENCY);
+        }
+
+        /**
+         * @param maxConcurrency maximum number of requests running at the same time, limits of the classes above it
+         *                       are capped by it; ignored when an adaptive limit is set
+         */
+        public Builder maxConcurrency(final int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("max concurrency must be at least 1");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * @param priority         priority class
+         * @param concurrencyLimit maximum number of requests of the class running at the same time
+         */
+        public Builder concurrencyLimit(@NonNull final RequestPriority priority, final int concurrencyLimit) {
+            if (concurrencyLimit < 1) {
+                throw new IllegalArgumentException("concurrency limit must be at least 1");
+            }
+            concurrencyLimits.put(priority, concurrencyLimit);
+            return this;
+        }
+
+        /**
+         * @param adaptiveLimit limit that replaces the fixed maximum concurrency and adjusts it to the latency of
+         *                      the requests
+         */
+        public Builder adaptiveLimit(@NonNull final AdaptiveConcurrencyLimit adaptiveLimit) {
+            this.adaptiveLimit = adaptiveLimit;
+            return this;
+        }
+
+        /**
+         * @param executor runs the requests, for instance the I/O pool of the app; it needs at least as many threads
+         *                 as the maximum concurrency, a request it rejects is retried while other requests are
+         *                 running and fails otherwise
+         */
+        public Builder executor(@NonNull final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param maxQueued maximum number of requests waiting in all queues together
+         */
+        public Builder maxQueued(final int maxQueued) {
+            if (maxQueued < 1) {
+                throw new IllegalArgumentException("max queued must be at least 1");
+            }
+            this.maxQueued = maxQueued;
+            return this;
+        }
+
+        public RequestScheduler build() {
+            return new RequestScheduler(this);
+        }
+    }
+}
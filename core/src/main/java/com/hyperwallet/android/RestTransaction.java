@@ -18,14 +18,18 @@
 package com.hyperwallet.android;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.hyperwallet.android.exception.HyperwalletRestException;
 import com.hyperwallet.android.listener.HyperwalletListener;
 import com.hyperwallet.android.model.Errors;
 import com.hyperwallet.android.model.JsonModel;
 import com.hyperwallet.android.model.TypeReference;
-import com.hyperwallet.android.util.HttpClient;
+import com.hyperwallet.android.util.DiskCache;
 import com.hyperwallet.android.util.HttpMethod;
+import com.hyperwallet.android.util.HttpRequest;
+import com.hyperwallet.android.util.HttpResponse;
+import com.hyperwallet.android.util.HttpTransport;
 import com.hyperwallet.android.util.JsonUtils;
 
 import org.json.JSONException;
@@ -34,6 +38,7 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * {@code RestTransaction} HTTP transaction service that sends request
@@ -50,26 +55,50 @@ class RestTransaction extends HttpTransaction {
     }
 
     /**
-     * Refer to {@link HttpTransaction#performRequest(HttpClient)}
+     * Refer to {@link HttpTransaction#performRequest(HttpTransport)}
      */
     @Override
-    protected int performRequest(HttpClient client) throws IOException {
-        int code;
+    protected HttpResponse performRequest(HttpTransport transport) throws IOException {
+        HttpRequest request;
         switch (getMethod()) {
             case GET:
-                code = client.get();
+                request = newRequestBuilder(getMethod()).build();
                 break;
             case PUT:
-                code = client.put(getPayload());
-                break;
             case POST:
-                code = client.post(getPayload());
+                request = newRequestBuilder(getMethod()).body(getPayloadBytes()).build();
                 break;
             default:
                 throw new IllegalArgumentException("Unsupported http method");
         }
 
-        return code;
+        return transport.execute(request);
+    }
+
+    /**
+     * Refer to {@link HttpTransaction#isIdempotent()}
+     */
+    @Override
+    protected boolean isIdempotent() {
+        return getMethod() == HttpMethod.GET;
+    }
+
+    /**
+     * GET requests to the same path with the same query for the same user are identical
+     *
+     * Refer to {@link HttpTransaction#getRequestKey()}
+     */
+    @Override
+    protected String getRequestKey() {
+        if (getMethod() != HttpMethod.GET || getUserToken() == null) {
+            return null;
+        }
+        return requestKey(getUserToken(), getPath(), getQueries());
+    }
+
+    private static String requestKey(@NonNull final String userToken, @NonNull final String path,
+            @NonNull final Map<String, String> queries) {
+        return userToken + " " + path + " " + new TreeMap<>(queries);
     }
 
     /**
@@ -97,6 +126,11 @@ class RestTransaction extends HttpTransaction {
         //Optional Parameters
         private JsonModel jsonModel = null;
         private Map<String, String> query = new HashMap<>();
+        private CachePolicy cachePolicy = CachePolicy.NETWORK_ONLY;
+        private RequestPriority priority = null;
+        private String diskCacheReadKey = null;
+        private DiskCache.Entry diskCacheReadEntry = null;
+        private Object diskCacheReadResult = null;
 
         /**
          * Construct builder based from specified required parameters
@@ -125,6 +159,57 @@ class RestTransaction extends HttpTransaction {
             return this;
         }
 
+        protected Builder cachePolicy(@NonNull final CachePolicy cachePolicy) {
+            this.cachePolicy = cachePolicy;
+            return this;
+        }
+
+        protected Builder priority(@Nullable final RequestPriority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Records that the disk cache was already read for the transactions built afterwards, so they neither read
+         * it again nor deliver the cached response twice
+         *
+         * @param requestKey key the disk cache was read with
+         * @param entry      entry read; {@code null} if the disk cache had none
+         * @param result     deserialized body of {@code entry}, already delivered to the listener
+         */
+        protected Builder diskCacheRead(@NonNull final String requestKey, @Nullable final DiskCache.Entry entry,
+                @Nullable final Object result) {
+            this.diskCacheReadKey = requestKey;
+            this.diskCacheReadEntry = entry;
+            this.diskCacheReadResult = result;
+            return this;
+        }
+
+        protected CachePolicy getCachePolicy() {
+            return cachePolicy;
+        }
+
+        @Nullable
+        protected RequestPriority getPriority() {
+            return priority;
+        }
+
+        protected TypeReference<T> getTypeReference() {
+            return typeReference;
+        }
+
+        /**
+         * @param userToken token of the user the request would be sent for
+         * @return key the response of the built transaction is cached under; {@code null} if it is not cached
+         */
+        @Nullable
+        protected String getRequestKey(@NonNull final String userToken) {
+            if (httpMethod != HttpMethod.GET) {
+                return null;
+            }
+            return requestKey(userToken, pathFormatter.format(userToken), query);
+        }
+
         protected RestTransaction build(@NonNull final String uri, @NonNull final String authenticationToken,
                 @NonNull final String userToken) throws JSONException {
             RestTransaction restTransaction = new RestTransaction(httpMethod, uri, authenticationToken, listener,
@@ -132,12 +217,19 @@ class RestTransaction extends HttpTransaction {
 
             String path = pathFormatter.format(userToken);
             restTransaction.setPath(path);
+            restTransaction.setUserToken(userToken);
+            restTransaction.setEndpoint(httpMethod.name() + " " + pathFormatter.getPattern());
 
             if (jsonModel != null) {
                 restTransaction.setPayload(jsonModel.toJsonString());
             }
 
             restTransaction.addQuery(query);
+            restTransaction.setCachePolicy(cachePolicy);
+            restTransaction.setPriority(priority);
+            if (diskCacheReadKey != null) {
+                restTransaction.setDiskCacheRead(diskCacheReadKey, diskCacheReadEntry, diskCacheReadResult);
+            }
             return restTransaction;
         }
     }
@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ * Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+
+import com.hyperwallet.android.util.UrlEncoding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@code RouteTemplate} is the compiled form of a REST path pattern such as
+ * {@code users/{0}/bank-accounts/{1}}: the pattern is split once into its literal parts and argument indexes, so a
+ * path is built by appending them, with every argument percent-encoded as a path segment.
+ *
+ * <p>Templates are compiled on first use and kept in a route table shared by all requests.</p>
+ */
+final class RouteTemplate {
+
+    private static final ConcurrentMap<String, RouteTemplate> ROUTES = new ConcurrentHashMap<>();
+    private static final int ESTIMATED_ARGUMENT_LENGTH = 40;
+
+    private final String mPattern;
+    private final String[] mLiterals;
+    private final int[] mArgumentIndexes;
+    private final int mEstimatedLength;
+
+    private RouteTemplate(@NonNull final String pattern, @NonNull final List<String> literals,
+            @NonNull final List<Integer> argumentIndexes) {
+        mPattern = pattern;
+        mLiterals = literals.toArray(new String[0]);
+        mArgumentIndexes = new int[argumentIndexes.size()];
+        int estimatedLength = 0;
+        for (int i = 0; i < mArgumentIndexes.length; i++) {
+            mArgumentIndexes[i] = argumentIndexes.get(i);
+            estimatedLength += ESTIMATED_ARGUMENT_LENGTH;
+        }
+        for (String literal : mLiterals) {
+            estimatedLength += literal.length();
+        }
+        mEstimatedLength = estimatedLength;
+    }
+
+    /**
+     * @param pattern path pattern with arguments written as {@code {index}}
+     * @return compiled template of the pattern, taken from the route table
+     */
+    @NonNull
+    static RouteTemplate of(@NonNull final String pattern) {
+        RouteTemplate template = ROUTES.get(pattern);
+        if (template == null) {
+            template = compile(pattern);
+            RouteTemplate existing = ROUTES.putIfAbsent(pattern, template);
+            if (existing != null) {
+                template = existing;
+            }
+        }
+        return template;
+    }
+
+    /**
+     * @param pattern path pattern with arguments written as {@code {index}}
+     * @return compiled template of the pattern
+     * @throws IllegalArgumentException if an argument is not closed or its index is not a number
+     */
+    @NonNull
+    static RouteTemplate compile(@NonNull final String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> argumentIndexes = new ArrayList<>();
+        int literalStart = 0;
+        int open;
+        while ((open = pattern.indexOf('{', literalStart)) >= 0) {
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed argument in route pattern " + pattern);
+            }
+            try {
+                argumentIndexes.add(Integer.parseInt(pattern.substring(open + 1, close)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid argument in route pattern " + pattern, e);
+            }
+            literals.add(pattern.substring(literalStart, open));
+            literalStart = close + 1;
+        }
+        literals.add(pattern.substring(literalStart));
+        return new RouteTemplate(pattern, literals, argumentIndexes);
+    }
+
+    /**
+     * @return pattern the template was compiled from
+     */
+    @NonNull
+    String getPattern() {
+        return mPattern;
+    }
+
+    /**
+     * Builds the path, argument {@code {0}} is the user token and argument {@code {n}} is {@code arguments[n - 1]}
+     *
+     * @param userToken token of the user the request is made for
+     * @param arguments remaining arguments of the path
+     * @return path with all arguments percent-encoded
+     * @throws IllegalArgumentException if the pattern refers to an argument that was not given
+     */
+    @NonNull
+    String expand(@NonNull final String userToken, @NonNull final Object[] arguments) {
+        StringBuilder path = new StringBuilder(mEstimatedLength);
+        for (int i = 0; i < mArgumentIndexes.length; i++) {
+            path.append(mLiterals[i]);
+            int index = mArgumentIndexes[i];
+            if (index == 0) {
+                UrlEncoding.appendPathSegment(path, userToken);
+            } else if (index <= arguments.length) {
+                UrlEncoding.appendPathSegment(path, String.valueOf(arguments[index - 1]));
+            } else {
+                throw new IllegalArgumentException("Missing argument {" + index + "} of route pattern " + mPattern);
+            }
+        }
+        return path.append(mLiterals[mLiterals.length - 1]).toString();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@code AdaptiveConcurrencyLimit} adjusts how many requests may be in flight at the same time to the latency the
+ * network currently delivers.
+ *
+ * <p>Every network round trip of a request is a sample of its latency. The lowest latency seen is taken as the latency of an idle
+ * network. While samples stay within the tolerance of that minimum and the limit is being used, the limit grows by
+ * one; a sample above the tolerance means requests are queueing somewhere and the limit is cut by the backoff
+ * ratio. The minimum is measured again every {@code probeInterval} samples, so the limit recovers after the network
+ * became permanently slower.</p>
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final int DEFAULT_INITIAL_LIMIT = 4;
+    private static final int DEFAULT_MIN_LIMIT = 1;
+    private static final int DEFAULT_MAX_LIMIT = 16;
+    private static final float DEFAULT_LATENCY_TOLERANCE = 2f;
+    private static final float DEFAULT_BACKOFF_RATIO = 0.9f;
+    private static final int DEFAULT_PROBE_INTERVAL = 250;
+
+    private final int mMinLimit;
+    private final int mMaxLimit;
+    private final float mLatencyTolerance;
+    private final float mBackoffRatio;
+    private final int mProbeInterval;
+    private final List<Listener> mListeners = new CopyOnWriteArrayList<>();
+    private int mLimit;
+    private long mMinLatencyNanos;
+    private int mSamplesSinceProbe;
+
+    private AdaptiveConcurrencyLimit(@NonNull final Builder builder) {
+        if (builder.minLimit > builder.maxLimit) {
+            throw new IllegalArgumentException("min limit can not be above max limit");
+        }
+        mMinLimit = builder.minLimit;
+        mMaxLimit = builder.maxLimit;
+        mLatencyTolerance = builder.latencyTolerance;
+        mBackoffRatio = builder.backoffRatio;
+        mProbeInterval = builder.probeInterval;
+        mLimit = Math.max(mMinLimit, Math.min(mMaxLimit, builder.initialLimit));
+    }
+
+    /**
+     * @return number of requests that may currently be in flight at the same time
+     */
+    public synchronized int getLimit() {
+        return mLimit;
+    }
+
+    /**
+     * Records the latency of a network round trip
+     *
+     * @param latencyNanos time from sending the request until its response headers were received
+     * @param inFlight     number of requests that were in flight when it started, including itself
+     */
+    public void onSample(final long latencyNanos, final int inFlight) {
+        int from;
+        int to;
+        synchronized (this) {
+            if (mSamplesSinceProbe++ >= mProbeInterval) {
+                mMinLatencyNanos = 0;
+                mSamplesSinceProbe = 0;
+            }
+            if (mMinLatencyNanos == 0 || latencyNanos < mMinLatencyNanos) {
+                mMinLatencyNanos = latencyNanos;
+            }
+
+            from = mLimit;
+            if (latencyNanos > mMinLatencyNanos * mLatencyTolerance) {
+                mLimit = Math.max(mMinLimit, Math.min(mLimit - 1, (int) (mLimit * mBackoffRatio)));
+            } else if (inFlight * 2 >= mLimit) {
+                mLimit = Math.min(mMaxLimit, mLimit + 1);
+            }
+            to = mLimit;
+        }
+        if (from != to) {
+            notifyListeners(from, to);
+        }
+    }
+
+    /**
+     * @param listener notified of every change of the limit, on the thread that caused it
+     */
+    public void addListener(@NonNull final Listener listener) {
+        mListeners.add(listener);
+    }
+
+    /**
+     * @param listener listener to stop notifying
+     */
+    public void removeListener(@NonNull final Listener listener) {
+        mListeners.remove(listener);
+    }
+
+    private void notifyListeners(final int from, final int to) {
+        for (Listener listener : mListeners) {
+            listener.onLimitChanged(from, to);
+        }
+    }
+
+    /**
+     * Listener notified when the limit changes
+     */
+    public interface Listener {
+
+        /**
+         * @param from previous limit
+         * @param to   new limit
+         */
+        void onLimitChanged(int from, int to);
+    }
+
+    /**
+     * Builder for {@link AdaptiveConcurrencyLimit}, by default the limit starts at 4 and moves between 1 and 16, it
+     * is cut by 10% when a request takes more than twice the minimum latency, which is measured again every 250
+     * requests
+     */
+    public static final class Builder {
+        private int initialLimit = DEFAULT_INITIAL_LIMIT;
+        private int minLimit = DEFAULT_MIN_LIMIT;
+        private int maxLimit = DEFAULT_MAX_LIMIT;
+        private float latencyTolerance = DEFAULT_LATENCY_TOLERANCE;
+        private float backoffRatio = DEFAULT_BACKOFF_RATIO;
+        private int probeInterval = DEFAULT_PROBE_INTERVAL;
+
+        /**
+         * @param initialLimit limit before the first sample
+         */
+        public Builder initialLimit(final int initialLimit) {
+            if (initialLimit < 1) {
+                throw new IllegalArgumentException("initial limit must be at least 1");
+            }
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * @param minLimit lowest limit the backoff can reach
+         */
+        public Builder minLimit(final int minLimit) {
+            if (minLimit < 1) {
+                throw new IllegalArgumentException("min limit must be at least 1");
+            }
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        /**
+         * @param maxLimit highest limit the limit can grow to
+         */
+        public Builder maxLimit(final int maxLimit) {
+            if (maxLimit < 1) {
+                throw new IllegalArgumentException("max limit must be at least 1");
+            }
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * @param latencyTolerance multiple of the minimum latency, greater than 1, above which the limit is cut
+         */
+        public Builder latencyTolerance(final float latencyTolerance) {
+            if (latencyTolerance <= 1) {
+                throw new IllegalArgumentException("latency tolerance must be greater than 1");
+            }
+            this.latencyTolerance = latencyTolerance;
+            return this;
+        }
+
+        /**
+         * @param backoffRatio factor, between 0 and 1 exclusive, the limit is multiplied with when it is cut
+         */
+        public Builder backoffRatio(final float backoffRatio) {
+            if (backoffRatio <= 0 || backoffRatio >= 1) {
+                throw new IllegalArgumentException("backoff ratio must be in (0, 1)");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * @param probeInterval number of samples after which the minimum latency is measured again
+         */
+        public Builder probeInterval(final int probeInterval) {
+            if (probeInterval < 1) {
+                throw new IllegalArgumentException("probe interval must be at least 1");
+            }
+            this.probeInterval = probeInterval;
+            return this;
+        }
+
+        public AdaptiveConcurrencyLimit build() {
+            return new AdaptiveConcurrencyLimit(this);
+        }
+    }
+}
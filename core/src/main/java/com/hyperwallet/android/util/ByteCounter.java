@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ByteCounter} accumulates, per endpoint, the number of bytes transferred on the wire and the number of
+ * bytes those represent once decoded, so the effect of compression can be observed
+ */
+public final class ByteCounter {
+
+    private final ConcurrentMap<String, Entry> mEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Records a request body that was sent
+     *
+     * @param endpoint     endpoint the request was sent to, see {@link HttpRequest#getEndpoint()}
+     * @param wireBytes    number of bytes written to the connection
+     * @param decodedBytes number of bytes of the body before it was encoded
+     */
+    public void recordSent(@NonNull final String endpoint, final long wireBytes, final long decodedBytes) {
+        Entry entry = getOrCreate(endpoint);
+        entry.mWireBytesSent.addAndGet(wireBytes);
+        entry.mDecodedBytesSent.addAndGet(decodedBytes);
+    }
+
+    /**
+     * Records a response body that was received
+     *
+     * @param endpoint     endpoint the response came from, see {@link HttpRequest#getEndpoint()}
+     * @param wireBytes    number of bytes read from the connection
+     * @param decodedBytes number of bytes of the body once decoded
+     */
+    public void recordReceived(@NonNull final String endpoint, final long wireBytes, final long decodedBytes) {
+        Entry entry = getOrCreate(endpoint);
+        entry.mWireBytesReceived.addAndGet(wireBytes);
+        entry.mDecodedBytesReceived.addAndGet(decodedBytes);
+    }
+
+    /**
+     * @return Map of endpoint to the bytes transferred for that endpoint
+     */
+    @NonNull
+    public Map<String, Entry> getEntries() {
+        return Collections.unmodifiableMap(new HashMap<>(mEntries));
+    }
+
+    /**
+     * @param endpoint endpoint to look up
+     * @return bytes transferred for the endpoint, all counts are zero when nothing was transferred yet
+     */
+    @NonNull
+    public Entry getEntry(@NonNull final String endpoint) {
+        Entry entry = mEntries.get(endpoint);
+        return entry != null ? entry : new Entry();
+    }
+
+    private Entry getOrCreate(final String endpoint) {
+        Entry entry = mEntries.get(endpoint);
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = mEntries.putIfAbsent(endpoint, created);
+            if (entry == null) {
+                entry = created;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Bytes transferred for one endpoint
+     */
+    public static final class Entry {
+        private final AtomicLong mWireBytesSent = new AtomicLong();
+        private final AtomicLong mDecodedBytesSent = new AtomicLong();
+        private final AtomicLong mWireBytesReceived = new AtomicLong();
+        private final AtomicLong mDecodedBytesReceived = new AtomicLong();
+
+        private Entry() {
+        }
+
+        /**
+         * @return number of request body bytes written to the connection
+         */
+        public long getWireBytesSent() {
+            return mWireBytesSent.get();
+        }
+
+        /**
+         * @return number of request body bytes before compression
+         */
+        public long getDecodedBytesSent() {
+            return mDecodedBytesSent.get();
+        }
+
+        /**
+         * @return number of response body bytes read from the connection
+         */
+        public long getWireBytesReceived() {
+            return mWireBytesReceived.get();
+        }
+
+        /**
+         * @return number of response body bytes after decompression
+         */
+        public long getDecodedBytesReceived() {
+            return mDecodedBytesReceived.get();
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code CircuitBreaker} keeps one circuit per base URI of the Hyperwallet platform, so that requests to a degraded
+ * host fail fast instead of each waiting for a timeout.
+ *
+ * <p>A circuit starts {@link State#CLOSED} and records the outcome of the last calls in a sliding window. Once the
+ * window holds the minimum number of calls and their failure rate reaches the threshold, the circuit opens and
+ * every call is rejected for the open duration. The first call after that duration moves the circuit to
+ * {@link State#HALF_OPEN} and a limited number of trial calls is let through: if they all succeed the circuit closes
+ * with an empty window, a single failure opens it again. An {@link java.io.IOException} and a {@code 5xx} response
+ * are failures.</p>
+ *
+ * <p>Every permit is tagged with the generation of the circuit it was granted in, a generation ending at each state
+ * transition. The outcome of a call that completes after its circuit changed state is ignored, so that a slow call
+ * sent while the circuit was closed does not decide a half-open trial.</p>
+ */
+public final class CircuitBreaker {
+
+    /**
+     * Permit returned by {@link #tryAcquire(String)} when the circuit rejects the call
+     */
+    public static final long NO_PERMIT = -1;
+
+    private static final float DEFAULT_FAILURE_RATE_THRESHOLD = 0.5f;
+    private static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+    private static final int DEFAULT_MINIMUM_CALLS = 10;
+    private static final long DEFAULT_OPEN_DURATION_SECONDS = 30;
+    private static final int DEFAULT_HALF_OPEN_CALLS = 1;
+
+    private final float mFailureRateThreshold;
+    private final int mSlidingWindowSize;
+    private final int mMinimumCalls;
+    private final long mOpenDurationNanos;
+    private final int mHalfOpenCalls;
+    private final Map<String, Circuit> mCircuits = new HashMap<>();
+    private final List<Listener> mListeners = new CopyOnWriteArrayList<>();
+
+    private CircuitBreaker(@NonNull final Builder builder) {
+        mFailureRateThreshold = builder.failureRateThreshold;
+        mSlidingWindowSize = builder.slidingWindowSize;
+        mMinimumCalls = builder.minimumCalls;
+        mOpenDurationNanos = builder.openDurationNanos;
+        mHalfOpenCalls = builder.halfOpenCalls;
+    }
+
+    /**
+     * @param responseCode HTTP response code
+     * @return {@code true} if the response counts as a failure of the host
+     */
+    public static boolean isFailure(final int responseCode) {
+        return responseCode >= 500;
+    }
+
+    /**
+     * Asks permission to send a call to the host; every permitted call has to be completed with
+     * {@link #record(String, long, boolean)}
+     *
+     * @param key base URI of the host
+     * @return permit to pass to {@link #record(String, long, boolean)} if the call may be sent, {@link #NO_PERMIT} if
+     * the circuit is open
+     */
+    public long tryAcquire(@NonNull final String key) {
+        State from;
+        long permit;
+        synchronized (this) {
+            Circuit circuit = getOrCreate(key);
+            if (circuit.mState == State.CLOSED) {
+                return circuit.mGeneration;
+            }
+            if (circuit.mState == State.OPEN) {
+                if (System.nanoTime() - circuit.mOpenedAtNanos < mOpenDurationNanos) {
+                    return NO_PERMIT;
+                }
+                from = circuit.transitionTo(State.HALF_OPEN);
+            } else {
+                from = null;
+            }
+            if (circuit.mHalfOpenPermits >= mHalfOpenCalls) {
+                return NO_PERMIT;
+            }
+            circuit.mHalfOpenPermits++;
+            permit = circuit.mGeneration;
+        }
+        if (from != null) {
+            notifyListeners(key, from, State.HALF_OPEN);
+        }
+        return permit;
+    }
+
+    /**
+     * Records the outcome of a call permitted by {@link #tryAcquire(String)}; the outcome is ignored if the circuit
+     * changed state since the permit was granted
+     *
+     * @param key     base URI of the host
+     * @param permit  permit returned by {@link #tryAcquire(String)} for the call
+     * @param success {@code false} if the call failed with an {@link java.io.IOException} or a {@code 5xx} response
+     */
+    public void record(@NonNull final String key, final long permit, final boolean success) {
+        State from;
+        State to;
+        synchronized (this) {
+            Circuit circuit = getOrCreate(key);
+            if (permit != circuit.mGeneration) {
+                return;
+            }
+            from = circuit.mState;
+            if (from == State.HALF_OPEN) {
+                if (!success) {
+                    to = State.OPEN;
+                } else if (++circuit.mHalfOpenSuccesses >= mHalfOpenCalls) {
+                    to = State.CLOSED;
+                } else {
+                    return;
+                }
+            } else if (from == State.CLOSED) {
+                circuit.add(success);
+                if (circuit.mCalls < mMinimumCalls
+                        || (float) circuit.mFailures / circuit.mCalls < mFailureRateThreshold) {
+                    return;
+                }
+                to = State.OPEN;
+            } else {
+                return;
+            }
+            circuit.transitionTo(to);
+        }
+        notifyListeners(key, from, to);
+    }
+
+    /**
+     * Gives back a permit of {@link #tryAcquire(String)} without an outcome, for a call the caller aborted itself
+     *
+     * @param key    base URI of the host
+     * @param permit permit returned by {@link #tryAcquire(String)} for the call
+     */
+    public synchronized void release(@NonNull final String key, final long permit) {
+        Circuit circuit = mCircuits.get(key);
+        if (circuit != null && circuit.mState == State.HALF_OPEN && permit == circuit.mGeneration) {
+            circuit.mHalfOpenPermits--;
+        }
+    }
+
+    /**
+     * @param key base URI of the host
+     * @return current state of the circuit of the host
+     */
+    @NonNull
+    public synchronized State getState(@NonNull final String key) {
+        Circuit circuit = mCircuits.get(key);
+        return circuit != null ? circuit.mState : State.CLOSED;
+    }
+
+    /**
+     * Closes every circuit and clears their windows
+     */
+    public synchronized void reset() {
+        mCircuits.clear();
+    }
+
+    /**
+     * @param listener notified of every state transition, on the thread that caused it
+     */
+    public void addListener(@NonNull final Listener listener) {
+        mListeners.add(listener);
+    }
+
+    /**
+     * @param listener listener to stop notifying
+     */
+    public void removeListener(@NonNull final Listener listener) {
+        mListeners.remove(listener);
+    }
+
+    private Circuit getOrCreate(final String key) {
+        Circuit circuit = mCircuits.get(key);
+        if (circuit == null) {
+            circuit = new Circuit(mSlidingWindowSize);
+            mCircuits.put(key, circuit);
+        }
+        return circuit;
+    }
+
+    private void notifyListeners(final String key, final State from, final State to) {
+        for (Listener listener : mListeners) {
+            listener.onStateChanged(key, from, to);
+        }
+    }
+
+    /**
+     * State of a circuit
+     */
+    public enum State {
+        /**
+         * Calls are sent and their outcome is recorded
+         */
+        CLOSED,
+        /**
+         * Calls are rejected until the open duration has elapsed
+         */
+        OPEN,
+        /**
+         * A limited number of trial calls is sent to decide whether the circuit closes or opens again
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Listener notified when a circuit changes state
+     */
+    public interface Listener {
+
+        /**
+         * @param key  base URI of the host
+         * @param from previous state of the circuit
+         * @param to   new state of the circuit
+         */
+        void onStateChanged(@NonNull String key, @NonNull State from, @NonNull State to);
+    }
+
+    /**
+     * Builder for {@link CircuitBreaker}, by default a circuit opens when half of the last 20 calls failed, provided
+     * at least 10 calls were made, stays open for 30 seconds and closes again after 1 successful trial call
+     */
+    public static final class Builder {
+        private float failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+        private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+        private long openDurationNanos = TimeUnit.SECONDS.toNanos(DEFAULT_OPEN_DURATION_SECONDS);
+        private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+
+        /**
+         * @param failureRateThreshold failure rate, between 0 exclusive and 1 inclusive, from which a circuit opens
+         */
+        public Builder failureRateThreshold(final float failureRateThreshold) {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+                throw new IllegalArgumentException("failure rate threshold must be in (0, 1]");
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * @param slidingWindowSize number of most recent calls the failure rate is computed on
+         */
+        public Builder slidingWindowSize(final int slidingWindowSize) {
+            if (slidingWindowSize < 1) {
+                throw new IllegalArgumentException("sliding window size must be at least 1");
+            }
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+
+        /**
+         * @param minimumCalls number of calls the window has to hold before the failure rate is evaluated
+         */
+        public Builder minimumCalls(final int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("minimum calls must be at least 1");
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * @param duration time an open circuit rejects calls before letting trial calls through
+         * @param timeUnit unit of the duration
+         */
+        public Builder openDuration(final long duration, @NonNull final TimeUnit timeUnit) {
+            if (duration < 0) {
+                throw new IllegalArgumentException("open duration can not be negative");
+            }
+            openDurationNanos = timeUnit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * @param halfOpenCalls number of trial calls let through by a half-open circuit
+         */
+        public Builder halfOpenCalls(final int halfOpenCalls) {
+            if (halfOpenCalls < 1) {
+                throw new IllegalArgumentException("half open calls must be at least 1");
+            }
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        public CircuitBreaker build() {
+            if (minimumCalls > slidingWindowSize) {
+                minimumCalls = slidingWindowSize;
+            }
+            return new CircuitBreaker(this);
+        }
+    }
+
+    /**
+     * State and sliding window of the calls to one host
+     */
+    private static final class Circuit {
+        private final boolean[] mOutcomes;
+        private int mNext;
+        private int mCalls;
+        private int mFailures;
+        private State mState = State.CLOSED;
+        private long mOpenedAtNanos;
+        private int mHalfOpenPermits;
+        private int mHalfOpenSuccesses;
+        private long mGeneration;
+
+        Circuit(final int slidingWindowSize) {
+            mOutcomes = new boolean[slidingWindowSize];
+        }
+
+        void add(final boolean success) {
+            if (mCalls == mOutcomes.length) {
+                if (!mOutcomes[mNext]) {
+                    mFailures--;
+                }
+            } else {
+                mCalls++;
+            }
+            mOutcomes[mNext] = success;
+            if (!success) {
+                mFailures++;
+            }
+            mNext = (mNext + 1) % mOutcomes.length;
+        }
+
+        State transitionTo(final State state) {
+            State from = mState;
+            mState = state;
+            mGeneration++;
+            mHalfOpenPermits = 0;
+            mHalfOpenSuccesses = 0;
+            if (state == State.OPEN) {
+                mOpenedAtNanos = System.nanoTime();
+            } else if (state == State.CLOSED) {
+                mNext = 0;
+                mCalls = 0;
+                mFailures = 0;
+            }
+            return from;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ConnectionPool} lets {@link HttpClient} keep connections alive between requests instead of disconnecting
+ * them after every response.
+ *
+ * <p>Idle connections are pooled, evicted and closed by the platform keep-alive cache of
+ * {@link java.net.HttpURLConnection}, which can not be inspected from outside. This class decides whether a
+ * connection whose response was read to the end is released to that cache, and hands its limits to the platform
+ * through the {@code http.maxConnections} and {@code http.keepAliveDuration} system properties. The platform reads
+ * them once, before its first connection, and properties already set by the app are left untouched. Use
+ * {@link Tls12SocketFactory#getFullHandshakeCount()} for the number of connections that were actually opened.</p>
+ */
+public final class ConnectionPool {
+
+    static final String MAX_CONNECTIONS_PROPERTY = "http.maxConnections";
+    static final String KEEP_ALIVE_DURATION_PROPERTY = "http.keepAliveDuration";
+
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS_PER_HOST = 5;
+    private static final long DEFAULT_KEEP_ALIVE_DURATION_MINUTES = 5;
+
+    private final int mMaxIdleConnectionsPerHost;
+    private final long mKeepAliveDurationMillis;
+
+    /**
+     * Construct a {@code ConnectionPool} with a maximum of 5 idle connections per host, kept alive for 5 minutes
+     */
+    public ConnectionPool() {
+        this(DEFAULT_MAX_IDLE_CONNECTIONS_PER_HOST, DEFAULT_KEEP_ALIVE_DURATION_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Construct a {@code ConnectionPool}
+     *
+     * @param maxIdleConnectionsPerHost maximum number of idle connections the platform keeps alive for a single host;
+     *                                  {@code 0} to disconnect after every request
+     * @param keepAliveDuration         time an idle connection is kept alive by the platform; {@code 0} to disconnect
+     *                                  after every request
+     * @param timeUnit                  unit of {@code keepAliveDuration}
+     */
+    public ConnectionPool(final int maxIdleConnectionsPerHost, final long keepAliveDuration,
+            @NonNull final TimeUnit timeUnit) {
+        if (maxIdleConnectionsPerHost < 0) {
+            throw new IllegalArgumentException("max idle connections per host can not be negative");
+        }
+        if (keepAliveDuration < 0) {
+            throw new IllegalArgumentException("keep alive duration can not be negative");
+        }
+        mMaxIdleConnectionsPerHost = maxIdleConnectionsPerHost;
+        mKeepAliveDurationMillis = timeUnit.toMillis(keepAliveDuration);
+        if (isKeepAliveEnabled()) {
+            setPropertyIfAbsent(MAX_CONNECTIONS_PROPERTY, String.valueOf(mMaxIdleConnectionsPerHost));
+            setPropertyIfAbsent(KEEP_ALIVE_DURATION_PROPERTY, String.valueOf(mKeepAliveDurationMillis));
+        }
+    }
+
+    /**
+     * @return {@code True} if connections whose response was read to the end are released to the platform
+     * keep-alive cache; {@code False} if they are disconnected
+     */
+    public boolean isKeepAliveEnabled() {
+        return mMaxIdleConnectionsPerHost > 0 && mKeepAliveDurationMillis > 0;
+    }
+
+    /**
+     * @return maximum number of idle connections the platform keeps alive for a single host
+     */
+    public int getMaxIdleConnectionsPerHost() {
+        return mMaxIdleConnectionsPerHost;
+    }
+
+    /**
+     * @return time in milliseconds an idle connection is kept alive by the platform
+     */
+    public long getKeepAliveDurationMillis() {
+        return mKeepAliveDurationMillis;
+    }
+
+    private static void setPropertyIfAbsent(@NonNull final String key, @NonNull final String value) {
+        try {
+            if (System.getProperty(key) == null) {
+                System.setProperty(key, value);
+            }
+        } catch (SecurityException e) {
+            // the platform defaults apply
+        }
+    }
+}
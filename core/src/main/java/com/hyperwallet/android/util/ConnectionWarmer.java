@@ -0,0 +1,208 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * {@code ConnectionWarmer} prepares the connection to a host of the Hyperwallet platform before the first request
+ * needs it: the host name is resolved, then a {@code HEAD} request to the base URI opens the connection, completes
+ * the TLS handshake and leaves the connection idle in the platform keep-alive cache, as the {@link ConnectionPool}
+ * allows.
+ *
+ * <p>Every host is warmed at most once. The time taken by the name resolution and by the connection is kept per
+ * host and reported to the listeners.</p>
+ */
+public final class ConnectionWarmer {
+
+    private final ConnectionPool mConnectionPool;
+    private final SSLSocketFactory mSslSocketFactory;
+    private final Map<String, Result> mResults = new HashMap<>();
+    private final List<Listener> mListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Construct a {@code ConnectionWarmer}
+     *
+     * @param connectionPool   pool deciding whether the warmed connections are kept alive; must be the pool of the
+     *                         transport
+     * @param sslSocketFactory factory set on HTTPS connections, its TLS session cache is shared with later requests;
+     *                         {@code null} to use {@link Tls12SocketFactory#getSharedInstance()}
+     */
+    public ConnectionWarmer(@NonNull final ConnectionPool connectionPool,
+            @Nullable final SSLSocketFactory sslSocketFactory) {
+        mConnectionPool = connectionPool;
+        mSslSocketFactory = sslSocketFactory;
+    }
+
+    /**
+     * Warms the connection to the host of {@code uri} on the calling thread, unless the host was warmed already
+     *
+     * @param uri base URI of the host
+     * @return result of the warm-up; {@code null} if the host was warmed before
+     */
+    @Nullable
+    public Result warm(@NonNull final String uri) {
+        String host;
+        try {
+            host = new URL(uri).getHost();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid uri " + uri, e);
+        }
+        synchronized (this) {
+            if (mResults.containsKey(host)) {
+                return null;
+            }
+            mResults.put(host, null);
+        }
+
+        long startNanos = System.nanoTime();
+        long dnsNanos = 0;
+        IOException failure = null;
+        try {
+            InetAddress.getAllByName(host);
+            dnsNanos = System.nanoTime() - startNanos;
+            new HttpClient.Builder(uri).connectionPool(mConnectionPool).sslSocketFactory(mSslSocketFactory).build()
+                    .head();
+        } catch (IOException e) {
+            failure = e;
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid uri " + uri, e);
+        }
+        long totalNanos = System.nanoTime() - startNanos;
+
+        Result result = new Result(host, TimeUnit.NANOSECONDS.toMillis(dnsNanos),
+                TimeUnit.NANOSECONDS.toMillis(totalNanos - dnsNanos), failure);
+        synchronized (this) {
+            mResults.put(host, result);
+        }
+        for (Listener listener : mListeners) {
+            listener.onWarmedUp(result);
+        }
+        return result;
+    }
+
+    /**
+     * @return Map of host to the result of its warm-up, hosts still being warmed are not included
+     */
+    @NonNull
+    public synchronized Map<String, Result> getResults() {
+        Map<String, Result> results = new HashMap<>();
+        for (Map.Entry<String, Result> entry : mResults.entrySet()) {
+            if (entry.getValue() != null) {
+                results.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * @param listener notified of every completed warm-up, on the thread that warmed the connection
+     */
+    public void addListener(@NonNull final Listener listener) {
+        mListeners.add(listener);
+    }
+
+    /**
+     * @param listener listener to stop notifying
+     */
+    public void removeListener(@NonNull final Listener listener) {
+        mListeners.remove(listener);
+    }
+
+    /**
+     * Outcome of warming the connection to one host
+     */
+    public static final class Result {
+        private final String mHost;
+        private final long mDnsMillis;
+        private final long mConnectMillis;
+        private final IOException mFailure;
+
+        Result(@NonNull final String host, final long dnsMillis, final long connectMillis,
+                @Nullable final IOException failure) {
+            mHost = host;
+            mDnsMillis = dnsMillis;
+            mConnectMillis = connectMillis;
+            mFailure = failure;
+        }
+
+        /**
+         * @return host that was warmed
+         */
+        @NonNull
+        public String getHost() {
+            return mHost;
+        }
+
+        /**
+         * @return time in milliseconds the host name took to resolve
+         */
+        public long getDnsMillis() {
+            return mDnsMillis;
+        }
+
+        /**
+         * @return time in milliseconds the connection took to open, including the TLS handshake and the
+         * {@code HEAD} request
+         */
+        public long getConnectMillis() {
+            return mConnectMillis;
+        }
+
+        /**
+         * @return {@code true} if a connection was opened and released to the pool
+         */
+        public boolean isSuccessful() {
+            return mFailure == null;
+        }
+
+        /**
+         * @return reason the warm-up failed; {@code null} if it succeeded
+         */
+        @Nullable
+        public IOException getFailure() {
+            return mFailure;
+        }
+    }
+
+    /**
+     * Listener notified when a warm-up completes
+     */
+    public interface Listener {
+
+        /**
+         * @param result outcome of the warm-up
+         */
+        void onWarmedUp(@NonNull Result result);
+    }
+}
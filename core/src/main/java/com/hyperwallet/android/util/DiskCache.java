@@ -0,0 +1,297 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * {@code DiskCache} persists GET response bodies in a size bounded, least recently used cache directory, for
+ * instance under {@code Context#getCacheDir()}.
+ *
+ * <p>Every entry is one file named after a hash of its key, so neither user tokens nor paths appear on disk. A file
+ * is written to a temporary file first and renamed into place, and carries its key and a checksum of its content;
+ * a file left behind by a crash or a partial write is detected on read and deleted.</p>
+ */
+public final class DiskCache {
+
+    private static final int MAGIC = 0x48574331; // HWC1
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File mDirectory;
+    private final long mMaxSize;
+    private final Map<String, Long> mFileSizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long mSize;
+    private boolean mInitialized;
+
+    /**
+     * Construct a {@code DiskCache}
+     *
+     * @param directory directory owned by the cache, created when missing
+     * @param maxSize   maximum total size of the cached files in bytes
+     */
+    public DiskCache(@NonNull final File directory, final long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("max size must be positive");
+        }
+        mDirectory = directory;
+        mMaxSize = maxSize;
+    }
+
+    /**
+     * @param key identifies the request
+     * @return cached response; {@code null} if it is not cached or the cached file is not readable
+     */
+    @Nullable
+    public synchronized Entry get(@NonNull final String key) {
+        initialize();
+        String fileName = fileName(key);
+        if (mFileSizes.get(fileName) == null) {
+            return null;
+        }
+
+        File file = new File(mDirectory, fileName);
+        try {
+            Entry entry = read(file, key);
+            file.setLastModified(System.currentTimeMillis());
+            return entry;
+        } catch (IOException e) {
+            delete(fileName);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a response, evicting the least recently used responses when the cache grows beyond its maximum size
+     *
+     * @param key   identifies the request
+     * @param entry response to store
+     */
+    public synchronized void put(@NonNull final String key, @NonNull final Entry entry) {
+        initialize();
+        String fileName = fileName(key);
+        File file = new File(mDirectory, fileName);
+        File tempFile = new File(mDirectory, fileName + TEMP_SUFFIX);
+        try {
+            write(tempFile, key, entry);
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("Unable to rename " + tempFile);
+            }
+        } catch (IOException e) {
+            tempFile.delete();
+            return;
+        }
+
+        Long previousSize = mFileSizes.put(fileName, file.length());
+        mSize += file.length() - (previousSize != null ? previousSize : 0);
+        trimToSize();
+    }
+
+    /**
+     * @param key identifies the request whose response is removed
+     */
+    public synchronized void remove(@NonNull final String key) {
+        initialize();
+        delete(fileName(key));
+    }
+
+    /**
+     * Removes every cached response, for instance when the user logs out
+     */
+    public synchronized void clear() {
+        initialize();
+        for (String fileName : mFileSizes.keySet().toArray(new String[0])) {
+            delete(fileName);
+        }
+    }
+
+    /**
+     * @return total size of the cached files in bytes
+     */
+    public synchronized long size() {
+        initialize();
+        return mSize;
+    }
+
+    /**
+     * @return maximum total size of the cached files in bytes
+     */
+    public long getMaxSize() {
+        return mMaxSize;
+    }
+
+    private void initialize() {
+        if (mInitialized) {
+            return;
+        }
+        mInitialized = true;
+        if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+            return;
+        }
+
+        File[] files = mDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File first, File second) {
+                return Long.compare(first.lastModified(), second.lastModified());
+            }
+        });
+        for (File file : files) {
+            if (file.getName().endsWith(TEMP_SUFFIX)) {
+                file.delete();
+            } else if (file.isFile()) {
+                mFileSizes.put(file.getName(), file.length());
+                mSize += file.length();
+            }
+        }
+        trimToSize();
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Long>> iterator = mFileSizes.entrySet().iterator();
+        while (mSize > mMaxSize && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            new File(mDirectory, eldest.getKey()).delete();
+            mSize -= eldest.getValue();
+            iterator.remove();
+        }
+    }
+
+    private void delete(final String fileName) {
+        Long size = mFileSizes.remove(fileName);
+        if (size != null) {
+            mSize -= size;
+        }
+        new File(mDirectory, fileName).delete();
+    }
+
+    private static void write(final File file, final String key, final Entry entry) throws IOException {
+        byte[] body = entry.getBody().getBytes(StandardCharsets.UTF_8);
+        CRC32 checksum = new CRC32();
+        checksum.update(body);
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeUTF(key);
+            out.writeUTF(entry.getETag() != null ? entry.getETag() : "");
+            out.writeUTF(entry.getLastModified() != null ? entry.getLastModified() : "");
+            out.writeInt(body.length);
+            out.write(body);
+            out.writeLong(checksum.getValue());
+        } finally {
+            out.close();
+        }
+    }
+
+    private static Entry read(final File file, final String key) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC || !key.equals(in.readUTF())) {
+                throw new IOException("Unexpected cache file " + file);
+            }
+            String eTag = in.readUTF();
+            String lastModified = in.readUTF();
+            int length = in.readInt();
+            if (length < 0 || length > file.length()) {
+                throw new IOException("Corrupt cache file " + file);
+            }
+            byte[] body = new byte[length];
+            in.readFully(body);
+            CRC32 checksum = new CRC32();
+            checksum.update(body);
+            if (in.readLong() != checksum.getValue()) {
+                throw new IOException("Corrupt cache file " + file);
+            }
+            return new Entry(eTag.isEmpty() ? null : eTag, lastModified.isEmpty() ? null : lastModified,
+                    new String(body, StandardCharsets.UTF_8));
+        } finally {
+            in.close();
+        }
+    }
+
+    private static String fileName(final String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder fileName = new StringBuilder(digest.length * 2);
+            for (byte value : digest) {
+                fileName.append(Character.forDigit((value >> 4) & 0xF, 16))
+                        .append(Character.forDigit(value & 0xF, 16));
+            }
+            return fileName.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Cached response body with its validators
+     */
+    public static final class Entry {
+        private final String mETag;
+        private final String mLastModified;
+        private final String mBody;
+
+        /**
+         * @param eTag         {@code ETag} response header; {@code null} if not present
+         * @param lastModified {@code Last-Modified} response header; {@code null} if not present
+         * @param body         serialized response body
+         */
+        public Entry(@Nullable final String eTag, @Nullable final String lastModified, @NonNull final String body) {
+            mETag = eTag;
+            mLastModified = lastModified;
+            mBody = body;
+        }
+
+        @Nullable
+        public String getETag() {
+            return mETag;
+        }
+
+        @Nullable
+        public String getLastModified() {
+            return mLastModified;
+        }
+
+        @NonNull
+        public String getBody() {
+            return mBody;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * {@code Headers} is an immutable map of HTTP headers: a shared set of default headers with request specific
+ * headers layered on top. Adding a header allocates a single layer and never copies the headers below it, so the
+ * same defaults can back every request
+ */
+public final class Headers extends AbstractMap<String, String> {
+
+    /**
+     * Headers without any entry
+     */
+    public static final Headers EMPTY = new Headers(Collections.<String, String>emptyMap());
+
+    private final Map<String, String> mDefaults;
+    private final Headers mParent;
+    private final String mKey;
+    private final String mValue;
+    private final int mSize;
+    private Set<Entry<String, String>> mEntrySet;
+
+    private Headers(@NonNull final Map<String, String> defaults) {
+        mDefaults = defaults;
+        mParent = null;
+        mKey = null;
+        mValue = null;
+        mSize = defaults.size();
+    }
+
+    private Headers(@NonNull final Headers parent, @NonNull final String key, @Nullable final String value) {
+        mDefaults = parent.mDefaults;
+        mParent = parent;
+        mKey = key;
+        mValue = value;
+        mSize = parent.containsKey(key) ? parent.mSize : parent.mSize + 1;
+    }
+
+    /**
+     * @param headers headers to copy, in the order they are sent
+     * @return immutable copy of {@code headers}, or {@code headers} itself if already immutable
+     */
+    @NonNull
+    public static Headers of(@NonNull final Map<String, String> headers) {
+        if (headers instanceof Headers) {
+            return (Headers) headers;
+        }
+        return headers.isEmpty() ? EMPTY
+                : new Headers(Collections.unmodifiableMap(new LinkedHashMap<>(headers)));
+    }
+
+    /**
+     * @param key   name of the header
+     * @param value value of the header, replaces a value this header already has
+     * @return headers with {@code key} set to {@code value}; these headers are left unchanged
+     */
+    @NonNull
+    public Headers with(@NonNull final String key, @Nullable final String value) {
+        return new Headers(this, key, value);
+    }
+
+    /**
+     * @param headers headers to add, replacing values these headers already have
+     * @return headers with {@code headers} added; these headers are left unchanged
+     */
+    @NonNull
+    public Headers withAll(@NonNull final Map<String, String> headers) {
+        if (isEmpty() && headers instanceof Headers) {
+            return (Headers) headers;
+        }
+        Headers result = this;
+        for (Entry<String, String> header : headers.entrySet()) {
+            result = result.with(header.getKey(), header.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public String get(@Nullable final Object key) {
+        for (Headers layer = this; layer.mParent != null; layer = layer.mParent) {
+            if (layer.mKey.equals(key)) {
+                return layer.mValue;
+            }
+        }
+        return mDefaults.get(key);
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return isLayered(key, null) || mDefaults.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @NonNull
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (mEntrySet == null) {
+            mEntrySet = new EntrySet();
+        }
+        return mEntrySet;
+    }
+
+    /**
+     * @return {@code true} if a layer above {@code bottom} sets {@code key}
+     */
+    private boolean isLayered(@Nullable final Object key, @Nullable final Headers bottom) {
+        for (Headers layer = this; layer != bottom && layer.mParent != null; layer = layer.mParent) {
+            if (layer.mKey.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+
+        @NonNull
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return mSize;
+        }
+    }
+
+    /**
+     * Iterates the defaults first and then the layers from the oldest to the newest, so headers keep the order they
+     * were added in; a header replaced by a newer layer is skipped
+     */
+    private final class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private final Iterator<Entry<String, String>> mDefaultsIterator = mDefaults.entrySet().iterator();
+        private Headers mLayer;
+        private Entry<String, String> mNext;
+
+        EntryIterator() {
+            mNext = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return mNext != null;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (mNext == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, String> next = mNext;
+            mNext = advance();
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Headers are immutable");
+        }
+
+        private Entry<String, String> advance() {
+            while (mDefaultsIterator.hasNext()) {
+                Entry<String, String> entry = mDefaultsIterator.next();
+                if (!isLayered(entry.getKey(), null)) {
+                    return entry;
+                }
+            }
+            while (true) {
+                mLayer = nextLayer(mLayer);
+                if (mLayer == null) {
+                    return null;
+                }
+                if (!isLayered(mLayer.mKey, mLayer)) {
+                    return new SimpleImmutableEntry<>(mLayer.mKey, mLayer.mValue);
+                }
+            }
+        }
+
+        /**
+         * @return layer added right after {@code current}, the oldest layer if {@code current} is {@code null}
+         */
+        private Headers nextLayer(@Nullable final Headers current) {
+            if (current == Headers.this) {
+                return null;
+            }
+            Headers layer = Headers.this;
+            while (layer.mParent != null && layer.mParent != current && layer.mParent.mParent != null) {
+                layer = layer.mParent;
+            }
+            return layer.mParent == null ? null : layer;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code HedgingPolicy} decides when a GET request that has not received a response yet is sent a second time, so
+ * that a request stalled on a slow connection does not set the latency of the call.
+ *
+ * <p>The latency of the last responses is kept per endpoint. Once enough responses were seen, a request still
+ * waiting after the configured percentile of those latencies is hedged: the same request is sent again, the first
+ * response is used and the other one is discarded. The hedge delay never drops below the minimum delay, which bounds
+ * the extra load on endpoints that are consistently fast.</p>
+ */
+public final class HedgingPolicy {
+
+    /**
+     * Returned by {@link #getDelayMillis(String)} when the request must not be hedged
+     */
+    public static final long NO_HEDGE = -1;
+
+    private static final float DEFAULT_PERCENTILE = 0.95f;
+    private static final long DEFAULT_MIN_DELAY_MILLIS = 50;
+    private static final int DEFAULT_WINDOW_SIZE = 100;
+    private static final int DEFAULT_MIN_SAMPLES = 20;
+
+    private final float mPercentile;
+    private final long mMinDelayMillis;
+    private final int mWindowSize;
+    private final int mMinSamples;
+    private final Executor mExecutor;
+    private final Map<String, LatencyWindow> mWindows = new HashMap<>();
+    private final AtomicLong mHedgeCount = new AtomicLong();
+    private final AtomicLong mHedgeWinCount = new AtomicLong();
+
+    private HedgingPolicy(@NonNull final Builder builder) {
+        if (builder.minSamples > builder.windowSize) {
+            throw new IllegalArgumentException("min samples can not be above window size");
+        }
+        mPercentile = builder.percentile;
+        mMinDelayMillis = builder.minDelayMillis;
+        mWindowSize = builder.windowSize;
+        mMinSamples = builder.minSamples;
+        mExecutor = builder.executor != null ? builder.executor : Executors.newCachedThreadPool();
+    }
+
+    /**
+     * @param endpoint endpoint of the request, see {@link HttpRequest#getEndpoint()}
+     * @return time in milliseconds after which the request is sent again when no response was received;
+     * {@link #NO_HEDGE} while too few latencies of the endpoint are known
+     */
+    public long getDelayMillis(@NonNull final String endpoint) {
+        long[] latencies;
+        synchronized (this) {
+            LatencyWindow window = mWindows.get(endpoint);
+            if (window == null || window.mCount < mMinSamples) {
+                return NO_HEDGE;
+            }
+            latencies = Arrays.copyOf(window.mLatencies, window.mCount);
+        }
+        Arrays.sort(latencies);
+        int index = Math.min(latencies.length - 1, (int) Math.ceil(mPercentile * latencies.length) - 1);
+        return Math.max(mMinDelayMillis, latencies[Math.max(0, index)]);
+    }
+
+    /**
+     * Records the time a request took to receive its response
+     *
+     * @param endpoint      endpoint of the request
+     * @param latencyMillis time from sending the request until its response arrived
+     */
+    public synchronized void recordLatency(@NonNull final String endpoint, final long latencyMillis) {
+        LatencyWindow window = mWindows.get(endpoint);
+        if (window == null) {
+            window = new LatencyWindow(mWindowSize);
+            mWindows.put(endpoint, window);
+        }
+        window.add(latencyMillis);
+    }
+
+    /**
+     * Records a request that was sent a second time
+     *
+     * @param won {@code true} if the response of the second request was used
+     */
+    public void recordHedge(final boolean won) {
+        mHedgeCount.incrementAndGet();
+        if (won) {
+            mHedgeWinCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return executor the competing requests are sent on
+     */
+    @NonNull
+    public Executor getExecutor() {
+        return mExecutor;
+    }
+
+    /**
+     * @return number of requests that were sent a second time
+     */
+    public long getHedgeCount() {
+        return mHedgeCount.get();
+    }
+
+    /**
+     * @return number of hedged requests that used the response of the second request
+     */
+    public long getHedgeWinCount() {
+        return mHedgeWinCount.get();
+    }
+
+    /**
+     * Most recent latencies of one endpoint, oldest overwritten first
+     */
+    private static final class LatencyWindow {
+        private final long[] mLatencies;
+        private int mNext;
+        private int mCount;
+
+        LatencyWindow(final int size) {
+            mLatencies = new long[size];
+        }
+
+        void add(final long latencyMillis) {
+            mLatencies[mNext] = latencyMillis;
+            mNext = (mNext + 1) % mLatencies.length;
+            mCount = Math.min(mCount + 1, mLatencies.length);
+        }
+    }
+
+    /**
+     * Builder for {@link HedgingPolicy}, by default a request is hedged after the 95th percentile of the last 100
+     * latencies of its endpoint, but not before 50 milliseconds and only once 20 latencies are known
+     */
+    public static final class Builder {
+        private float percentile = DEFAULT_PERCENTILE;
+        private long minDelayMillis = DEFAULT_MIN_DELAY_MILLIS;
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private int minSamples = DEFAULT_MIN_SAMPLES;
+        private Executor executor;
+
+        /**
+         * @param percentile percentile, between 0 exclusive and 1 inclusive, of the latencies after which a request
+         *                   is hedged
+         */
+        public Builder percentile(final float percentile) {
+            if (percentile <= 0 || percentile > 1) {
+                throw new IllegalArgumentException("percentile must be in (0, 1]");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * @param minDelayMillis shortest time in milliseconds a request waits before it is hedged
+         */
+        public Builder minDelayMillis(final long minDelayMillis) {
+            if (minDelayMillis < 0) {
+                throw new IllegalArgumentException("min delay can not be negative");
+            }
+            this.minDelayMillis = minDelayMillis;
+            return this;
+        }
+
+        /**
+         * @param windowSize number of most recent latencies kept per endpoint
+         */
+        public Builder windowSize(final int windowSize) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("window size must be at least 1");
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * @param minSamples number of latencies of an endpoint needed before its requests are hedged
+         */
+        public Builder minSamples(final int minSamples) {
+            if (minSamples < 1) {
+                throw new IllegalArgumentException("min samples must be at least 1");
+            }
+            this.minSamples = minSamples;
+            return this;
+        }
+
+        /**
+         * @param executor runs the competing requests; a cached thread pool by default
+         */
+        public Builder executor(@NonNull final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
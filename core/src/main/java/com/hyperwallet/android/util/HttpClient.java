@@ -21,20 +21,27 @@ import androidx.annotation.RestrictTo;
 
 import com.hyperwallet.android.exception.HyperwalletInvalidRequestPathException;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
+import java.io.PushbackInputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
 
 /**
  * {@code HttpClient} object represents routine on making HTTP calls to Hyperwallet Platforms' API
@@ -43,10 +50,29 @@ import javax.net.ssl.HttpsURLConnection;
 public final class HttpClient {
     private static final String TAG = HttpClient.class.getName();
     private static final int DEFAULT_TIMEOUT = 30_000;
+    private static final String HTTP_HEADER_CONTENT_ENCODING = "Content-Encoding";
+    private static final String ENCODING_GZIP = "gzip";
+    private static final String ENCODING_DEFLATE = "deflate";
+    private static final String HTTP_METHOD_HEAD = "HEAD";
+
+    /**
+     * Value of the {@code Accept-Encoding} header for the encodings {@link #getResponseBody()} decodes
+     */
+    public static final String ACCEPT_ENCODING = ENCODING_GZIP + ", " + ENCODING_DEFLATE;
+    /**
+     * {@link Builder#requestCompressionThreshold(int)} value that disables request body compression
+     */
+    public static final int NO_REQUEST_COMPRESSION = -1;
 
     private final Map<String, String> mQueryMap;
     private final Map<String, String> mHeaderMap;
     private final HttpURLConnection mHttpUrlConnection;
+    private final ConnectionPool mConnectionPool;
+    private final ByteCounter mByteCounter;
+    private final String mEndpoint;
+    private final int mRequestCompressionThreshold;
+    private final RequestEventListener mEventListener;
+    private final String mContextId;
 
     /**
      * Construct a {@code HttpClient} object fom {@link HttpClient.Builder}
@@ -55,6 +81,12 @@ public final class HttpClient {
         mHeaderMap = builder.mHeaderMap;
         mQueryMap = builder.mQueryMap;
         mHttpUrlConnection = builder.mHttpUrlConnection;
+        mConnectionPool = builder.mConnectionPool;
+        mByteCounter = builder.mByteCounter;
+        mEndpoint = builder.mEndpoint;
+        mRequestCompressionThreshold = builder.mRequestCompressionThreshold;
+        mEventListener = builder.mEventListener;
+        mContextId = builder.mContextId;
     }
 
     /**
@@ -72,9 +104,7 @@ public final class HttpClient {
      * @throws IOException
      */
     public String getResponse() throws IOException {
-        InputStream in = isSuccess(getResponseCode()) ? mHttpUrlConnection.getInputStream()
-                : mHttpUrlConnection.getErrorStream();
-
+        InputStream in = getResponseBody();
         try {
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             byte[] buffer = new byte[1024];
@@ -85,10 +115,56 @@ public final class HttpClient {
             return new String(out.toByteArray(), StandardCharsets.UTF_8.name());
         } finally {
             in.close();
-            disconnect();
         }
     }
 
+    /**
+     * Returns the response body stream, decoded when the response {@code Content-Encoding} is gzip or deflate;
+     * closing the stream releases the connection to the {@link ConnectionPool} when it was read to the end,
+     * otherwise the connection is disconnected
+     *
+     * @return response body stream, an empty stream if the response has no body
+     * @throws IOException
+     */
+    public InputStream getResponseBody() throws IOException {
+        InputStream in = isSuccess(getResponseCode()) ? mHttpUrlConnection.getInputStream()
+                : mHttpUrlConnection.getErrorStream();
+        if (in == null) {
+            return new ResponseBodyInputStream(new ByteArrayInputStream(new byte[0]), null);
+        }
+
+        CountingInputStream wire = new CountingInputStream(in);
+        String contentEncoding = mHttpUrlConnection.getHeaderField(HTTP_HEADER_CONTENT_ENCODING);
+        contentEncoding = contentEncoding == null ? "" : contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (!ENCODING_GZIP.equals(contentEncoding) && !ENCODING_DEFLATE.equals(contentEncoding)) {
+            return new ResponseBodyInputStream(wire, wire);
+        }
+
+        // an encoded response can still have no body at all, e.g. 204 No Content
+        PushbackInputStream encoded = new PushbackInputStream(wire, 1);
+        int first = encoded.read();
+        if (first == -1) {
+            return new ResponseBodyInputStream(encoded, wire);
+        }
+        encoded.unread(first);
+        return new ResponseBodyInputStream(ENCODING_GZIP.equals(contentEncoding) ? new GZIPInputStream(encoded)
+                : new InflaterInputStream(encoded), wire);
+    }
+
+    /**
+     * @return Map of key-value paired HTTP response header information, only the last value of a repeated header
+     * is kept
+     */
+    public Map<String, String> getResponseHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : mHttpUrlConnection.getHeaderFields().entrySet()) {
+            if (header.getKey() != null && !header.getValue().isEmpty()) {
+                headers.put(header.getKey(), header.getValue().get(header.getValue().size() - 1));
+            }
+        }
+        return headers;
+    }
+
     /**
      * @return Map of key-value paired HTTP query information
      */
@@ -116,7 +192,30 @@ public final class HttpClient {
      * @throws IOException
      */
     public int get() throws IOException {
-        return getResponseCode();
+        connect();
+        mEventListener.onRequestWritten(mContextId, mEndpoint, 0);
+        return readResponseCode();
+    }
+
+    /**
+     * Executes a {@code HEAD} operation and consumes its empty response, so the connection is released to the
+     * {@link ConnectionPool}
+     *
+     * @return HTTP response code
+     * @throws IOException
+     */
+    public int head() throws IOException {
+        mHttpUrlConnection.setRequestMethod(HTTP_METHOD_HEAD);
+        int code = getResponseCode();
+        InputStream in = getResponseBody();
+        try {
+            while (in.read() != -1) {
+                // a HEAD response has no body, reading to the end lets the connection be kept alive
+            }
+        } finally {
+            in.close();
+        }
+        return code;
     }
 
     /**
@@ -127,30 +226,116 @@ public final class HttpClient {
      * @throws IOException
      */
     public int post(String data) throws IOException {
-        return submit(HttpMethod.POST.name(), data);
+        return submit(HttpMethod.POST.name(), encode(data));
+    }
+
+    /**
+     * Executes {@link HttpMethod#POST} operation
+     *
+     * @param body request body encoded as UTF-8; {@code null} to send no body
+     * @return HTTP response code
+     * @throws IOException
+     */
+    public int post(byte[] body) throws IOException {
+        return submit(HttpMethod.POST.name(), body);
     }
 
     public int put(String data) throws IOException {
-        return submit(HttpMethod.PUT.name(), data);
+        return submit(HttpMethod.PUT.name(), encode(data));
+    }
+
+    /**
+     * Executes {@link HttpMethod#PUT} operation
+     *
+     * @param body request body encoded as UTF-8; {@code null} to send no body
+     * @return HTTP response code
+     * @throws IOException
+     */
+    public int put(byte[] body) throws IOException {
+        return submit(HttpMethod.PUT.name(), body);
     }
 
-    private int submit(String method, String data) throws IOException {
+    /**
+     * Sends the body with its length known upfront, so the connection streams it instead of buffering a copy
+     */
+    private int submit(String method, byte[] body) throws IOException {
         mHttpUrlConnection.setRequestMethod(method);
         mHttpUrlConnection.setDoOutput(true);
-        writeOutputStream(mHttpUrlConnection.getOutputStream(), data);
-        return getResponseCode();
-    }
+        byte[] wire = body;
+        if (body != null) {
+            if (mRequestCompressionThreshold != NO_REQUEST_COMPRESSION
+                    && body.length >= mRequestCompressionThreshold) {
+                wire = gzip(body);
+                mHttpUrlConnection.setRequestProperty(HTTP_HEADER_CONTENT_ENCODING, ENCODING_GZIP);
+            }
+            mHttpUrlConnection.setFixedLengthStreamingMode(wire.length);
+        }
+        connect();
 
-    private void writeOutputStream(OutputStream outputStream, String data) throws IOException {
-        if (data != null) {
-            Writer out = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8.name());
-            try {
-                out.write(data, 0, data.length());
-                out.flush();
-            } finally {
-                out.close();
+        long writeStartNanos = System.nanoTime();
+        if (wire != null) {
+            writeOutputStream(mHttpUrlConnection.getOutputStream(), wire);
+            if (mByteCounter != null) {
+                mByteCounter.recordSent(mEndpoint, wire.length, body.length);
             }
         }
+        mEventListener.onRequestWritten(mContextId, mEndpoint, System.nanoTime() - writeStartNanos);
+        return readResponseCode();
+    }
+
+    /**
+     * Opens the connection, or takes a kept alive one, and reports how long it took to the
+     * {@link RequestEventListener}
+     */
+    private void connect() throws IOException {
+        long startNanos = System.nanoTime();
+        mHttpUrlConnection.connect();
+        mEventListener.onConnectionAcquired(mContextId, mEndpoint, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Waits for the status line of the response and reports how long it took to the {@link RequestEventListener}
+     */
+    private int readResponseCode() throws IOException {
+        long startNanos = System.nanoTime();
+        int code = getResponseCode();
+        mEventListener.onFirstByte(mContextId, mEndpoint, System.nanoTime() - startNanos);
+        return code;
+    }
+
+    private static byte[] encode(String data) {
+        return data != null ? data.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private void writeOutputStream(OutputStream outputStream, byte[] data) throws IOException {
+        try {
+            outputStream.write(data);
+            outputStream.flush();
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        try {
+            gzip.write(data);
+        } finally {
+            gzip.close();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Leaves the connection to the platform keep-alive cache when the {@link ConnectionPool} keeps connections alive
+     * and its response was fully consumed; otherwise it is disconnected
+     */
+    private void release(boolean consumed) {
+        if (consumed && mConnectionPool != null && mConnectionPool.isKeepAliveEnabled()) {
+            return;
+        }
+        disconnect();
     }
 
     private void disconnect() {
@@ -163,6 +348,119 @@ public final class HttpClient {
         return mHttpUrlConnection.getResponseCode();
     }
 
+    /**
+     * Appends the query to the URL, names and values are percent-encoded so that a {@code &}, {@code =} or space in
+     * a value can not alter the query
+     */
+    static void appendQuery(final StringBuilder url, final Map<String, String> queryMap) {
+        boolean first = true;
+        for (Map.Entry<String, String> query : queryMap.entrySet()) {
+            url.append(first ? '?' : '&');
+            first = false;
+            UrlEncoding.appendQueryComponent(url, query.getKey());
+            url.append('=');
+            UrlEncoding.appendQueryComponent(url, String.valueOf(query.getValue()));
+        }
+    }
+
+    /**
+     * Stream that counts the bytes read through it
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long mCount;
+
+        CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value != -1) {
+                mCount++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                mCount += count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            mCount += skipped;
+            return skipped;
+        }
+
+        long getCount() {
+            return mCount;
+        }
+    }
+
+    /**
+     * Decoded body stream that records the transferred bytes and releases the connection once it is closed
+     */
+    private final class ResponseBodyInputStream extends FilterInputStream {
+        private final CountingInputStream mWire;
+        private long mDecodedCount;
+        private boolean mExhausted;
+        private boolean mClosed;
+
+        ResponseBodyInputStream(final InputStream in, final CountingInputStream wire) {
+            super(in);
+            mWire = wire;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            mExhausted = value == -1;
+            if (!mExhausted) {
+                mDecodedCount++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            mExhausted = count == -1;
+            if (count > 0) {
+                mDecodedCount += count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            mDecodedCount += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (mClosed) {
+                return;
+            }
+            mClosed = true;
+            try {
+                super.close();
+            } finally {
+                if (mByteCounter != null && mWire != null) {
+                    mByteCounter.recordReceived(mEndpoint, mWire.getCount(), mDecodedCount);
+                }
+                release(mExhausted);
+            }
+        }
+    }
+
     /**
      * Builder for {@link HttpClient}
      */
@@ -170,12 +468,19 @@ public final class HttpClient {
 
         private final String mBaseUrl;
         private final Map<String, String> mQueryMap;
-        private final Map<String, String> mHeaderMap;
+        private Headers mHeaderMap = Headers.EMPTY;
         private int mConnectTimeout;
         private int mReadTimeout;
 
         private String mPath;
         private HttpURLConnection mHttpUrlConnection;
+        private ConnectionPool mConnectionPool;
+        private SSLSocketFactory mSslSocketFactory;
+        private ByteCounter mByteCounter;
+        private String mEndpoint;
+        private int mRequestCompressionThreshold;
+        private RequestEventListener mEventListener = RequestEventListener.NONE;
+        private String mContextId;
 
         /**
          * Construct a builder with base URL
@@ -184,13 +489,13 @@ public final class HttpClient {
         public Builder(final String baseUrl) {
             mBaseUrl = baseUrl;
             mQueryMap = new HashMap<>();
-            mHeaderMap = new HashMap<>();
             mConnectTimeout = DEFAULT_TIMEOUT;
             mReadTimeout = DEFAULT_TIMEOUT;
+            mRequestCompressionThreshold = NO_REQUEST_COMPRESSION;
         }
 
         public Builder putHeaders(final Map<String, String> headers) {
-            mHeaderMap.putAll(headers);
+            mHeaderMap = mHeaderMap.withAll(headers);
             return this;
         }
 
@@ -204,6 +509,70 @@ public final class HttpClient {
             return this;
         }
 
+        /**
+         * Defines the {@link ConnectionPool} that keeps connections alive between requests, when not set
+         * the connection is disconnected once the response is read
+         *
+         * @param connectionPool pool deciding whether connections are kept alive
+         */
+        public Builder connectionPool(final ConnectionPool connectionPool) {
+            mConnectionPool = connectionPool;
+            return this;
+        }
+
+        /**
+         * Defines the {@link SSLSocketFactory} set on the connection, when not set the process wide
+         * {@link Tls12SocketFactory#getSharedInstance()} is used
+         *
+         * @param sslSocketFactory factory sharing the TLS session cache between connections
+         */
+        public Builder sslSocketFactory(final SSLSocketFactory sslSocketFactory) {
+            mSslSocketFactory = sslSocketFactory;
+            return this;
+        }
+
+        /**
+         * Defines the {@link ByteCounter} that records the wire and decoded bytes of this request and its response
+         *
+         * @param byteCounter counter to record into
+         * @param endpoint    endpoint the bytes are recorded under
+         */
+        public Builder byteCounter(final ByteCounter byteCounter, final String endpoint) {
+            mByteCounter = byteCounter;
+            mEndpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * Defines the {@link RequestEventListener} the connection, write and first byte timings of this request are
+         * reported to
+         *
+         * @param eventListener listener to report to
+         * @param contextId     {@code X-Sdk-ContextId} reported with every event; {@code null} if there is none
+         * @param endpoint      endpoint the timings are reported under
+         */
+        public Builder eventListener(final RequestEventListener eventListener, final String contextId,
+                final String endpoint) {
+            mEventListener = eventListener;
+            mContextId = contextId;
+            mEndpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * Defines the request body size in bytes from which bodies are sent gzip compressed, request bodies are
+         * not compressed by default
+         *
+         * @param bytes minimum body size to compress; {@link #NO_REQUEST_COMPRESSION} to never compress
+         */
+        public Builder requestCompressionThreshold(int bytes) {
+            if (bytes < 0 && bytes != NO_REQUEST_COMPRESSION) {
+                throw new IllegalArgumentException("request compression threshold can not be negative");
+            }
+            mRequestCompressionThreshold = bytes;
+            return this;
+        }
+
         /***
          * Defines the connection timeout value in milliseconds for new connections, to define the maximum
          * time to establish a connection with the server.
@@ -242,16 +611,13 @@ public final class HttpClient {
                 url.append(mPath);
             }
 
-            url.append(buildQuery());
-
-            try {
-                HttpsURLConnection.setDefaultSSLSocketFactory(new Tls12SocketFactory());
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            appendQuery(url, mQueryMap);
 
             URI uri = new URI(url.toString());
             mHttpUrlConnection = (HttpURLConnection) uri.toURL().openConnection();
+            if (mHttpUrlConnection instanceof HttpsURLConnection) {
+                initSslSocketFactory((HttpsURLConnection) mHttpUrlConnection);
+            }
             mHttpUrlConnection.setConnectTimeout(mConnectTimeout);
             mHttpUrlConnection.setReadTimeout(mReadTimeout);
 
@@ -259,26 +625,18 @@ public final class HttpClient {
             return new HttpClient(this);
         }
 
-        private String buildQuery() {
-            StringBuilder stringBuilder = new StringBuilder();
-            if (!mQueryMap.isEmpty()) {
-                for (String key : mQueryMap.keySet()) {
-                    if (stringBuilder.length() == 0) {
-                        stringBuilder.append("?");
-                    } else {
-                        stringBuilder.append("&");
-                    }
-                    stringBuilder.append(key).append("=").append(mQueryMap.get(key));
-                }
+        private void initSslSocketFactory(final HttpsURLConnection httpsUrlConnection) {
+            try {
+                httpsUrlConnection.setSSLSocketFactory(mSslSocketFactory != null ? mSslSocketFactory
+                        : Tls12SocketFactory.getSharedInstance());
+            } catch (Exception e) {
+                e.printStackTrace();
             }
-            return stringBuilder.toString();
         }
 
         private void initHeader() {
-            if (!mHeaderMap.isEmpty()) {
-                for (String key : mHeaderMap.keySet()) {
-                    mHttpUrlConnection.setRequestProperty(key, mHeaderMap.get(key));
-                }
+            for (Map.Entry<String, String> header : mHeaderMap.entrySet()) {
+                mHttpUrlConnection.setRequestProperty(header.getKey(), header.getValue());
             }
         }
     }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import android.os.CancellationSignal;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code HttpRequest} represents a request sent through a {@link HttpTransport}
+ */
+public final class HttpRequest {
+
+    private final HttpMethod mMethod;
+    private final String mUrl;
+    private final Map<String, String> mHeaders;
+    private final byte[] mBody;
+    private final String mEndpoint;
+    private final String mContextId;
+    private final RequestEventListener mEventListener;
+    private final CancellationSignal mCancellationSignal;
+
+    private HttpRequest(@NonNull final Builder builder) {
+        mMethod = builder.method;
+        mUrl = builder.buildUrl();
+        mHeaders = builder.headers;
+        mBody = builder.body;
+        mEndpoint = builder.endpoint != null ? builder.endpoint
+                : builder.method.name() + " " + (builder.path != null ? builder.path : "");
+        mContextId = builder.contextId;
+        mEventListener = builder.eventListener;
+        mCancellationSignal = builder.cancellationSignal;
+    }
+
+    private HttpRequest(@NonNull final HttpRequest request, @Nullable final CancellationSignal cancellationSignal) {
+        mMethod = request.mMethod;
+        mUrl = request.mUrl;
+        mHeaders = request.mHeaders;
+        mBody = request.mBody;
+        mEndpoint = request.mEndpoint;
+        mContextId = request.mContextId;
+        mEventListener = request.mEventListener;
+        mCancellationSignal = cancellationSignal;
+    }
+
+    /**
+     * @return HTTP method of this request
+     */
+    @NonNull
+    public HttpMethod getMethod() {
+        return mMethod;
+    }
+
+    /**
+     * @return absolute URL including path and query
+     */
+    @NonNull
+    public String getUrl() {
+        return mUrl;
+    }
+
+    /**
+     * @return Map of key-value paired HTTP header information
+     */
+    @NonNull
+    public Map<String, String> getHeaders() {
+        return mHeaders;
+    }
+
+    /**
+     * @return serialized request body; {@code null} if the request has no body
+     */
+    @Nullable
+    public String getBody() {
+        return mBody != null ? new String(mBody, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * @return request body encoded as UTF-8, the array is shared and must not be modified; {@code null} if the
+     * request has no body
+     */
+    @Nullable
+    public byte[] getBodyBytes() {
+        return mBody;
+    }
+
+    /**
+     * @return name under which this request is reported, e.g. {@code GET users/{0}/receipts}; defaults to the
+     * method and path of the request
+     */
+    @NonNull
+    public String getEndpoint() {
+        return mEndpoint;
+    }
+
+    /**
+     * @return {@code X-Sdk-ContextId} reported with the events of this request; {@code null} if it has none
+     */
+    @Nullable
+    public String getContextId() {
+        return mContextId;
+    }
+
+    /**
+     * @return listener the transport reports the connection, write and first byte timings of this request to
+     */
+    @NonNull
+    public RequestEventListener getEventListener() {
+        return mEventListener;
+    }
+
+    /**
+     * @return signal that aborts this request while its connection is opened, written or read; {@code null} if the
+     * request can not be aborted
+     */
+    @Nullable
+    public CancellationSignal getCancellationSignal() {
+        return mCancellationSignal;
+    }
+
+    /**
+     * @param cancellationSignal signal that aborts the request; {@code null} if the request can not be aborted
+     * @return copy of this request aborted through {@code cancellationSignal}
+     */
+    @NonNull
+    public HttpRequest withCancellationSignal(@Nullable final CancellationSignal cancellationSignal) {
+        return new HttpRequest(this, cancellationSignal);
+    }
+
+    /**
+     * Builder for {@link HttpRequest}
+     */
+    public static final class Builder {
+        private final HttpMethod method;
+        private final String baseUrl;
+        private final Map<String, String> queries;
+        private Headers headers = Headers.EMPTY;
+        private String path;
+        private byte[] body;
+        private String endpoint;
+        private String contextId;
+        private RequestEventListener eventListener = RequestEventListener.NONE;
+        private CancellationSignal cancellationSignal;
+
+        /**
+         * Construct a builder with the HTTP method and base URL
+         *
+         * @param method  HTTP method to use
+         * @param baseUrl location of the api
+         */
+        public Builder(@NonNull final HttpMethod method, @NonNull final String baseUrl) {
+            this.method = method;
+            this.baseUrl = baseUrl;
+            queries = new HashMap<>();
+        }
+
+        public Builder path(@Nullable final String path) {
+            this.path = path;
+            return this;
+        }
+
+        public Builder putHeaders(@NonNull final Map<String, String> headers) {
+            this.headers = this.headers.withAll(headers);
+            return this;
+        }
+
+        public Builder putQueries(@NonNull final Map<String, String> queries) {
+            this.queries.putAll(queries);
+            return this;
+        }
+
+        public Builder body(@Nullable final String body) {
+            this.body = body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+            return this;
+        }
+
+        /**
+         * @param body request body encoded as UTF-8, it is sent without being copied
+         */
+        public Builder body(@Nullable final byte[] body) {
+            this.body = body;
+            return this;
+        }
+
+        /**
+         * Defines the name under which the request is reported, requests to the same api with different
+         * parameters should share one endpoint name
+         *
+         * @param endpoint endpoint name
+         */
+        public Builder endpoint(@Nullable final String endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * Defines where the timings of the request are reported
+         *
+         * @param eventListener listener notified of the timings of the request
+         * @param contextId     {@code X-Sdk-ContextId} reported with every event; {@code null} if there is none
+         */
+        public Builder eventListener(@NonNull final RequestEventListener eventListener,
+                @Nullable final String contextId) {
+            this.eventListener = eventListener;
+            this.contextId = contextId;
+            return this;
+        }
+
+        /**
+         * @param cancellationSignal signal that aborts the request while its connection is opened, written or read;
+         *                           {@code null} if the request can not be aborted
+         */
+        public Builder cancellationSignal(@Nullable final CancellationSignal cancellationSignal) {
+            this.cancellationSignal = cancellationSignal;
+            return this;
+        }
+
+        public HttpRequest build() {
+            return new HttpRequest(this);
+        }
+
+        private String buildUrl() {
+            StringBuilder url = new StringBuilder(baseUrl);
+            if (path != null) {
+                url.append(path);
+            }
+            HttpClient.appendQuery(url, queries);
+            return url.toString();
+        }
+    }
+}
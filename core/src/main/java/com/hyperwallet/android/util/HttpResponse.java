@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code HttpResponse} represents the status, headers and body stream returned by a {@link HttpTransport}.
+ *
+ * <p>The body stream holds on to the underlying connection; it has to be fully read and closed, either directly
+ * or through {@link #close()}, so the connection can be released.</p>
+ */
+public final class HttpResponse implements Closeable {
+
+    private final int mCode;
+    private final Map<String, String> mHeaders;
+    private final InputStream mBody;
+
+    /**
+     * Construct a {@code HttpResponse}
+     *
+     * @param code    HTTP response code
+     * @param headers response headers, names are matched case insensitive
+     * @param body    response body stream
+     */
+    public HttpResponse(final int code, @NonNull final Map<String, String> headers, @NonNull final InputStream body) {
+        mCode = code;
+        Map<String, String> caseInsensitiveHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        caseInsensitiveHeaders.putAll(headers);
+        mHeaders = Collections.unmodifiableMap(caseInsensitiveHeaders);
+        mBody = body;
+    }
+
+    /**
+     * @return HTTP response code
+     */
+    public int getCode() {
+        return mCode;
+    }
+
+    /**
+     * @return Map of key-value paired HTTP response header information
+     */
+    @NonNull
+    public Map<String, String> getHeaders() {
+        return mHeaders;
+    }
+
+    /**
+     * @param name header name
+     * @return value of the header; {@code null} if the response does not contain it
+     */
+    @Nullable
+    public String getHeader(@NonNull final String name) {
+        return mHeaders.get(name);
+    }
+
+    /**
+     * @return response body stream
+     */
+    @NonNull
+    public InputStream getBody() {
+        return mBody;
+    }
+
+    /**
+     * Reads the whole body and closes it
+     *
+     * @return Serialized string response
+     * @throws IOException
+     */
+    @NonNull
+    public String getBodyAsString() throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            for (int count; (count = mBody.read(buffer)) != -1; ) {
+                out.write(buffer, 0, count);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8.name());
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        mBody.close();
+    }
+}
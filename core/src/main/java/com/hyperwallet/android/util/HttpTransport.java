@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+/**
+ * {@code HttpTransport} sends an {@link HttpRequest} to a remote host and returns its {@link HttpResponse}.
+ *
+ * <p>Implementations allow the SDK to run on a different HTTP engine than {@link java.net.HttpURLConnection}, or on
+ * an in-process stand-in such as {@link LoopbackTransport}. Implementations must be thread safe and should abort a
+ * request once its {@link HttpRequest#getCancellationSignal()} is cancelled, including while the connection is still
+ * being opened.</p>
+ */
+public interface HttpTransport {
+
+    /**
+     * Executes the request and blocks until the response status and headers are available
+     *
+     * @param request the request to send
+     * @return the response; its body must be closed by the caller
+     * @throws IOException if the request could not be sent or the response could not be read
+     */
+    @NonNull
+    HttpResponse execute(@NonNull HttpRequest request) throws IOException;
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import android.os.CancellationSignal;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.util.Collections;
+
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * {@code HttpUrlConnectionTransport} is the default {@link HttpTransport}, it sends requests through
+ * {@link HttpClient} on top of {@link java.net.HttpURLConnection}; responses are requested gzip or deflate encoded
+ * and decoded transparently
+ */
+public final class HttpUrlConnectionTransport implements HttpTransport {
+
+    private static final String HTTP_HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+
+    private final ConnectionPool mConnectionPool;
+    private final SSLSocketFactory mSslSocketFactory;
+    private final ByteCounter mByteCounter;
+    private final int mRequestCompressionThreshold;
+
+    /**
+     * Construct a {@code HttpUrlConnectionTransport} that disconnects after every request
+     */
+    public HttpUrlConnectionTransport() {
+        this(new Builder());
+    }
+
+    /**
+     * Construct a {@code HttpUrlConnectionTransport}
+     *
+     * @param connectionPool   pool that keeps connections alive between requests; {@code null} to disconnect after
+     *                         every request
+     * @param sslSocketFactory factory set on every HTTPS connection; {@code null} to use
+     *                         {@link Tls12SocketFactory#getSharedInstance()}
+     */
+    public HttpUrlConnectionTransport(@Nullable final ConnectionPool connectionPool,
+            @Nullable final SSLSocketFactory sslSocketFactory) {
+        this(new Builder().connectionPool(connectionPool).sslSocketFactory(sslSocketFactory));
+    }
+
+    private HttpUrlConnectionTransport(@NonNull final Builder builder) {
+        mConnectionPool = builder.connectionPool;
+        mSslSocketFactory = builder.sslSocketFactory;
+        mByteCounter = builder.byteCounter;
+        mRequestCompressionThreshold = builder.requestCompressionThreshold;
+    }
+
+    @NonNull
+    @Override
+    public HttpResponse execute(@NonNull final HttpRequest request) throws IOException {
+        HttpClient client;
+        try {
+            client = new HttpClient.Builder(request.getUrl()).putHeaders(request.getHeaders())
+                    .putHeaders(Collections.singletonMap(HTTP_HEADER_ACCEPT_ENCODING, HttpClient.ACCEPT_ENCODING))
+                    .connectionPool(mConnectionPool).sslSocketFactory(mSslSocketFactory)
+                    .byteCounter(mByteCounter, request.getEndpoint())
+                    .eventListener(request.getEventListener(), request.getContextId(), request.getEndpoint())
+                    .requestCompressionThreshold(mRequestCompressionThreshold).build();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid request url " + request.getUrl(), e);
+        }
+
+        final HttpURLConnection connection = client.getHttpUrlConnection();
+        CancellationSignal cancellationSignal = request.getCancellationSignal();
+        if (cancellationSignal != null) {
+            // disconnecting aborts the connection while it is opened, the body is written or the response is read
+            cancellationSignal.setOnCancelListener(new CancellationSignal.OnCancelListener() {
+                @Override
+                public void onCancel() {
+                    connection.disconnect();
+                }
+            });
+            if (cancellationSignal.isCanceled()) {
+                throw new InterruptedIOException("Cancelled " + request.getEndpoint());
+            }
+        }
+
+        int code;
+        switch (request.getMethod()) {
+            case GET:
+                code = client.get();
+                break;
+            case PUT:
+                code = client.put(request.getBodyBytes());
+                break;
+            case POST:
+                code = client.post(request.getBodyBytes());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported http method");
+        }
+        if (cancellationSignal != null && cancellationSignal.isCanceled()) {
+            connection.disconnect();
+            throw new InterruptedIOException("Cancelled " + request.getEndpoint());
+        }
+        return new HttpResponse(code, client.getResponseHeaders(), client.getResponseBody());
+    }
+
+    /**
+     * Builder for {@link HttpUrlConnectionTransport}
+     */
+    public static final class Builder {
+        private ConnectionPool connectionPool;
+        private SSLSocketFactory sslSocketFactory;
+        private ByteCounter byteCounter;
+        private int requestCompressionThreshold = HttpClient.NO_REQUEST_COMPRESSION;
+
+        /**
+         * @param connectionPool pool that keeps connections alive between requests; {@code null} to disconnect
+         *                       after every request
+         */
+        public Builder connectionPool(@Nullable final ConnectionPool connectionPool) {
+            this.connectionPool = connectionPool;
+            return this;
+        }
+
+        /**
+         * @param sslSocketFactory factory set on every HTTPS connection; {@code null} to use
+         *                         {@link Tls12SocketFactory#getSharedInstance()}
+         */
+        public Builder sslSocketFactory(@Nullable final SSLSocketFactory sslSocketFactory) {
+            this.sslSocketFactory = sslSocketFactory;
+            return this;
+        }
+
+        /**
+         * @param byteCounter counter recording wire and decoded bytes per endpoint; {@code null} to not count
+         */
+        public Builder byteCounter(@Nullable final ByteCounter byteCounter) {
+            this.byteCounter = byteCounter;
+            return this;
+        }
+
+        /**
+         * @param bytes request body size from which bodies are sent gzip compressed;
+         *              {@link HttpClient#NO_REQUEST_COMPRESSION} to never compress, the default
+         */
+        public Builder requestCompressionThreshold(final int bytes) {
+            if (bytes < 0 && bytes != HttpClient.NO_REQUEST_COMPRESSION) {
+                throw new IllegalArgumentException("request compression threshold can not be negative");
+            }
+            requestCompressionThreshold = bytes;
+            return this;
+        }
+
+        public HttpUrlConnectionTransport build() {
+            return new HttpUrlConnectionTransport(this);
+        }
+    }
+}
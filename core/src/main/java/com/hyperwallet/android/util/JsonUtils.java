@@ -16,6 +16,10 @@
  */
 package com.hyperwallet.android.util;
 
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.MalformedJsonException;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
@@ -27,9 +31,15 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -175,14 +185,121 @@ public final class JsonUtils {
         if (typeReference.getType() instanceof Class<?>) {
             return fromJsonString(data, (Class<T>) typeReference.getType());
         }
+        return fromJsonObject(new JSONObject(data), typeReference);
+    }
+
+    /**
+     * Streaming counterpart of {@link #fromJsonString(String, TypeReference)}, reads the JSON tokens directly from
+     * {@code inputStream} so the serialized payload is never held in memory as a whole; neither as bytes nor as a
+     * {@code String}.
+     *
+     * @param inputStream   UTF-8 encoded JSON data, not closed by this method
+     * @param typeReference Type of class specified by {@code T}, that we want to derive based from JSON response
+     *                      context
+     * @return the T representation equivalent from JSON data; {@code null} if the stream is empty
+     */
+    @Nullable
+    public static <T> T fromJsonStream(@NonNull final InputStream inputStream,
+            @NonNull final TypeReference<T> typeReference) throws IOException, JSONException,
+            InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        PushbackInputStream in = new PushbackInputStream(inputStream, 1);
+        int first;
+        do {
+            first = in.read();
+        } while (first != -1 && Character.isWhitespace(first));
+        if (first == -1) {
+            return null;
+        }
+        in.unread(first);
+
+        JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        JSONObject jsonObject;
+        try {
+            jsonObject = readJsonObject(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JSONException("Unexpected content after the JSON object");
+            }
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+            // a truncated or malformed body is a parse error, like in fromJsonString
+            throw new JSONException(e.getMessage());
+        }
+        return fromJsonObject(jsonObject, typeReference);
+    }
+
+    @Nullable
+    private static <T> T fromJsonObject(@NonNull final JSONObject jsonObject,
+            @NonNull final TypeReference<T> typeReference) throws InvocationTargetException, NoSuchMethodException,
+            InstantiationException, IllegalAccessException {
+        if (typeReference.getType() instanceof Class<?>) {
+            Constructor<T> constructor = ((Class<T>) typeReference.getType()).getConstructor(JSONObject.class);
+            return constructor.newInstance(jsonObject);
+        }
         Class<T> rawType = (Class<T>) ((ParameterizedType) typeReference.getType()).getRawType();
         Class<T> parameterType =
                 (Class<T>) ((ParameterizedType) typeReference.getType()).getActualTypeArguments()[0];
-        JSONObject jsonObject = new JSONObject(data);
         Constructor<T> rawTypeConstructor = rawType.getConstructor(JSONObject.class, parameterType.getClass());
         return rawTypeConstructor.newInstance(jsonObject, parameterType);
     }
 
+    @NonNull
+    private static JSONObject readJsonObject(@NonNull final JsonReader reader) throws IOException, JSONException {
+        JSONObject jsonObject = new JSONObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            jsonObject.put(reader.nextName(), readJsonValue(reader));
+        }
+        reader.endObject();
+        return jsonObject;
+    }
+
+    @NonNull
+    private static JSONArray readJsonArray(@NonNull final JsonReader reader) throws IOException, JSONException {
+        JSONArray jsonArray = new JSONArray();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            jsonArray.put(readJsonValue(reader));
+        }
+        reader.endArray();
+        return jsonArray;
+    }
+
+    /**
+     * Reads the next value the same way {@link org.json.JSONTokener} would, numbers are read as {@link Integer}
+     * or {@link Long} when they fit, otherwise as {@link Double}
+     */
+    @NonNull
+    private static Object readJsonValue(@NonNull final JsonReader reader) throws IOException, JSONException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readJsonObject(reader);
+            case BEGIN_ARRAY:
+                return readJsonArray(reader);
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            case NUMBER:
+                String number = reader.nextString();
+                if (number.indexOf('.') == -1 && number.indexOf('e') == -1 && number.indexOf('E') == -1) {
+                    try {
+                        long longValue = Long.parseLong(number);
+                        if (longValue <= Integer.MAX_VALUE && longValue >= Integer.MIN_VALUE) {
+                            return (int) longValue;
+                        }
+                        return longValue;
+                    } catch (NumberFormatException e) {
+                        // too large for a long, read as double
+                    }
+                }
+                return Double.valueOf(number);
+            case STRING:
+                return reader.nextString();
+            default:
+                throw new JSONException("Unexpected token " + reader.peek());
+        }
+    }
+
     /**
      * Class type reference deserialization implementation that derives a simplest generic form from {@code Class<T>}
      * format
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code LatencyHistogram} counts latencies in log-linear buckets: every power of two of microseconds is split in
+ * eight linear buckets, so a percentile is reported at most 12.5% above the latency recorded from one microsecond up
+ * to several hours. Latencies below one microsecond are counted as one, those above the highest bucket in the
+ * highest bucket.
+ *
+ * <p>Recording is lock free and does not allocate, so it can be called on every request.</p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 35;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray mCounts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * @param latencyNanos latency to count
+     */
+    public void record(final long latencyNanos) {
+        mCounts.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    /**
+     * @return latencies counted so far; counts recorded while the snapshot is taken may or may not be included
+     */
+    @NonNull
+    public Snapshot getSnapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] = mCounts.get(bucket);
+            count += counts[bucket];
+        }
+        return new Snapshot(counts, count);
+    }
+
+    static int bucketOf(final long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) Math.max(micros, 1);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * @return highest latency in microseconds counted in {@code bucket}
+     */
+    static long upperBoundOf(final int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * Latencies counted by a {@link LatencyHistogram} at one point in time
+     */
+    public static final class Snapshot {
+        private final long[] mCounts;
+        private final long mCount;
+
+        private Snapshot(@NonNull final long[] counts, final long count) {
+            mCounts = counts;
+            mCount = count;
+        }
+
+        /**
+         * @return number of latencies counted
+         */
+        public long getCount() {
+            return mCount;
+        }
+
+        /**
+         * @param percentile in (0, 1], e.g. {@code 0.99}
+         * @return latency in milliseconds at or below which the {@code percentile} of the latencies are; {@code 0}
+         * if no latency was counted
+         */
+        public double getPercentileMillis(final double percentile) {
+            if (percentile <= 0 || percentile > 1) {
+                throw new IllegalArgumentException("percentile must be in (0, 1]");
+            }
+            long rank = (long) Math.ceil(percentile * mCount);
+            long seen = 0;
+            for (int bucket = 0; bucket < mCounts.length; bucket++) {
+                seen += mCounts[bucket];
+                if (seen >= rank && seen > 0) {
+                    return upperBoundOf(bucket) / 1000.0;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return median latency in milliseconds
+         */
+        public double getP50Millis() {
+            return getPercentileMillis(0.5);
+        }
+
+        /**
+         * @return 90th percentile latency in milliseconds
+         */
+        public double getP90Millis() {
+            return getPercentileMillis(0.9);
+        }
+
+        /**
+         * @return 99th percentile latency in milliseconds
+         */
+        public double getP99Millis() {
+            return getPercentileMillis(0.99);
+        }
+    }
+}
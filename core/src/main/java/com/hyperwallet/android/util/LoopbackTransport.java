@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code LoopbackTransport} is an in-memory {@link HttpTransport} that answers every request from a
+ * {@link Responder} without touching the network. It is meant for benchmarks and load tests that measure the SDK
+ * overhead apart from network time.
+ */
+public final class LoopbackTransport implements HttpTransport {
+
+    private final Responder mResponder;
+    private final AtomicLong mRequestCount;
+
+    /**
+     * Construct a {@code LoopbackTransport}
+     *
+     * @param responder produces the response of every request
+     */
+    public LoopbackTransport(@NonNull final Responder responder) {
+        mResponder = responder;
+        mRequestCount = new AtomicLong();
+    }
+
+    /**
+     * Construct a {@code LoopbackTransport} that answers every request with the same response
+     *
+     * @param code HTTP response code
+     * @param body serialized response body
+     * @return {@code LoopbackTransport} instance
+     */
+    public static LoopbackTransport withResponse(final int code, @NonNull final String body) {
+        final byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        return new LoopbackTransport(new Responder() {
+            @NonNull
+            @Override
+            public HttpResponse respond(@NonNull final HttpRequest request) {
+                return response(code, content);
+            }
+        });
+    }
+
+    /**
+     * Creates a response without headers whose body stream reads {@code content}
+     *
+     * @param code    HTTP response code
+     * @param content response body
+     * @return {@link HttpResponse}
+     */
+    public static HttpResponse response(final int code, @NonNull final byte[] content) {
+        return new HttpResponse(code, Collections.<String, String>emptyMap(), new ByteArrayInputStream(content));
+    }
+
+    @NonNull
+    @Override
+    public HttpResponse execute(@NonNull final HttpRequest request) {
+        mRequestCount.incrementAndGet();
+        return mResponder.respond(request);
+    }
+
+    /**
+     * @return number of requests executed by this transport
+     */
+    public long getRequestCount() {
+        return mRequestCount.get();
+    }
+
+    /**
+     * Produces the in-memory response of a request
+     */
+    public interface Responder {
+
+        /**
+         * @param request the request sent to the transport
+         * @return response returned to the SDK
+         */
+        @NonNull
+        HttpResponse respond(@NonNull HttpRequest request);
+    }
+}
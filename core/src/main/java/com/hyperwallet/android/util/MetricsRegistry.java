@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code MetricsRegistry} keeps, per endpoint, a {@link LatencyHistogram} of the request latencies along with the
+ * number of successes and of failures per error code, see {@link com.hyperwallet.android.ExceptionMapper}.
+ *
+ * <p>Recording is lock free and, once an endpoint and error code were seen, does not allocate. Bytes sent and
+ * received are read from the {@link ByteCounter} the registry is created with when a snapshot is taken.</p>
+ */
+public final class MetricsRegistry {
+
+    private final ConcurrentMap<String, Entry> mEntries = new ConcurrentHashMap<>();
+    private final ByteCounter mByteCounter;
+
+    /**
+     * Construct a {@code MetricsRegistry} without byte counts
+     */
+    public MetricsRegistry() {
+        this(null);
+    }
+
+    /**
+     * Construct a {@code MetricsRegistry}
+     *
+     * @param byteCounter counter the bytes sent and received per endpoint are read from; {@code null} to report none
+     */
+    public MetricsRegistry(@Nullable final ByteCounter byteCounter) {
+        mByteCounter = byteCounter;
+    }
+
+    /**
+     * Records a request that succeeded
+     *
+     * @param endpoint     endpoint of the request, see {@link HttpRequest#getEndpoint()}
+     * @param latencyNanos time the request took
+     */
+    public void recordSuccess(@NonNull final String endpoint, final long latencyNanos) {
+        Entry entry = getOrCreate(endpoint);
+        entry.mLatency.record(latencyNanos);
+        entry.mSuccessCount.incrementAndGet();
+    }
+
+    /**
+     * Records a request that failed
+     *
+     * @param endpoint     endpoint of the request, see {@link HttpRequest#getEndpoint()}
+     * @param latencyNanos time the request took
+     * @param errorCode    code of the error the request failed with
+     */
+    public void recordFailure(@NonNull final String endpoint, final long latencyNanos,
+            @NonNull final String errorCode) {
+        Entry entry = getOrCreate(endpoint);
+        entry.mLatency.record(latencyNanos);
+        AtomicLong failureCount = entry.mFailureCounts.get(errorCode);
+        if (failureCount == null) {
+            AtomicLong created = new AtomicLong();
+            failureCount = entry.mFailureCounts.putIfAbsent(errorCode, created);
+            if (failureCount == null) {
+                failureCount = created;
+            }
+        }
+        failureCount.incrementAndGet();
+    }
+
+    /**
+     * @return Map of endpoint to the metrics recorded for that endpoint
+     */
+    @NonNull
+    public Map<String, Snapshot> getSnapshots() {
+        Map<String, Snapshot> snapshots = new HashMap<>();
+        for (Map.Entry<String, Entry> entry : mEntries.entrySet()) {
+            snapshots.put(entry.getKey(), snapshot(entry.getKey(), entry.getValue()));
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * @param endpoint endpoint to look up
+     * @return metrics recorded for the endpoint, all counts are zero when nothing was recorded yet
+     */
+    @NonNull
+    public Snapshot getSnapshot(@NonNull final String endpoint) {
+        Entry entry = mEntries.get(endpoint);
+        return snapshot(endpoint, entry != null ? entry : new Entry());
+    }
+
+    private Snapshot snapshot(@NonNull final String endpoint, @NonNull final Entry entry) {
+        Map<String, Long> failureCounts = new HashMap<>();
+        for (Map.Entry<String, AtomicLong> failureCount : entry.mFailureCounts.entrySet()) {
+            failureCounts.put(failureCount.getKey(), failureCount.getValue().get());
+        }
+        ByteCounter.Entry bytes = mByteCounter != null ? mByteCounter.getEntry(endpoint) : null;
+        return new Snapshot(entry.mLatency.getSnapshot(), entry.mSuccessCount.get(), failureCounts,
+                bytes != null ? bytes.getWireBytesSent() : 0, bytes != null ? bytes.getWireBytesReceived() : 0);
+    }
+
+    private Entry getOrCreate(final String endpoint) {
+        Entry entry = mEntries.get(endpoint);
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = mEntries.putIfAbsent(endpoint, created);
+            if (entry == null) {
+                entry = created;
+            }
+        }
+        return entry;
+    }
+
+    private static final class Entry {
+        private final LatencyHistogram mLatency = new LatencyHistogram();
+        private final AtomicLong mSuccessCount = new AtomicLong();
+        private final ConcurrentMap<String, AtomicLong> mFailureCounts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Metrics recorded for one endpoint at one point in time
+     */
+    public static final class Snapshot {
+        private final LatencyHistogram.Snapshot mLatency;
+        private final long mSuccessCount;
+        private final Map<String, Long> mFailureCounts;
+        private final long mBytesSent;
+        private final long mBytesReceived;
+
+        private Snapshot(@NonNull final LatencyHistogram.Snapshot latency, final long successCount,
+                @NonNull final Map<String, Long> failureCounts, final long bytesSent, final long bytesReceived) {
+            mLatency = latency;
+            mSuccessCount = successCount;
+            mFailureCounts = Collections.unmodifiableMap(failureCounts);
+            mBytesSent = bytesSent;
+            mBytesReceived = bytesReceived;
+        }
+
+        /**
+         * @return latencies of the successful and failed requests
+         */
+        @NonNull
+        public LatencyHistogram.Snapshot getLatency() {
+            return mLatency;
+        }
+
+        /**
+         * @return number of requests that succeeded
+         */
+        public long getSuccessCount() {
+            return mSuccessCount;
+        }
+
+        /**
+         * @return number of requests that failed
+         */
+        public long getFailureCount() {
+            long failureCount = 0;
+            for (long count : mFailureCounts.values()) {
+                failureCount += count;
+            }
+            return failureCount;
+        }
+
+        /**
+         * @return Map of error code to the number of requests that failed with it
+         */
+        @NonNull
+        public Map<String, Long> getFailureCounts() {
+            return mFailureCounts;
+        }
+
+        /**
+         * @return number of request body bytes written to the connection
+         */
+        public long getBytesSent() {
+            return mBytesSent;
+        }
+
+        /**
+         * @return number of response body bytes read from the connection
+         */
+        public long getBytesReceived() {
+            return mBytesReceived;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code RequestCoalescer} lets identical requests that are in flight at the same time share one network call: the
+ * first caller for a key issues the request, later callers for the same key wait for its result until the request
+ * is completed. The call issued for a key is aborted once every waiter of the key left.
+ *
+ * @param <W> type of the waiters notified with the shared result
+ */
+public final class RequestCoalescer<W> {
+
+    private final Map<String, InFlight<W>> mInFlight = new HashMap<>();
+    private long mIssuedCount;
+    private long mCoalescedCount;
+
+    /**
+     * Registers a waiter for the request identified by {@code key}
+     *
+     * @param key    identifies identical requests
+     * @param waiter notified with the result of the request
+     * @return {@code true} if no identical request is in flight and the caller has to issue it, {@code false} if
+     * the waiter was attached to the request already in flight
+     */
+    public boolean join(@NonNull final String key, @NonNull final W waiter) {
+        return join(key, waiter, null);
+    }
+
+    /**
+     * Registers a waiter for the request identified by {@code key}
+     *
+     * @param key    identifies identical requests
+     * @param waiter notified with the result of the request
+     * @param call   aborts the network call when the caller has to issue it and every waiter left; {@code null} if the
+     *               call can not be aborted
+     * @return {@code true} if no identical request is in flight and the caller has to issue it, {@code false} if
+     * the waiter was attached to the request already in flight
+     */
+    public synchronized boolean join(@NonNull final String key, @NonNull final W waiter, @Nullable final Call call) {
+        InFlight<W> inFlight = mInFlight.get(key);
+        if (inFlight != null) {
+            inFlight.mWaiters.add(waiter);
+            mCoalescedCount++;
+            return false;
+        }
+
+        inFlight = new InFlight<>(call);
+        inFlight.mWaiters.add(waiter);
+        mInFlight.put(key, inFlight);
+        mIssuedCount++;
+        return true;
+    }
+
+    /**
+     * Completes the request identified by {@code key}, requests for the same key joining afterwards are issued anew
+     *
+     * @param key identifies identical requests
+     * @return waiters to notify with the result, in the order they joined; empty if the request was already completed
+     */
+    @NonNull
+    public synchronized List<W> complete(@NonNull final String key) {
+        InFlight<W> inFlight = mInFlight.remove(key);
+        return inFlight != null ? inFlight.mWaiters : Collections.<W>emptyList();
+    }
+
+    /**
+     * Detaches a waiter from the request identified by {@code key}, once the last waiter left the request is
+     * completed, its call is aborted and requests for the same key joining afterwards are issued anew
+     *
+     * @param key    identifies identical requests
+     * @param waiter waiter to detach
+     * @return {@code true} if no waiter is left and the call was aborted
+     */
+    public boolean leave(@NonNull final String key, @NonNull final W waiter) {
+        InFlight<W> inFlight;
+        synchronized (this) {
+            inFlight = mInFlight.get(key);
+            if (inFlight == null || !inFlight.mWaiters.remove(waiter)) {
+                return false;
+            }
+            if (!inFlight.mWaiters.isEmpty()) {
+                return false;
+            }
+            mInFlight.remove(key);
+        }
+        if (inFlight.mCall != null) {
+            inFlight.mCall.abort();
+        }
+        return true;
+    }
+
+    /**
+     * @return number of requests currently in flight
+     */
+    public synchronized int getInFlightCount() {
+        return mInFlight.size();
+    }
+
+    /**
+     * @return number of requests that were issued to the network
+     */
+    public synchronized long getIssuedCount() {
+        return mIssuedCount;
+    }
+
+    /**
+     * @return number of requests that shared the result of a request already in flight
+     */
+    public synchronized long getCoalescedCount() {
+        return mCoalescedCount;
+    }
+
+    /**
+     * @return coalesced requests per issued request; {@code 0} when no request was issued yet
+     */
+    public synchronized double getCoalescedRatio() {
+        return mIssuedCount == 0 ? 0 : (double) mCoalescedCount / mIssuedCount;
+    }
+
+    /**
+     * Network call issued for a key, aborted when every waiter of the key left
+     */
+    public interface Call {
+
+        /**
+         * Aborts the network call, its waiters are not notified anymore
+         */
+        void abort();
+    }
+
+    /**
+     * Waiters and call of one request in flight
+     */
+    private static final class InFlight<W> {
+        private final List<W> mWaiters = new ArrayList<>();
+        private final Call mCall;
+
+        InFlight(@Nullable final Call call) {
+            mCall = call;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * {@code RequestEventListener} is notified where the time of a request goes, from waiting in the queue to the
+ * listener of the request being called back; extend it and override the events of interest, for instance to forward
+ * them to an application performance monitoring tool.
+ *
+ * <p>Every event carries the {@code X-Sdk-ContextId} the request was sent with, {@code null} for requests sent
+ * without one, its endpoint, see {@link HttpRequest#getEndpoint()}, and a duration in nanoseconds. Events are
+ * reported on the thread running the request, except {@link #onListenerDispatched}, which is reported on the thread
+ * the listener of the request is called back on; implementations have to be thread safe and return quickly.</p>
+ *
+ * <p>{@link java.net.HttpURLConnection} does not report DNS, TCP and TLS separately, they are reported together as
+ * {@link #onConnectionAcquired}, which is close to zero when a kept alive connection is reused.</p>
+ */
+public abstract class RequestEventListener {
+
+    /**
+     * Listener ignoring all events
+     */
+    public static final RequestEventListener NONE = new RequestEventListener() {
+    };
+
+    /**
+     * @param contextId     {@code X-Sdk-ContextId} of the request
+     * @param endpoint      endpoint of the request
+     * @param durationNanos time the request waited in the queue of the
+     *                      {@link com.hyperwallet.android.RequestScheduler} before it started
+     */
+    public void onQueueWait(@Nullable final String contextId, @NonNull final String endpoint,
+            final long durationNanos) {
+    }
+
+    /**
+     * @param contextId     {@code X-Sdk-ContextId} of the request
+     * @param endpoint      endpoint of the request
+     * @param durationNanos time taken to resolve the host and open the connection, or to take a kept alive one
+     */
+    public void onConnectionAcquired(@Nullable final String contextId, @NonNull final String endpoint,
+            final long durationNanos) {
+    }
+
+    /**
+     * @param contextId     {@code X-Sdk-ContextId} of the request
+     * @param endpoint      endpoint of the request
+     * @param durationNanos time taken to write the request body, {@code 0} for a request without body
+     */
+    public void onRequestWritten(@Nullable final String contextId, @NonNull final String endpoint,
+            final long durationNanos) {
+    }
+
+    /**
+     * @param contextId     {@code X-Sdk-ContextId} of the request
+     * @param endpoint      endpoint of the request
+     * @param durationNanos time from the request being written until the status line of the response was read
+     */
+    public void onFirstByte(@Nullable final String contextId, @NonNull final String endpoint,
+            final long durationNanos) {
+    }
+
+    /**
+     * @param contextId     {@code X-Sdk-ContextId} of the request
+     * @param endpoint      endpoint of the request
+     * @param durationNanos time spent reading the response body from the connection
+     */
+    public void onBodyRead(@Nullable final String contextId, @NonNull final String endpoint,
+            final long durationNanos) {
+    }
+
+    /**
+     * @param contextId     {@code X-Sdk-ContextId} of the request
+     * @param endpoint      endpoint of the request
+     * @param durationNanos time spent deserializing the response, excluding the time reading the body
+     */
+    public void onJsonParsed(@Nullable final String contextId, @NonNull final String endpoint,
+            final long durationNanos) {
+    }
+
+    /**
+     * @param contextId     {@code X-Sdk-ContextId} of the request
+     * @param endpoint      endpoint of the request
+     * @param durationNanos time from the result being ready until the listener of the request is called back,
+     *                      including the hop to its {@link android.os.Handler}
+     */
+    public void onListenerDispatched(@Nullable final String contextId, @NonNull final String endpoint,
+            final long durationNanos) {
+    }
+}
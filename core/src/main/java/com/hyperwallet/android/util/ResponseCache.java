@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code ResponseCache} keeps the deserialized result of GET responses together with their {@code ETag} and
+ * {@code Last-Modified} validators, so that a request can be sent conditionally and a {@code 304 Not Modified}
+ * response can be answered with the cached result without downloading and parsing it again.
+ *
+ * <p>Entries are kept per user token, the least recently used entry is evicted once the cache is full. Cached
+ * results are shared between every caller served from the same entry.</p>
+ */
+public final class ResponseCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final int mMaxEntries;
+    private final Map<String, Entry> mEntries;
+    private long mHitCount;
+    private long mMissCount;
+
+    /**
+     * Construct a {@code ResponseCache} holding up to 64 entries
+     */
+    public ResponseCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Construct a {@code ResponseCache}
+     *
+     * @param maxEntries maximum number of cached responses; {@code 0} disables caching
+     */
+    public ResponseCache(final int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("max entries can not be negative");
+        }
+        mMaxEntries = maxEntries;
+        mEntries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > mMaxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param key identifies the request, see {@code HttpTransaction#getRequestKey()}
+     * @return cached entry; {@code null} if the response of the request is not cached
+     */
+    @Nullable
+    public synchronized Entry get(@NonNull final String key) {
+        return mEntries.get(key);
+    }
+
+    /**
+     * Caches a response, responses without an {@code ETag} or {@code Last-Modified} validator can not be revalidated
+     * and remove any previously cached entry instead
+     *
+     * @param key   identifies the request
+     * @param entry response to cache
+     */
+    public synchronized void put(@NonNull final String key, @NonNull final Entry entry) {
+        if (entry.getETag() == null && entry.getLastModified() == null) {
+            mEntries.remove(key);
+        } else if (mMaxEntries > 0) {
+            mEntries.put(key, entry);
+        }
+    }
+
+    /**
+     * Records whether a conditional request was answered from the cache
+     *
+     * @param notModified {@code true} if the server answered {@code 304 Not Modified}
+     */
+    public synchronized void recordValidation(final boolean notModified) {
+        if (notModified) {
+            mHitCount++;
+        } else {
+            mMissCount++;
+        }
+    }
+
+    /**
+     * Removes all cached responses, for instance when the user logs out
+     */
+    public synchronized void clear() {
+        mEntries.clear();
+    }
+
+    /**
+     * Removes the cached responses of one user
+     *
+     * @param userToken token of the user whose responses are removed
+     */
+    public synchronized void clear(@NonNull final String userToken) {
+        Iterator<Entry> iterator = mEntries.values().iterator();
+        while (iterator.hasNext()) {
+            if (userToken.equals(iterator.next().getUserToken())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return number of cached responses
+     */
+    public synchronized int size() {
+        return mEntries.size();
+    }
+
+    /**
+     * @return number of conditional requests answered with {@code 304 Not Modified} and served from the cache
+     */
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * @return number of conditional requests answered with a new response
+     */
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * Cached response
+     */
+    public static final class Entry {
+        private final String mUserToken;
+        private final String mETag;
+        private final String mLastModified;
+        private final Object mResult;
+
+        /**
+         * @param userToken    token of the user the response belongs to
+         * @param eTag         {@code ETag} response header; {@code null} if not present
+         * @param lastModified {@code Last-Modified} response header; {@code null} if not present
+         * @param result       deserialized response
+         */
+        public Entry(@NonNull final String userToken, @Nullable final String eTag,
+                @Nullable final String lastModified, @Nullable final Object result) {
+            mUserToken = userToken;
+            mETag = eTag;
+            mLastModified = lastModified;
+            mResult = result;
+        }
+
+        @NonNull
+        public String getUserToken() {
+            return mUserToken;
+        }
+
+        @Nullable
+        public String getETag() {
+            return mETag;
+        }
+
+        @Nullable
+        public String getLastModified() {
+            return mLastModified;
+        }
+
+        @Nullable
+        public Object getResult() {
+            return mResult;
+        }
+    }
+}
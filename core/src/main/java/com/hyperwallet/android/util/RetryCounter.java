@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code RetryCounter} accumulates, per endpoint, the number of requests, the number of attempts they took according
+ * to the {@link RetryPolicy}, and the number of requests that still failed after their last attempt
+ */
+public final class RetryCounter {
+
+    private final ConcurrentMap<String, Entry> mEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Records a request once it is no longer retried
+     *
+     * @param endpoint  endpoint the request was sent to, see {@link HttpRequest#getEndpoint()}
+     * @param attempts  number of attempts made, including the first one
+     * @param exhausted {@code true} if the last attempt still failed with a retryable error
+     */
+    public void record(@NonNull final String endpoint, final int attempts, final boolean exhausted) {
+        Entry entry = getOrCreate(endpoint);
+        entry.mRequests.incrementAndGet();
+        entry.mAttempts.addAndGet(attempts);
+        if (exhausted) {
+            entry.mExhausted.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return Map of endpoint to the attempts counted for that endpoint
+     */
+    @NonNull
+    public Map<String, Entry> getEntries() {
+        return Collections.unmodifiableMap(new HashMap<>(mEntries));
+    }
+
+    /**
+     * @param endpoint endpoint to look up
+     * @return attempts counted for the endpoint, all counts are zero when nothing was sent yet
+     */
+    @NonNull
+    public Entry getEntry(@NonNull final String endpoint) {
+        Entry entry = mEntries.get(endpoint);
+        return entry != null ? entry : new Entry();
+    }
+
+    private Entry getOrCreate(final String endpoint) {
+        Entry entry = mEntries.get(endpoint);
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = mEntries.putIfAbsent(endpoint, created);
+            if (entry == null) {
+                entry = created;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Attempts counted for one endpoint
+     */
+    public static final class Entry {
+        private final AtomicLong mRequests = new AtomicLong();
+        private final AtomicLong mAttempts = new AtomicLong();
+        private final AtomicLong mExhausted = new AtomicLong();
+
+        private Entry() {
+        }
+
+        /**
+         * @return number of requests
+         */
+        public long getRequests() {
+            return mRequests.get();
+        }
+
+        /**
+         * @return number of attempts, including first attempts and retries
+         */
+        public long getAttempts() {
+            return mAttempts.get();
+        }
+
+        /**
+         * @return number of retries, that is attempts beyond the first one of each request
+         */
+        public long getRetries() {
+            return mAttempts.get() - mRequests.get();
+        }
+
+        /**
+         * @return number of requests that failed with a retryable error on their last attempt
+         */
+        public long getExhausted() {
+            return mExhausted.get();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.net.HttpURLConnection;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RetryPolicy} decides whether and when an idempotent request, a GET or a GraphQL query, is sent again after
+ * an {@link java.io.IOException} or a {@code 429}, {@code 502}, {@code 503} or {@code 504} response.
+ *
+ * <p>Delays grow exponentially from the base delay up to the maximum delay, with full jitter: each delay is drawn
+ * uniformly between zero and the exponential bound so that clients failing together do not retry in step. A
+ * {@code Retry-After} header sent with a {@code 429} or {@code 503} response replaces the computed delay. No retry is
+ * made once the maximum number of attempts is reached or when waiting would exceed the total time budget.</p>
+ */
+public final class RetryPolicy {
+
+    /**
+     * Returned by {@link #getDelayMillis(int, int, String, long)} when the request must not be sent again
+     */
+    public static final long NO_RETRY = -1;
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_BASE_DELAY_MILLIS = 250;
+    private static final long DEFAULT_MAX_DELAY_MILLIS = 4000;
+    private static final long DEFAULT_TOTAL_BUDGET_MILLIS = 10000;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final String HTTP_DATE_PATTERN = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+    private final int mMaxAttempts;
+    private final long mBaseDelayMillis;
+    private final long mMaxDelayMillis;
+    private final long mTotalBudgetMillis;
+    private final Random mRandom;
+
+    private RetryPolicy(@NonNull final Builder builder) {
+        mMaxAttempts = builder.maxAttempts;
+        mBaseDelayMillis = builder.baseDelayMillis;
+        mMaxDelayMillis = builder.maxDelayMillis;
+        mTotalBudgetMillis = builder.totalBudgetMillis;
+        mRandom = builder.random;
+    }
+
+    /**
+     * @param responseCode HTTP response code
+     * @return {@code true} if a request answered with the code can be sent again
+     */
+    public static boolean isRetryable(final int responseCode) {
+        return responseCode == HTTP_TOO_MANY_REQUESTS
+                || responseCode == HttpURLConnection.HTTP_BAD_GATEWAY
+                || responseCode == HttpURLConnection.HTTP_UNAVAILABLE
+                || responseCode == HttpURLConnection.HTTP_GATEWAY_TIMEOUT;
+    }
+
+    /**
+     * @param attempt       number of attempts made so far, starting at 1
+     * @param responseCode  HTTP response code of the last attempt; {@code 0} if it failed with an
+     *                      {@link java.io.IOException}
+     * @param retryAfter    {@code Retry-After} header of the last response, in seconds or as an HTTP date;
+     *                      {@code null} if not present
+     * @param elapsedMillis time spent on the request since its first attempt
+     * @return delay before the next attempt in milliseconds; {@link #NO_RETRY} if the request must not be sent again
+     */
+    public long getDelayMillis(final int attempt, final int responseCode, @Nullable final String retryAfter,
+            final long elapsedMillis) {
+        if (attempt >= mMaxAttempts) {
+            return NO_RETRY;
+        }
+
+        long delay = -1;
+        if (responseCode == HTTP_TOO_MANY_REQUESTS || responseCode == HttpURLConnection.HTTP_UNAVAILABLE) {
+            delay = parseRetryAfter(retryAfter);
+        }
+        if (delay < 0) {
+            long bound = mBaseDelayMillis << Math.min(attempt - 1, 30);
+            bound = bound < 0 || bound > mMaxDelayMillis ? mMaxDelayMillis : bound;
+            delay = (long) (mRandom.nextDouble() * (bound + 1));
+        }
+        return elapsedMillis + delay > mTotalBudgetMillis ? NO_RETRY : delay;
+    }
+
+    /**
+     * @return maximum number of attempts of a request, including the first one
+     */
+    public int getMaxAttempts() {
+        return mMaxAttempts;
+    }
+
+    /**
+     * @return upper bound of the delay before the first retry in milliseconds
+     */
+    public long getBaseDelayMillis() {
+        return mBaseDelayMillis;
+    }
+
+    /**
+     * @return upper bound of any computed delay in milliseconds
+     */
+    public long getMaxDelayMillis() {
+        return mMaxDelayMillis;
+    }
+
+    /**
+     * @return time in milliseconds after which a request is no longer retried
+     */
+    public long getTotalBudgetMillis() {
+        return mTotalBudgetMillis;
+    }
+
+    private static long parseRetryAfter(@Nullable final String retryAfter) {
+        if (retryAfter == null) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            SimpleDateFormat format = new SimpleDateFormat(HTTP_DATE_PATTERN, Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("GMT"));
+            try {
+                Date date = format.parse(value);
+                return Math.max(0, date.getTime() - System.currentTimeMillis());
+            } catch (ParseException parseException) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link RetryPolicy}, by default a request is attempted at most 3 times, with delays bounded by
+     * 250 milliseconds growing up to 4 seconds, within 10 seconds
+     */
+    public static final class Builder {
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private long baseDelayMillis = DEFAULT_BASE_DELAY_MILLIS;
+        private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+        private long totalBudgetMillis = DEFAULT_TOTAL_BUDGET_MILLIS;
+        private Random random = new Random();
+
+        /**
+         * @param maxAttempts maximum number of attempts including the first one; {@code 1} disables retries
+         */
+        public Builder maxAttempts(final int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param delay    upper bound of the delay before the first retry, doubled on every further retry
+         * @param timeUnit unit of the delay
+         */
+        public Builder baseDelay(final long delay, @NonNull final TimeUnit timeUnit) {
+            if (delay < 0) {
+                throw new IllegalArgumentException("base delay can not be negative");
+            }
+            baseDelayMillis = timeUnit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * @param delay    upper bound of any computed delay
+         * @param timeUnit unit of the delay
+         */
+        public Builder maxDelay(final long delay, @NonNull final TimeUnit timeUnit) {
+            if (delay < 0) {
+                throw new IllegalArgumentException("max delay can not be negative");
+            }
+            maxDelayMillis = timeUnit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * @param budget   time since the first attempt after which a request is no longer retried
+         * @param timeUnit unit of the budget
+         */
+        public Builder totalBudget(final long budget, @NonNull final TimeUnit timeUnit) {
+            if (budget < 0) {
+                throw new IllegalArgumentException("total budget can not be negative");
+            }
+            totalBudgetMillis = timeUnit.toMillis(budget);
+            return this;
+        }
+
+        @VisibleForTesting
+        Builder random(@NonNull final Random random) {
+            this.random = random;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -1,26 +1,81 @@
 package com.hyperwallet.android.util;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.net.InetAddress;
 import java.net.Socket;
-import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.net.ssl.HandshakeCompletedEvent;
+import javax.net.ssl.HandshakeCompletedListener;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
 
+/**
+ * {@code Tls12SocketFactory} creates TLS 1.2 sockets from a single {@link SSLContext}, so that the client session
+ * cache of that context is shared and TLS sessions can be resumed across requests to the same host.
+ */
 public class Tls12SocketFactory extends SSLSocketFactory {
 
-    private SSLSocketFactory internalSSLSocketFactory;
+    private static final int MAX_TRACKED_SESSIONS = 64;
+    private static Tls12SocketFactory sSharedInstance;
+
+    private final SSLSocketFactory internalSSLSocketFactory;
+    private final AtomicLong mFullHandshakeCount = new AtomicLong();
+    private final AtomicLong mResumedHandshakeCount = new AtomicLong();
+    private final Map<ByteBuffer, Boolean> mKnownSessions = new LinkedHashMap<ByteBuffer, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Boolean> eldest) {
+            return size() > MAX_TRACKED_SESSIONS;
+        }
+    };
+    private final HandshakeCompletedListener mHandshakeCompletedListener = new HandshakeCompletedListener() {
+        @Override
+        public void handshakeCompleted(HandshakeCompletedEvent event) {
+            onHandshakeCompleted(event.getSession());
+        }
+    };
 
     public Tls12SocketFactory() throws KeyManagementException, NoSuchAlgorithmException {
-        SSLContext context = SSLContext.getInstance("TLS");
-        context.init(null, null, null);
+        this(createContext());
+    }
+
+    public Tls12SocketFactory(SSLContext context) {
         internalSSLSocketFactory = context.getSocketFactory();
     }
 
+    /**
+     * @return process wide {@code Tls12SocketFactory}, used by connections that were not given a factory
+     */
+    public static synchronized Tls12SocketFactory getSharedInstance() throws KeyManagementException,
+            NoSuchAlgorithmException {
+        if (sSharedInstance == null) {
+            sSharedInstance = new Tls12SocketFactory();
+        }
+        return sSharedInstance;
+    }
+
+    /**
+     * @return number of handshakes that negotiated a new TLS session
+     */
+    public long getFullHandshakeCount() {
+        return mFullHandshakeCount.get();
+    }
+
+    /**
+     * @return number of handshakes that resumed a cached TLS session
+     */
+    public long getResumedHandshakeCount() {
+        return mResumedHandshakeCount.get();
+    }
+
     @Override
     public String[] getDefaultCipherSuites() {
         return internalSSLSocketFactory.getDefaultCipherSuites();
@@ -63,10 +118,50 @@ public class Tls12SocketFactory extends SSLSocketFactory {
         return patch(internalSSLSocketFactory.createSocket(address, port, localAddress, localPort));
     }
 
+    void onHandshakeCompleted(SSLSession session) {
+        byte[] sessionId = session.getId();
+        if (sessionId == null || sessionId.length == 0) {
+            mFullHandshakeCount.incrementAndGet();
+            return;
+        }
+
+        boolean resumed;
+        synchronized (mKnownSessions) {
+            resumed = mKnownSessions.put(ByteBuffer.wrap(sessionId.clone()), Boolean.TRUE) != null;
+        }
+        if (resumed) {
+            mResumedHandshakeCount.incrementAndGet();
+        } else {
+            mFullHandshakeCount.incrementAndGet();
+        }
+    }
+
     private Socket patch(Socket socket) {
         if ((socket instanceof SSLSocket)) {
-            ((SSLSocket) socket).setEnabledProtocols(new String[]{"TLSv1.2"});
+            SSLSocket sslSocket = (SSLSocket) socket;
+            sslSocket.setEnabledProtocols(new String[]{"TLSv1.2"});
+            enableSessionTickets(sslSocket);
+            sslSocket.addHandshakeCompletedListener(mHandshakeCompletedListener);
         }
         return socket;
     }
-}
\ No newline at end of file
+
+    /**
+     * Conscrypt sockets only send a session ticket extension when asked to; other providers either do so by
+     * default or do not support it
+     */
+    private static void enableSessionTickets(SSLSocket socket) {
+        try {
+            Method setUseSessionTickets = socket.getClass().getMethod("setUseSessionTickets", boolean.class);
+            setUseSessionTickets.invoke(socket, true);
+        } catch (Exception e) {
+            // session tickets not supported by this provider, session ids are still reused
+        }
+    }
+
+    private static SSLContext createContext() throws KeyManagementException, NoSuchAlgorithmException {
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, null, null);
+        return context;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+/**
+ * {@code UrlEncoding} percent-encodes path segments and query components as UTF-8 according to RFC 3986, appending
+ * straight to the URL being built
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public final class UrlEncoding {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final String PATH_SEGMENT_SAFE = "-._~:@!$'()*,;";
+    private static final String QUERY_COMPONENT_SAFE = "-._~:@!$'()*,;/?";
+
+    private UrlEncoding() {
+    }
+
+    /**
+     * Appends {@code value} as a single path segment, a {@code /} in the value is encoded
+     *
+     * @param url   URL being built
+     * @param value unencoded path segment
+     */
+    public static void appendPathSegment(@NonNull final StringBuilder url, @NonNull final String value) {
+        append(url, value, PATH_SEGMENT_SAFE);
+    }
+
+    /**
+     * Appends {@code value} as a query parameter name or value, {@code &}, {@code =}, {@code +} and spaces in the
+     * value are encoded
+     *
+     * @param url   URL being built
+     * @param value unencoded query component
+     */
+    public static void appendQueryComponent(@NonNull final StringBuilder url, @NonNull final String value) {
+        append(url, value, QUERY_COMPONENT_SAFE);
+    }
+
+    private static void append(final StringBuilder url, final String value, final String safe) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || safe.indexOf(c) >= 0) {
+                url.append(c);
+            } else if (c < 0x80) {
+                appendEscaped(url, c);
+            } else {
+                int codePoint = value.codePointAt(i);
+                if (Character.isSupplementaryCodePoint(codePoint)) {
+                    i++;
+                }
+                appendUtf8(url, codePoint);
+            }
+        }
+    }
+
+    private static void appendUtf8(final StringBuilder url, final int codePoint) {
+        if (codePoint < 0x800) {
+            appendEscaped(url, 0xC0 | (codePoint >> 6));
+            appendEscaped(url, 0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            appendEscaped(url, 0xE0 | (codePoint >> 12));
+            appendEscaped(url, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendEscaped(url, 0x80 | (codePoint & 0x3F));
+        } else {
+            appendEscaped(url, 0xF0 | (codePoint >> 18));
+            appendEscaped(url, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendEscaped(url, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendEscaped(url, 0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private static void appendEscaped(final StringBuilder url, final int octet) {
+        url.append('%').append(HEX_DIGITS[(octet >> 4) & 0xF]).append(HEX_DIGITS[octet & 0xF]);
+    }
+}
@@ -0,0 +1,150 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.exception.HyperwalletRestException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.util.HttpRequest;
+import com.hyperwallet.android.util.HttpResponse;
+import com.hyperwallet.android.util.LoopbackTransport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+public class AuthenticationReplayTest {
+
+    private static final String REJECTED_TOKEN = "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9."
+            + "eyJzdWIiOiJ0ZXN0LXVzZXItdG9rZW4iLCJpYXQiOjI1NDgzNjg2ODYsImV4cCI6MjU0ODM2OTI4NiwiYXVkIjoidGVzdC1"
+            + "jbGllbnQtdG9rZW4iLCJpc3MiOiJ0ZXN0LXByb2dyYW0tdG9rZW4iLCJyZXN0LXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0Oj"
+            + "gxODEvcmVzdC92My8iLCJncmFwaHFsLXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0OjgxODEvZ3JhcGhxbCJ9"
+            + ".3GSVpYoqVMx4hXyZrlaj_wjJWAQLCX5ivRqvtybKV76cmnWxWfnoZEr0-4ipMH_aY8GTBCDzsgab3NREGkgjSg";
+    private static final String NEW_TOKEN = "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9."
+            + "eyJzdWIiOiJ0ZXN0LXVzZXItdG9rZW4iLCJpYXQiOjI1NDgzNjg2ODYsImV4cCI6MjU0ODM2OTI4NiwiYXVkIjoidGVzdC10b2tl"
+            + "biIsImlzcyI6InRlc3QtcHJvZ3JhbS10b2tlbiIsInJlc3QtdXJpIjoiaHR0cHM6Ly9sb2NhbGhvc3Q6ODE4MS9yZXN0L3YzLyIs"
+            + "ImdyYXBocWwtdXJpIjoiaHR0cHM6Ly9sb2NhbGhvc3Q6ODE4MS9ncmFwaHFsIn0=.3GSVpYoqVMx4hXyZrlaj_wjJWAQLCX5ivRq"
+            + "vtybKV76cmnWxWfnoZEr0-4ipMH_aY8GTBCDzsgab3NREGkgjSg";
+    private static final String UNAUTHORIZED_RESPONSE =
+            "{\"errors\":[{\"message\":\"The token has expired\",\"code\":\"JWT_EXPIRED\"}]}";
+
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+
+    private final List<String> mTokens = new ArrayList<>();
+    private int mTokenRequests;
+
+    @Before
+    public void setUp() {
+        Hyperwallet.clearInstance();
+    }
+
+    @After
+    public void tearDown() {
+        Hyperwallet.clearInstance();
+    }
+
+    @Test
+    public void testGetUser_rejectedTokenIsRefreshedAndRequestReplayed() throws InterruptedException {
+        mTokens.addAll(Arrays.asList(REJECTED_TOKEN, NEW_TOKEN));
+        final String userResponse = mExternalResourceManager.getResourceContent("user_response.json");
+        LoopbackTransport transport = new LoopbackTransport(new LoopbackTransport.Responder() {
+            @Override
+            public HttpResponse respond(@NonNull final HttpRequest request) {
+                if (request.getHeaders().get("Authorization").endsWith(REJECTED_TOKEN)) {
+                    return response(HttpURLConnection.HTTP_UNAUTHORIZED, UNAUTHORIZED_RESPONSE);
+                }
+                return response(HttpURLConnection.HTTP_OK, userResponse);
+            }
+        });
+        Hyperwallet hyperwallet = newHyperwallet(transport);
+
+        RecordingListener listener = new RecordingListener();
+        hyperwallet.getUser(listener);
+
+        assertThat(listener.mDone.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(listener.mException, is(nullValue()));
+        assertThat(listener.mUser.getToken(), is("test-user-token"));
+        assertThat(transport.getRequestCount(), is(2L));
+        assertThat(mTokenRequests, is(2));
+        assertThat(hyperwallet.getAuthenticationReplayCount(), is(1L));
+    }
+
+    @Test
+    public void testGetUser_requestIsReplayedOnlyOnce() throws InterruptedException {
+        mTokens.addAll(Arrays.asList(REJECTED_TOKEN, NEW_TOKEN));
+        LoopbackTransport transport = LoopbackTransport.withResponse(HttpURLConnection.HTTP_UNAUTHORIZED,
+                UNAUTHORIZED_RESPONSE);
+        Hyperwallet hyperwallet = newHyperwallet(transport);
+
+        RecordingListener listener = new RecordingListener();
+        hyperwallet.getUser(listener);
+
+        assertThat(listener.mDone.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(listener.mException, is(notNullValue()));
+        assertThat(listener.mException, is(instanceOf(HyperwalletRestException.class)));
+        assertThat(((HyperwalletRestException) listener.mException).getHttpCode(),
+                is(HttpURLConnection.HTTP_UNAUTHORIZED));
+        assertThat(transport.getRequestCount(), is(2L));
+        assertThat(hyperwallet.getAuthenticationReplayCount(), is(1L));
+    }
+
+    private Hyperwallet newHyperwallet(@NonNull final LoopbackTransport transport) {
+        return Hyperwallet.getInstance(new HyperwalletAuthenticationTokenProvider() {
+            @Override
+            public void retrieveAuthenticationToken(final HyperwalletAuthenticationTokenListener listener) {
+                listener.onSuccess(mTokens.get(Math.min(mTokenRequests++, mTokens.size() - 1)));
+            }
+        }, new HyperwalletOptions.Builder().transport(transport).build());
+    }
+
+    private static HttpResponse response(final int code, @NonNull final String body) {
+        return LoopbackTransport.response(code, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class RecordingListener implements HyperwalletListener<User> {
+        private final CountDownLatch mDone = new CountDownLatch(1);
+        private User mUser;
+        private HyperwalletException mException;
+
+        @Override
+        public void onSuccess(@Nullable User result) {
+            mUser = result;
+            mDone.countDown();
+        }
+
+        @Override
+        public void onFailure(HyperwalletException exception) {
+            mException = exception;
+            mDone.countDown();
+        }
+
+        @Override
+        public Handler getHandler() {
+            return null;
+        }
+    }
+}
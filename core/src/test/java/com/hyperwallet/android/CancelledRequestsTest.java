@@ -0,0 +1,150 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.receipt.Receipt;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class CancelledRequestsTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<User> mFirstListener;
+    @Mock
+    private HyperwalletListener<User> mSecondListener;
+    @Mock
+    private HyperwalletListener<PageList<Receipt>> mReceiptsListener;
+
+    @Test
+    public void testGetUser_cancelledRequestDoesNotNotifyListener() {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        RequestHandle requestHandle = Hyperwallet.getDefault().getUser(mFirstListener);
+        requestHandle.cancel();
+
+        assertThat(requestHandle.isCancelled(), is(true));
+        verify(mFirstListener, after(AWAIT_TIMEOUT_MILLIS).never()).onSuccess(any(User.class));
+        verify(mFirstListener, never()).onFailure(any(HyperwalletException.class));
+    }
+
+    @Test
+    public void testGetUser_cancelAbortsConnectionWaitingForResponse() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody).setHeadersDelay(5, TimeUnit.SECONDS));
+        RequestScheduler requestScheduler = Hyperwallet.getDefault().getRequestScheduler();
+
+        RequestHandle requestHandle = Hyperwallet.getDefault().getUser(mFirstListener);
+        mServer.getServer().takeRequest(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        requestHandle.cancel();
+
+        awaitNoRunningRequests(requestScheduler);
+        assertThat(requestScheduler.getRunningCount(RequestPriority.NORMAL), is(0));
+        verify(mFirstListener, never()).onSuccess(any(User.class));
+        verify(mFirstListener, never()).onFailure(any(HyperwalletException.class));
+    }
+
+    @Test
+    public void testCancelAll_cancelsOnlyTaggedRequests() {
+        String userBody = mExternalResourceManager.getResourceContent("user_response.json");
+        String receiptsBody = mExternalResourceManager.getResourceContent("receipts_response.json");
+        final MockResponse userResponse = new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(userBody).setBodyDelay(200, TimeUnit.MILLISECONDS);
+        final MockResponse receiptsResponse = new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(receiptsBody).setBodyDelay(200, TimeUnit.MILLISECONDS);
+        mServer.getServer().setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return request.getPath().contains("receipts") ? receiptsResponse : userResponse;
+            }
+        });
+
+        Hyperwallet.getDefault().getUser(mFirstListener).tag("profile-screen");
+        Hyperwallet.getDefault().listUserReceipts(null, mReceiptsListener);
+        Hyperwallet.getDefault().cancelAll("profile-screen");
+
+        verify(mReceiptsListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(any(PageList.class));
+        verify(mFirstListener, after(AWAIT_TIMEOUT_MILLIS).never()).onSuccess(any(User.class));
+        verify(mFirstListener, never()).onFailure(any(HyperwalletException.class));
+    }
+
+    @Test
+    public void testGetUser_cancellingOneOfCoalescedRequestsKeepsTheOther() {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        RequestHandle firstHandle = Hyperwallet.getDefault().getUser(mFirstListener);
+        Hyperwallet.getDefault().getUser(mSecondListener);
+        firstHandle.cancel();
+
+        verify(mSecondListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(any(User.class));
+        verify(mFirstListener, never()).onSuccess(any(User.class));
+        assertThat(mServer.getServer().getRequestCount(), is(1));
+    }
+
+    @Test
+    public void testGetUser_cancellingAllCoalescedRequestsAbortsTheCall() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody).setBodyDelay(5, TimeUnit.SECONDS));
+        RequestScheduler requestScheduler = Hyperwallet.getDefault().getRequestScheduler();
+
+        RequestHandle firstHandle = Hyperwallet.getDefault().getUser(mFirstListener);
+        RequestHandle secondHandle = Hyperwallet.getDefault().getUser(mSecondListener);
+        firstHandle.cancel();
+        secondHandle.cancel();
+
+        awaitNoRunningRequests(requestScheduler);
+        assertThat(requestScheduler.getRunningCount(RequestPriority.NORMAL), is(0));
+        assertThat(Hyperwallet.getDefault().getRequestCoalescer().getInFlightCount(), is(0));
+        verify(mFirstListener, never()).onSuccess(any(User.class));
+        verify(mSecondListener, never()).onSuccess(any(User.class));
+    }
+
+    private static void awaitNoRunningRequests(final RequestScheduler requestScheduler) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT_MILLIS;
+        while (requestScheduler.getRunningCount(RequestPriority.NORMAL) > 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
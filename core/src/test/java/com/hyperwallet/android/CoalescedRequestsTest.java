@@ -0,0 +1,91 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+import com.hyperwallet.android.util.RequestCoalescer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+
+@RunWith(RobolectricTestRunner.class)
+public class CoalescedRequestsTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<User> mFirstListener;
+    @Mock
+    private HyperwalletListener<User> mSecondListener;
+    @Captor
+    private ArgumentCaptor<User> mFirstUserCaptor;
+    @Captor
+    private ArgumentCaptor<User> mSecondUserCaptor;
+
+    @Test
+    public void testGetUser_identicalRequestsShareOneCall() {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        Hyperwallet.getDefault().getUser(mFirstListener);
+        Hyperwallet.getDefault().getUser(mSecondListener);
+
+        verify(mFirstListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(mFirstUserCaptor.capture());
+        verify(mSecondListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(mSecondUserCaptor.capture());
+        verify(mFirstListener, never()).onFailure(any(HyperwalletException.class));
+        verify(mSecondListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mFirstUserCaptor.getValue().getToken(), is("test-user-token"));
+        assertThat(mSecondUserCaptor.getValue().getToken(), is("test-user-token"));
+        assertThat(mServer.getServer().getRequestCount(), is(1));
+
+        RequestCoalescer coalescer = Hyperwallet.getDefault().getRequestCoalescer();
+        assertThat(coalescer.getIssuedCount(), is(1L));
+        assertThat(coalescer.getCoalescedCount(), is(1L));
+        assertThat(coalescer.getInFlightCount(), is(0));
+    }
+
+    @Test
+    public void testGetUser_failureIsDeliveredToEveryListener() {
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_INTERNAL_ERROR)
+                .setBody("{\"errors\":[{\"message\":\"Internal error\",\"code\":\"INTERNAL_ERROR\"}]}")
+                .setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        Hyperwallet.getDefault().getUser(mFirstListener);
+        Hyperwallet.getDefault().getUser(mSecondListener);
+
+        verify(mFirstListener, timeout(AWAIT_TIMEOUT_MILLIS)).onFailure(any(HyperwalletException.class));
+        verify(mSecondListener, timeout(AWAIT_TIMEOUT_MILLIS)).onFailure(any(HyperwalletException.class));
+        verify(mFirstListener, never()).onSuccess(any(User.class));
+        assertThat(mServer.getServer().getRequestCount(), is(1));
+    }
+}
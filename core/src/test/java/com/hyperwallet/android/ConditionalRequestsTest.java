@@ -0,0 +1,92 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class ConditionalRequestsTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<User> mFirstListener;
+    @Mock
+    private HyperwalletListener<User> mSecondListener;
+    @Captor
+    private ArgumentCaptor<User> mFirstUserCaptor;
+    @Captor
+    private ArgumentCaptor<User> mSecondUserCaptor;
+
+    @Test
+    public void testGetUser_notModifiedIsServedFromCache() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setHeader("ETag", "\"user-v1\"").setBody(responseBody));
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_NOT_MODIFIED));
+
+        Hyperwallet.getDefault().getUser(mFirstListener);
+        verify(mFirstListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(mFirstUserCaptor.capture());
+        Hyperwallet.getDefault().getUser(mSecondListener);
+        verify(mSecondListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(mSecondUserCaptor.capture());
+
+        verify(mSecondListener, never()).onFailure(any(HyperwalletException.class));
+        RecordedRequest firstRequest = mServer.getRequest();
+        assertThat(firstRequest.getHeader("If-None-Match"), is(nullValue()));
+        RecordedRequest secondRequest = mServer.getRequest();
+        assertThat(secondRequest.getHeader("If-None-Match"), is("\"user-v1\""));
+        assertThat(mSecondUserCaptor.getValue(), is(mFirstUserCaptor.getValue()));
+        assertThat(Hyperwallet.getDefault().getResponseCache().getHitCount(), is(1L));
+    }
+
+    @Test
+    public void testGetUser_clearedCacheSendsUnconditionalRequest() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setHeader("ETag", "\"user-v1\"").setBody(responseBody));
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setHeader("ETag", "\"user-v1\"").setBody(responseBody));
+
+        Hyperwallet.getDefault().getUser(mFirstListener);
+        verify(mFirstListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(any(User.class));
+        Hyperwallet.getDefault().getResponseCache().clear();
+        Hyperwallet.getDefault().getUser(mSecondListener);
+        verify(mSecondListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(any(User.class));
+
+        mServer.getRequest();
+        assertThat(mServer.getRequest().getHeader("If-None-Match"), is(nullValue()));
+    }
+}
@@ -0,0 +1,298 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import static com.hyperwallet.android.ExceptionMapper.EC_AUTHENTICATION_TOKEN_PROVIDER_EXCEPTION;
+
+import androidx.annotation.NonNull;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.KeyGenerator;
+
+@RunWith(RobolectricTestRunner.class)
+public class ConfigurationProviderTest {
+
+    private static final String AUTHENTICATION_TOKEN = "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9."
+            + "eyJzdWIiOiJ0ZXN0LXVzZXItdG9rZW4iLCJpYXQiOjI1NDgzNjg2ODYsImV4cCI6MjU0ODM2OTI4NiwiYXVkIjoidGVzdC1"
+            + "jbGllbnQtdG9rZW4iLCJpc3MiOiJ0ZXN0LXByb2dyYW0tdG9rZW4iLCJyZXN0LXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0Oj"
+            + "gxODEvcmVzdC92My8iLCJncmFwaHFsLXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0OjgxODEvZ3JhcGhxbCJ9"
+            + ".3GSVpYoqVMx4hXyZrlaj_wjJWAQLCX5ivRqvtybKV76cmnWxWfnoZEr0-4ipMH_aY8GTBCDzsgab3NREGkgjSg";
+
+    @Rule
+    public final TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    private final PendingTokenProvider mTokenProvider = new PendingTokenProvider();
+
+    @Test
+    public void testGet_concurrentCallersShareOneTokenRequest() {
+        ConfigurationProvider configurationProvider = new ConfigurationProvider(mTokenProvider, null);
+        List<RecordingCallback> callbacks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            RecordingCallback callback = new RecordingCallback();
+            callbacks.add(callback);
+            configurationProvider.get(callback);
+        }
+
+        mTokenProvider.mListeners.get(0).onSuccess(AUTHENTICATION_TOKEN);
+
+        assertThat(mTokenProvider.mListeners, hasSize(1));
+        assertThat(configurationProvider.getRefreshCount(), is(1L));
+        for (RecordingCallback callback : callbacks) {
+            assertThat(callback.mConfiguration, is(sameInstance(configurationProvider.getCurrent())));
+        }
+    }
+
+    @Test
+    public void testGet_validConfigurationIsReused() {
+        ConfigurationProvider configurationProvider = new ConfigurationProvider(mTokenProvider, null);
+        configurationProvider.get(new RecordingCallback());
+        mTokenProvider.mListeners.get(0).onSuccess(AUTHENTICATION_TOKEN);
+
+        RecordingCallback callback = new RecordingCallback();
+        configurationProvider.get(callback);
+
+        assertThat(mTokenProvider.mListeners, hasSize(1));
+        assertThat(callback.mConfiguration, is(sameInstance(configurationProvider.getCurrent())));
+    }
+
+    @Test
+    public void testGet_failureFansOutAndNextCallRetries() {
+        ConfigurationProvider configurationProvider = new ConfigurationProvider(mTokenProvider, null);
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        configurationProvider.get(first);
+        configurationProvider.get(second);
+
+        mTokenProvider.mListeners.get(0).onFailure(UUID.randomUUID(), "Error in authentication");
+
+        assertThat(first.mException.getErrors().getErrors().get(0).getCode(),
+                is(EC_AUTHENTICATION_TOKEN_PROVIDER_EXCEPTION));
+        assertThat(second.mException, is(sameInstance(first.mException)));
+
+        configurationProvider.get(new RecordingCallback());
+
+        assertThat(mTokenProvider.mListeners, hasSize(2));
+    }
+
+    @Test
+    public void testGet_lateOutcomeIsIgnored() {
+        final List<Configuration> refreshed = new ArrayList<>();
+        ConfigurationProvider configurationProvider = new ConfigurationProvider(mTokenProvider,
+                new ConfigurationProvider.OnRefreshListener() {
+                    @Override
+                    public void onRefreshed(@NonNull Configuration configuration) {
+                        refreshed.add(configuration);
+                    }
+                });
+        RecordingCallback callback = new RecordingCallback();
+        configurationProvider.get(callback);
+
+        mTokenProvider.mListeners.get(0).onSuccess(AUTHENTICATION_TOKEN);
+        mTokenProvider.mListeners.get(0).onFailure(UUID.randomUUID(), "Error in authentication");
+
+        assertThat(refreshed, hasSize(1));
+        assertThat(callback.mCallCount, is(1));
+    }
+
+    @Test
+    public void testRefreshAhead_retrievesTokenInBackgroundWhileCurrentIsUsed() {
+        RecordingScheduler scheduler = new RecordingScheduler();
+        ConfigurationProvider configurationProvider = new ConfigurationProvider(mTokenProvider, null, 0.5f,
+                scheduler, null, null);
+        configurationProvider.get(new RecordingCallback());
+        mTokenProvider.mListeners.get(0).onSuccess(AUTHENTICATION_TOKEN);
+        Configuration current = configurationProvider.getCurrent();
+
+        assertThat(scheduler.mDelays, hasSize(1));
+        assertThat(scheduler.mDelays.get(0), is(300000L));
+
+        scheduler.mTasks.get(0).run();
+        RecordingCallback callback = new RecordingCallback();
+        configurationProvider.get(callback);
+
+        assertThat(mTokenProvider.mListeners, hasSize(2));
+        assertThat(callback.mConfiguration, is(sameInstance(current)));
+
+        mTokenProvider.mListeners.get(1).onSuccess(AUTHENTICATION_TOKEN);
+
+        assertThat(configurationProvider.getCurrent(), is(not(sameInstance(current))));
+        assertThat(scheduler.mTasks, hasSize(2));
+    }
+
+    @Test
+    public void testRefreshAhead_skippedWhenConfigurationWasReplaced() {
+        RecordingScheduler scheduler = new RecordingScheduler();
+        ConfigurationProvider configurationProvider = new ConfigurationProvider(mTokenProvider, null, 0.5f,
+                scheduler, null, null);
+        configurationProvider.get(new RecordingCallback());
+        mTokenProvider.mListeners.get(0).onSuccess(AUTHENTICATION_TOKEN);
+        scheduler.mTasks.get(0).run();
+        mTokenProvider.mListeners.get(1).onSuccess(AUTHENTICATION_TOKEN);
+
+        scheduler.mTasks.get(0).run();
+
+        assertThat(mTokenProvider.mListeners, hasSize(2));
+        assertThat(configurationProvider.getRefreshCount(), is(2L));
+    }
+
+    @Test
+    public void testGet_storedConfigurationIsReusedWithoutTokenRequest() throws Exception {
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256);
+        File file = new File(mTemporaryFolder.newFolder("hyperwallet"), "configuration");
+        ConfigurationStore store = new ConfigurationStore(file, keyGenerator.generateKey());
+        RecordingExecutor storeExecutor = new RecordingExecutor();
+        ConfigurationProvider previous = new ConfigurationProvider(mTokenProvider, null, 0, null, store,
+                storeExecutor);
+        previous.get(new RecordingCallback());
+        storeExecutor.runAll();
+        mTokenProvider.mListeners.get(0).onSuccess(AUTHENTICATION_TOKEN);
+        storeExecutor.runAll();
+
+        ConfigurationProvider configurationProvider = new ConfigurationProvider(mTokenProvider, null, 0, null, store,
+                storeExecutor);
+        RecordingCallback callback = new RecordingCallback();
+        configurationProvider.get(callback);
+
+        assertThat(callback.mCallCount, is(0));
+        storeExecutor.runAll();
+        assertThat(mTokenProvider.mListeners, hasSize(1));
+        assertThat(callback.mConfiguration.getAuthenticationToken(), is(AUTHENTICATION_TOKEN));
+        assertThat(configurationProvider.getVersion(), is(1L));
+    }
+
+    @Test
+    public void testGet_storeIsLoadedAndSavedOnItsExecutor() throws Exception {
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256);
+        File file = new File(mTemporaryFolder.newFolder("hyperwallet"), "configuration");
+        ConfigurationStore store = new ConfigurationStore(file, keyGenerator.generateKey());
+        RecordingExecutor storeExecutor = new RecordingExecutor();
+        ConfigurationProvider configurationProvider = new ConfigurationProvider(mTokenProvider, null, 0, null, store,
+                storeExecutor);
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        configurationProvider.get(first);
+        configurationProvider.get(second);
+
+        assertThat(storeExecutor.mTasks, hasSize(1));
+        assertThat(mTokenProvider.mListeners, hasSize(0));
+
+        storeExecutor.runAll();
+        mTokenProvider.mListeners.get(0).onSuccess(AUTHENTICATION_TOKEN);
+
+        assertThat(first.mConfiguration, is(sameInstance(configurationProvider.getCurrent())));
+        assertThat(second.mConfiguration, is(sameInstance(configurationProvider.getCurrent())));
+        assertThat(file.exists(), is(false));
+        storeExecutor.runAll();
+        assertThat(store.load().getAuthenticationToken(), is(AUTHENTICATION_TOKEN));
+    }
+
+    @Test
+    public void testRefresh_rejectedConfigurationIsReplacedOnce() {
+        ConfigurationProvider configurationProvider = new ConfigurationProvider(mTokenProvider, null);
+        configurationProvider.get(new RecordingCallback());
+        mTokenProvider.mListeners.get(0).onSuccess(AUTHENTICATION_TOKEN);
+        Configuration rejected = configurationProvider.getCurrent();
+
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        RecordingCallback caller = new RecordingCallback();
+        configurationProvider.refresh(rejected, first);
+        configurationProvider.refresh(rejected, second);
+        configurationProvider.get(caller);
+
+        assertThat(mTokenProvider.mListeners, hasSize(2));
+        assertThat(caller.mCallCount, is(0));
+
+        mTokenProvider.mListeners.get(1).onSuccess(AUTHENTICATION_TOKEN);
+        RecordingCallback late = new RecordingCallback();
+        configurationProvider.refresh(rejected, late);
+
+        assertThat(mTokenProvider.mListeners, hasSize(2));
+        assertThat(configurationProvider.getVersion(), is(2L));
+        assertThat(first.mConfiguration, is(not(sameInstance(rejected))));
+        assertThat(second.mConfiguration, is(sameInstance(first.mConfiguration)));
+        assertThat(caller.mConfiguration, is(sameInstance(first.mConfiguration)));
+        assertThat(late.mConfiguration, is(sameInstance(first.mConfiguration)));
+    }
+
+    private static final class PendingTokenProvider implements HyperwalletAuthenticationTokenProvider {
+        private final List<HyperwalletAuthenticationTokenListener> mListeners = new ArrayList<>();
+
+        @Override
+        public void retrieveAuthenticationToken(HyperwalletAuthenticationTokenListener authenticationTokenListener) {
+            mListeners.add(authenticationTokenListener);
+        }
+    }
+
+    private static final class RecordingScheduler extends ScheduledThreadPoolExecutor {
+        private final List<Runnable> mTasks = new ArrayList<>();
+        private final List<Long> mDelays = new ArrayList<>();
+
+        RecordingScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            mTasks.add(command);
+            mDelays.add(unit.toMillis(delay));
+            return null;
+        }
+    }
+
+    private static final class RecordingExecutor implements Executor {
+        private final List<Runnable> mTasks = new ArrayList<>();
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            mTasks.add(command);
+        }
+
+        void runAll() {
+            while (!mTasks.isEmpty()) {
+                mTasks.remove(0).run();
+            }
+        }
+    }
+
+    private static final class RecordingCallback implements ConfigurationProvider.Callback {
+        private Configuration mConfiguration;
+        private HyperwalletException mException;
+        private int mCallCount;
+
+        @Override
+        public void onConfiguration(@NonNull Configuration configuration) {
+            mConfiguration = configuration;
+            mCallCount++;
+        }
+
+        @Override
+        public void onFailure(@NonNull HyperwalletException exception) {
+            mException = exception;
+            mCallCount++;
+        }
+    }
+}
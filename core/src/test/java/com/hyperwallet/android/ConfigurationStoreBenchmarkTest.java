@@ -0,0 +1,144 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import android.os.Handler;
+
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.util.LoopbackTransport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.net.HttpURLConnection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+/**
+ * Compares the time from creating a {@link Hyperwallet} instance to the first user response of a cold start, with
+ * and without a {@link ConfigurationStore} holding the token of the previous process
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ConfigurationStoreBenchmarkTest {
+
+    private static final long TOKEN_ROUND_TRIP_MILLIS = 100;
+    private static final String AUTHENTICATION_TOKEN = "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9."
+            + "eyJzdWIiOiJ0ZXN0LXVzZXItdG9rZW4iLCJpYXQiOjI1NDgzNjg2ODYsImV4cCI6MjU0ODM2OTI4NiwiYXVkIjoidGVzdC1"
+            + "jbGllbnQtdG9rZW4iLCJpc3MiOiJ0ZXN0LXByb2dyYW0tdG9rZW4iLCJyZXN0LXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0Oj"
+            + "gxODEvcmVzdC92My8iLCJncmFwaHFsLXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0OjgxODEvZ3JhcGhxbCJ9"
+            + ".3GSVpYoqVMx4hXyZrlaj_wjJWAQLCX5ivRqvtybKV76cmnWxWfnoZEr0-4ipMH_aY8GTBCDzsgab3NREGkgjSg";
+
+    @Rule
+    public final ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public final TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    private final AtomicInteger mTokenRequests = new AtomicInteger();
+    private File mFile;
+    private SecretKey mKey;
+
+    @Before
+    public void setUp() throws Exception {
+        Hyperwallet.clearInstance();
+        mFile = new File(mTemporaryFolder.newFolder("hyperwallet"), "configuration");
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256);
+        mKey = keyGenerator.generateKey();
+    }
+
+    @After
+    public void tearDown() {
+        Hyperwallet.clearInstance();
+    }
+
+    @Test
+    public void testColdStart_storedConfigurationSkipsTokenRoundTrip() throws Exception {
+        long withoutStore = timeToFirstUser(null);
+        new ConfigurationStore(mFile, mKey).save(new Configuration(AUTHENTICATION_TOKEN));
+        mTokenRequests.set(0);
+
+        long withStore = timeToFirstUser(new ConfigurationStore(mFile, mKey));
+
+        assertThat(mTokenRequests.get(), is(0));
+        long halfRoundTrip = TimeUnit.MILLISECONDS.toNanos(TOKEN_ROUND_TRIP_MILLIS / 2);
+        assertThat(withStore, is(lessThan(withoutStore - halfRoundTrip)));
+    }
+
+    /**
+     * Creates a new instance, as a new process would, and measures the time until its first user is received
+     */
+    private long timeToFirstUser(@Nullable final ConfigurationStore store) throws InterruptedException {
+        Hyperwallet.clearInstance();
+        HyperwalletOptions.Builder options = new HyperwalletOptions.Builder()
+                .transport(LoopbackTransport.withResponse(HttpURLConnection.HTTP_OK,
+                        mExternalResourceManager.getResourceContent("user_response.json")));
+        if (store != null) {
+            options.configurationStore(store);
+        }
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        Hyperwallet.getInstance(new SlowTokenProvider(), options.build()).getUser(new HyperwalletListener<User>() {
+            @Override
+            public void onSuccess(@Nullable User result) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(HyperwalletException exception) {
+                failures.incrementAndGet();
+                done.countDown();
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        });
+        assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(failures.get(), is(0));
+        return elapsed;
+    }
+
+    /**
+     * Answers after a delay standing for the round trip to the integrator's token endpoint
+     */
+    private class SlowTokenProvider implements HyperwalletAuthenticationTokenProvider {
+
+        @Override
+        public void retrieveAuthenticationToken(final HyperwalletAuthenticationTokenListener listener) {
+            mTokenRequests.incrementAndGet();
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep(TOKEN_ROUND_TRIP_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    listener.onSuccess(AUTHENTICATION_TOKEN);
+                }
+            }).start();
+        }
+    }
+}
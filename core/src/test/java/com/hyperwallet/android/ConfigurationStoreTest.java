@@ -0,0 +1,117 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.json.JSONException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+@RunWith(RobolectricTestRunner.class)
+public class ConfigurationStoreTest {
+
+    private static final String AUTHENTICATION_TOKEN = "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9."
+            + "eyJzdWIiOiJ0ZXN0LXVzZXItdG9rZW4iLCJpYXQiOjI1NDgzNjg2ODYsImV4cCI6MjU0ODM2OTI4NiwiYXVkIjoidGVzdC1"
+            + "jbGllbnQtdG9rZW4iLCJpc3MiOiJ0ZXN0LXByb2dyYW0tdG9rZW4iLCJyZXN0LXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0Oj"
+            + "gxODEvcmVzdC92My8iLCJncmFwaHFsLXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0OjgxODEvZ3JhcGhxbCJ9"
+            + ".3GSVpYoqVMx4hXyZrlaj_wjJWAQLCX5ivRqvtybKV76cmnWxWfnoZEr0-4ipMH_aY8GTBCDzsgab3NREGkgjSg";
+    private static final String EXPIRED_AUTHENTICATION_TOKEN = "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9.eyJzd"
+            + "WIiOiJ1c3ItdG9rZW4iLCJpYXQiOjE1NzI5OTI0MzYsImV4cCI6MTU3Mjk5MjczNiwiYXVkIjoicGd1LXRva2VuIiwia"
+            + "XNzIjoicGdyLXRva2VuIiwicmVzdC11cmkiOiJyZXN0LnRlc3QuY29tIiwiZ3JhcGhxbC11cmkiOiJncmFwaHFsLnRlc3Qu"
+            + "Y29tIiwiaW5zaWdodHMtdXJpIjoiaW5zaWdodHMudGVzdC5jb20vdHJhY2svZXZlbnRzIiwiZW52aXJvbm1lbnQiOi"
+            + "JERVYifQ.7V2fZ9KmcMdRh40RnQmwVQjbanoGGDJcNmNbCiHVVEIII45OgWo0VF7KFpijVoNYFqkkiZEDpct7e44E5MPLgw";
+
+    @Rule
+    public final TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    private File mFile;
+    private SecretKey mKey;
+
+    @Before
+    public void setUp() throws IOException, NoSuchAlgorithmException {
+        mFile = new File(mTemporaryFolder.newFolder("hyperwallet"), "configuration");
+        mKey = newKey();
+    }
+
+    @Test
+    public void testLoad_returnsConfigurationSavedByAnotherInstance() throws JSONException {
+        new ConfigurationStore(mFile, mKey).save(new Configuration(AUTHENTICATION_TOKEN));
+
+        Configuration configuration = new ConfigurationStore(mFile, mKey).load();
+
+        assertThat(configuration.getAuthenticationToken(), is(AUTHENTICATION_TOKEN));
+        assertThat(configuration.getUserToken(), is("test-user-token"));
+        assertThat(configuration.isStale(), is(false));
+    }
+
+    @Test
+    public void testSave_tokenIsNotStoredInPlainText() throws IOException, JSONException {
+        new ConfigurationStore(mFile, mKey).save(new Configuration(AUTHENTICATION_TOKEN));
+
+        String content = new String(Files.readAllBytes(mFile.toPath()), StandardCharsets.ISO_8859_1);
+
+        assertThat(content, not(containsString("eyJ")));
+    }
+
+    @Test
+    public void testLoad_otherKeyDeletesFile() throws JSONException, NoSuchAlgorithmException {
+        new ConfigurationStore(mFile, mKey).save(new Configuration(AUTHENTICATION_TOKEN));
+
+        assertThat(new ConfigurationStore(mFile, newKey()).load(), is(nullValue()));
+        assertThat(mFile.exists(), is(false));
+    }
+
+    @Test
+    public void testLoad_expiredTokenIsNotReused() throws JSONException {
+        ConfigurationStore store = new ConfigurationStore(mFile, mKey);
+        store.save(new Configuration(EXPIRED_AUTHENTICATION_TOKEN));
+
+        assertThat(store.load(), is(nullValue()));
+        assertThat(mFile.exists(), is(false));
+    }
+
+    @Test
+    public void testLoad_corruptFileIsDeleted() throws IOException, JSONException {
+        ConfigurationStore store = new ConfigurationStore(mFile, mKey);
+        store.save(new Configuration(AUTHENTICATION_TOKEN));
+        RandomAccessFile randomAccessFile = new RandomAccessFile(mFile, "rw");
+        randomAccessFile.setLength(mFile.length() - 4);
+        randomAccessFile.close();
+
+        assertThat(store.load(), is(nullValue()));
+        assertThat(mFile.exists(), is(false));
+    }
+
+    @Test
+    public void testClear_removesStoredConfiguration() throws JSONException {
+        ConfigurationStore store = new ConfigurationStore(mFile, mKey);
+        store.save(new Configuration(AUTHENTICATION_TOKEN));
+
+        store.clear();
+
+        assertThat(store.load(), is(nullValue()));
+    }
+
+    private static SecretKey newKey() throws NoSuchAlgorithmException {
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256);
+        return keyGenerator.generateKey();
+    }
+}
@@ -0,0 +1,123 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import android.os.Handler;
+
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.util.LoopbackTransport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(RobolectricTestRunner.class)
+public class ConfigurationStressTest {
+
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 50;
+    private static final String AUTHENTICATION_TOKEN = "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9."
+            + "eyJzdWIiOiJ0ZXN0LXVzZXItdG9rZW4iLCJpYXQiOjI1NDgzNjg2ODYsImV4cCI6MjU0ODM2OTI4NiwiYXVkIjoidGVzdC1"
+            + "jbGllbnQtdG9rZW4iLCJpc3MiOiJ0ZXN0LXByb2dyYW0tdG9rZW4iLCJyZXN0LXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0Oj"
+            + "gxODEvcmVzdC92My8iLCJncmFwaHFsLXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0OjgxODEvZ3JhcGhxbCJ9"
+            + ".3GSVpYoqVMx4hXyZrlaj_wjJWAQLCX5ivRqvtybKV76cmnWxWfnoZEr0-4ipMH_aY8GTBCDzsgab3NREGkgjSg";
+
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+
+    private final AtomicInteger mTokenRequests = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        Hyperwallet.clearInstance();
+    }
+
+    @After
+    public void tearDown() {
+        Hyperwallet.clearInstance();
+    }
+
+    @Test
+    public void testGetUser_parallelCallsShareOneAuthenticationToken() throws InterruptedException {
+        HyperwalletOptions options = new HyperwalletOptions.Builder()
+                .transport(LoopbackTransport.withResponse(HttpURLConnection.HTTP_OK,
+                        mExternalResourceManager.getResourceContent("user_response.json")))
+                .requestScheduler(new RequestScheduler.Builder()
+                        .maxQueued(THREADS * CALLS_PER_THREAD)
+                        .build())
+                .build();
+        final Hyperwallet hyperwallet = Hyperwallet.getInstance(new HyperwalletAuthenticationTokenProvider() {
+            @Override
+            public void retrieveAuthenticationToken(final HyperwalletAuthenticationTokenListener listener) {
+                mTokenRequests.incrementAndGet();
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            Thread.sleep(50);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        listener.onSuccess(AUTHENTICATION_TOKEN);
+                    }
+                }).start();
+            }
+        }, options);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(THREADS * CALLS_PER_THREAD);
+        final AtomicInteger failures = new AtomicInteger();
+        final HyperwalletListener<User> listener = new HyperwalletListener<User>() {
+            @Override
+            public void onSuccess(@Nullable User result) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(HyperwalletException exception) {
+                failures.incrementAndGet();
+                done.countDown();
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        };
+
+        for (int i = 0; i < THREADS; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int call = 0; call < CALLS_PER_THREAD; call++) {
+                        hyperwallet.getUser(listener);
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+
+        assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(failures.get(), is(0));
+        assertThat(mTokenRequests.get(), is(1));
+    }
+}
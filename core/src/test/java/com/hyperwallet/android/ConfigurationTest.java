@@ -170,6 +170,20 @@ public class ConfigurationTest {
         assertThat(configuration.isStale(), is(false));
     }
 
+    @Test
+    public void testGetRefreshAheadDelayMillis_returnsFractionOfLifetime() throws JSONException {
+        Configuration configuration = new Configuration(mJwtToken);
+
+        assertThat(configuration.getRefreshAheadDelayMillis(0.5f), is(300000L));
+    }
+
+    @Test
+    public void testGetRefreshAheadDelayMillis_returnsAtLatestWhenStale() throws JSONException {
+        Configuration configuration = new Configuration(mJwtToken);
+
+        assertThat(configuration.getRefreshAheadDelayMillis(0.99f), is(570000L));
+    }
+
     @Test
     public void testConfiguration_parseInsightParameters() throws JSONException {
         Configuration configuration = new Configuration("eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9.eyJzd"
@@ -3,6 +3,7 @@ package com.hyperwallet.android;
 import android.content.res.Resources;
 
 import com.hyperwallet.android.exception.HyperwalletAuthenticationTokenProviderException;
+import com.hyperwallet.android.exception.HyperwalletCircuitOpenException;
 import com.hyperwallet.android.exception.HyperwalletException;
 import com.hyperwallet.android.exception.HyperwalletGqlException;
 import com.hyperwallet.android.exception.HyperwalletJsonParseException;
@@ -87,6 +88,25 @@ public class ExceptionMapperTest {
                 is(equalTo("An error that is preventing access to the required data and/or resources has occurred")));
     }
 
+    @Test
+    public void testToHyperwalletException_convertHyperwalletCircuitOpenException() {
+        when(mResources.getString(R.string.circuit_open_exception)).thenReturn(
+                "The service is temporarily unavailable, please try again later.");
+        HyperwalletException hyperwalletException = toHyperwalletException(
+                new HyperwalletCircuitOpenException("Circuit open for https://api.test/rest/v3/"));
+        assertNotNull(hyperwalletException);
+
+        final Errors errors = hyperwalletException.getErrors();
+        assertNotNull(errors);
+        final List<Error> list = errors.getErrors();
+        assertThat(list, hasSize(1));
+
+        Error error = list.get(0);
+        assertThat(error.getCode(), is(equalTo("EC_CIRCUIT_OPEN_EXCEPTION")));
+        assertThat(error.getMessageFromResourceWhenAvailable(mResources),
+                is(equalTo("The service is temporarily unavailable, please try again later.")));
+    }
+
     @Test
     public void testToHyperwalletException_convertJSONException() {
         when(mResources.getString(R.string.json_exception)).thenReturn(
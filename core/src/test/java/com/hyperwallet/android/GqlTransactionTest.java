@@ -12,8 +12,9 @@ import com.hyperwallet.android.model.TypeReference;
 import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationKey;
 import com.hyperwallet.android.model.graphql.query.TransferMethodConfigurationKeysQuery;
 import com.hyperwallet.android.rule.ExternalResourceManager;
-import com.hyperwallet.android.util.HttpClient;
 import com.hyperwallet.android.util.HttpMethod;
+import com.hyperwallet.android.util.HttpRequest;
+import com.hyperwallet.android.util.HttpTransport;
 
 import org.json.JSONException;
 import org.junit.Rule;
@@ -43,10 +44,10 @@ public class GqlTransactionTest {
     @Mock
     private HyperwalletListener<HyperwalletTransferMethodConfigurationKey> mListener;
     @Mock
-    private HttpClient mHttpClient;
+    private HttpTransport mHttpTransport;
 
     @Captor
-    private ArgumentCaptor<String> mPayloadCaptor;
+    private ArgumentCaptor<HttpRequest> mRequestCaptor;
     @Captor
     private ArgumentCaptor<HyperwalletException> mExceptionArgumentCaptor;
 
@@ -63,10 +64,12 @@ public class GqlTransactionTest {
                 "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9");
         assertThat(gqlTransaction.getMethod(), is(HttpMethod.POST));
 
-        gqlTransaction.performRequest(mHttpClient);
+        gqlTransaction.performRequest(mHttpTransport);
 
-        verify(mHttpClient).post(mPayloadCaptor.capture());
-        String payload = mPayloadCaptor.getValue();
+        verify(mHttpTransport).execute(mRequestCaptor.capture());
+        assertThat(mRequestCaptor.getValue().getMethod(), is(HttpMethod.POST));
+        assertThat(mRequestCaptor.getValue().getUrl(), is("test"));
+        String payload = mRequestCaptor.getValue().getBody();
         String sampleQuery = "query {\n"
                 + "\tcountries(idToken: \"test-user-token\") {\n"
                 + "\t\tnodes {\n"
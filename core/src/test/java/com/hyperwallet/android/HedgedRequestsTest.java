@@ -0,0 +1,199 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import androidx.annotation.NonNull;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+import com.hyperwallet.android.util.HedgingPolicy;
+import com.hyperwallet.android.util.HttpRequest;
+import com.hyperwallet.android.util.HttpResponse;
+import com.hyperwallet.android.util.HttpTransport;
+import com.hyperwallet.android.util.HttpUrlConnectionTransport;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+@RunWith(RobolectricTestRunner.class)
+public class HedgedRequestsTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    private static final long HEDGE_DELAY_MILLIS = 50L;
+    private static final String USER_ENDPOINT = "GET users/{0}";
+
+    private final HedgingPolicy mHedgingPolicy = new HedgingPolicy.Builder().minSamples(1)
+            .minDelayMillis(HEDGE_DELAY_MILLIS).build();
+    private final RecordingTransport mTransport = new RecordingTransport();
+
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer,
+            new HyperwalletOptions.Builder().transport(mTransport).hedgingPolicy(mHedgingPolicy).build());
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<User> mUserListener;
+
+    @Test
+    public void testGetUser_slowFirstResponseIsWonByHedge() {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        final MockResponse slowResponse = new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody).setHeadersDelay(5, TimeUnit.SECONDS);
+        final MockResponse fastResponse = new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody);
+        final AtomicInteger requests = new AtomicInteger();
+        mServer.getServer().setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return requests.getAndIncrement() == 0 ? slowResponse : fastResponse;
+            }
+        });
+        mHedgingPolicy.recordLatency(USER_ENDPOINT, HEDGE_DELAY_MILLIS);
+
+        Hyperwallet.getDefault().getUser(mUserListener);
+
+        verify(mUserListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(any(User.class));
+        verify(mUserListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mServer.getServer().getRequestCount(), is(2));
+        assertThat(mHedgingPolicy.getHedgeCount(), is(1L));
+        assertThat(mHedgingPolicy.getHedgeWinCount(), is(1L));
+    }
+
+    @Test
+    public void testGetUser_failedFirstAttemptIsAnsweredByHedge() {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        final MockResponse hedgeResponse = new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody).setHeadersDelay(HEDGE_DELAY_MILLIS * 6, TimeUnit.MILLISECONDS);
+        final AtomicInteger requests = new AtomicInteger();
+        mServer.getServer().setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (requests.getAndIncrement() == 0) {
+                    // fail the first attempt after the hedge was sent, but before the hedge is answered
+                    Thread.sleep(HEDGE_DELAY_MILLIS * 2);
+                    return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+                }
+                return hedgeResponse;
+            }
+        });
+        mHedgingPolicy.recordLatency(USER_ENDPOINT, HEDGE_DELAY_MILLIS);
+
+        Hyperwallet.getDefault().getUser(mUserListener);
+
+        verify(mUserListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(any(User.class));
+        verify(mUserListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mServer.getServer().getRequestCount(), is(2));
+        assertThat(mHedgingPolicy.getHedgeCount(), is(1L));
+        assertThat(mHedgingPolicy.getHedgeWinCount(), is(1L));
+    }
+
+    @Test
+    public void testGetUser_losingAttemptIsAbortedAndItsResponseClosed() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody));
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody));
+        mTransport.mFirstAttemptDelayMillis = HEDGE_DELAY_MILLIS * 4;
+        mHedgingPolicy.recordLatency(USER_ENDPOINT, HEDGE_DELAY_MILLIS);
+
+        Hyperwallet.getDefault().getUser(mUserListener);
+
+        verify(mUserListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(any(User.class));
+        assertThat(mTransport.mRequests.get(0).getCancellationSignal().isCanceled(), is(true));
+        assertThat(mTransport.mRequests.get(1).getCancellationSignal().isCanceled(), is(false));
+        long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT_MILLIS;
+        while ((mTransport.mBodies.size() < 2 || !mTransport.mBodies.get(1).mClosed)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(mTransport.mBodies.size(), is(2));
+        assertThat(mTransport.mBodies.get(1).mRequest, is(mTransport.mRequests.get(0)));
+        assertThat(mTransport.mBodies.get(1).mClosed, is(true));
+        assertThat(mHedgingPolicy.getHedgeWinCount(), is(1L));
+    }
+
+    /**
+     * Sends requests through {@link HttpUrlConnectionTransport} and records them with their response bodies; the
+     * first attempt can be held back without honouring its cancellation, so it still receives a response
+     */
+    private static final class RecordingTransport implements HttpTransport {
+        private final HttpTransport mTransport = new HttpUrlConnectionTransport();
+        private final List<HttpRequest> mRequests = Collections.synchronizedList(new ArrayList<HttpRequest>());
+        private final List<RecordedBody> mBodies = Collections.synchronizedList(new ArrayList<RecordedBody>());
+        private volatile long mFirstAttemptDelayMillis;
+
+        @NonNull
+        @Override
+        public HttpResponse execute(@NonNull final HttpRequest request) throws IOException {
+            boolean first;
+            synchronized (mRequests) {
+                first = mRequests.isEmpty();
+                mRequests.add(request);
+            }
+            HttpResponse response;
+            if (first && mFirstAttemptDelayMillis > 0) {
+                try {
+                    Thread.sleep(mFirstAttemptDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                response = mTransport.execute(request.withCancellationSignal(null));
+            } else {
+                response = mTransport.execute(request);
+            }
+            RecordedBody body = new RecordedBody(request, response.getBody());
+            mBodies.add(body);
+            return new HttpResponse(response.getCode(), response.getHeaders(), body);
+        }
+    }
+
+    private static final class RecordedBody extends FilterInputStream {
+        private final HttpRequest mRequest;
+        private volatile boolean mClosed;
+
+        RecordedBody(final HttpRequest request, final InputStream in) {
+            super(in);
+            mRequest = request;
+        }
+
+        @Override
+        public void close() throws IOException {
+            mClosed = true;
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import androidx.annotation.NonNull;
+
+import com.hyperwallet.android.util.AdaptiveConcurrencyLimit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class RequestSchedulerTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testSubmit_higherPriorityStartsFirst() throws Exception {
+        RequestScheduler scheduler = new RequestScheduler.Builder().maxConcurrency(1).build();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        CountDownLatch done = new CountDownLatch(4);
+
+        scheduler.submit(new Blocking(release, started, "blocking", done), RequestPriority.NORMAL);
+        scheduler.submit(new Recording(started, "background", done), RequestPriority.BACKGROUND);
+        scheduler.submit(new Recording(started, "normal", done), RequestPriority.NORMAL);
+        scheduler.submit(new Recording(started, "interactive", done), RequestPriority.INTERACTIVE);
+        release.countDown();
+
+        assertThat(done.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(started, contains("blocking", "interactive", "normal", "background"));
+    }
+
+    @Test
+    public void testSubmit_classLimitLeavesRoomForInteractive() throws Exception {
+        RequestScheduler scheduler = new RequestScheduler.Builder().maxConcurrency(2)
+                .concurrencyLimit(RequestPriority.BACKGROUND, 1).build();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        CountDownLatch interactiveDone = new CountDownLatch(1);
+
+        scheduler.submit(new Blocking(release, started, "background-1", new CountDownLatch(1)),
+                RequestPriority.BACKGROUND);
+        scheduler.submit(new Blocking(release, started, "background-2", new CountDownLatch(1)),
+                RequestPriority.BACKGROUND);
+        scheduler.submit(new Recording(started, "interactive", interactiveDone), RequestPriority.INTERACTIVE);
+
+        assertThat(interactiveDone.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(scheduler.getRunningCount(RequestPriority.BACKGROUND), is(1));
+        assertThat(scheduler.getQueuedCount(RequestPriority.BACKGROUND), is(1));
+        release.countDown();
+    }
+
+    @Test
+    public void testSubmit_queueFullIsRejected() {
+        RequestScheduler scheduler = new RequestScheduler.Builder().maxConcurrency(1).maxQueued(1).build();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        scheduler.submit(new Blocking(release, started, "running", new CountDownLatch(1)), RequestPriority.NORMAL);
+        scheduler.submit(new Recording(started, "queued", new CountDownLatch(1)), RequestPriority.NORMAL);
+
+        thrown.expect(RejectedExecutionException.class);
+        try {
+            scheduler.submit(new Recording(started, "rejected", new CountDownLatch(1)), RequestPriority.NORMAL);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testCancel_queuedRequestIsRemoved() throws Exception {
+        RequestScheduler scheduler = new RequestScheduler.Builder().maxConcurrency(1).build();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        CountDownLatch done = new CountDownLatch(2);
+        scheduler.submit(new Blocking(release, started, "running", done), RequestPriority.NORMAL);
+        Future<?> cancelled = scheduler.submit(new Recording(started, "cancelled", done), RequestPriority.NORMAL);
+        scheduler.submit(new Recording(started, "queued", done), RequestPriority.NORMAL);
+
+        cancelled.cancel(true);
+
+        assertThat(scheduler.getQueuedCount(RequestPriority.NORMAL), is(1));
+        release.countDown();
+        assertThat(done.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(started, contains("running", "queued"));
+    }
+
+    @Test
+    public void testGetQueueWaitStats_recordsWaitOfStartedRequests() throws Exception {
+        RequestScheduler scheduler = new RequestScheduler.Builder().maxConcurrency(1).build();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        CountDownLatch done = new CountDownLatch(2);
+        scheduler.submit(new Blocking(release, started, "running", done), RequestPriority.INTERACTIVE);
+        scheduler.submit(new Recording(started, "queued", done), RequestPriority.INTERACTIVE);
+
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThat(done.await(1, TimeUnit.SECONDS), is(true));
+        RequestScheduler.QueueWaitStats stats = scheduler.getQueueWaitStats(RequestPriority.INTERACTIVE);
+        assertThat(stats.getCount(), is(2L));
+        assertThat(stats.getMaxWaitMillis(), greaterThanOrEqualTo(50L));
+        assertThat(scheduler.getQueueWaitStats(RequestPriority.BACKGROUND).getCount(), is(0L));
+    }
+
+    @Test
+    public void testSubmit_runsOnInjectedExecutor() throws Exception {
+        final List<Runnable> executed = Collections.synchronizedList(new ArrayList<Runnable>());
+        RequestScheduler scheduler = new RequestScheduler.Builder().executor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                executed.add(command);
+                command.run();
+            }
+        }).build();
+        List<String> started = Collections.synchronizedList(new ArrayList<String>());
+
+        scheduler.submit(new Recording(started, "request", new CountDownLatch(1)), RequestPriority.NORMAL);
+
+        assertThat(executed.size(), is(1));
+        assertThat(started, contains("request"));
+        assertThat(scheduler.getRunningCount(RequestPriority.NORMAL), is(0));
+    }
+
+    @Test
+    public void testSubmit_rejectedByExecutorIsRequeuedWhileOthersRun() throws Exception {
+        final AtomicBoolean rejecting = new AtomicBoolean(false);
+        RequestScheduler scheduler = new RequestScheduler.Builder().maxConcurrency(2).executor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                if (rejecting.get()) {
+                    throw new RejectedExecutionException();
+                }
+                new Thread(command).start();
+            }
+        }).build();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        CountDownLatch done = new CountDownLatch(2);
+        scheduler.submit(new Blocking(release, started, "blocking", done), RequestPriority.INTERACTIVE);
+
+        rejecting.set(true);
+        scheduler.submit(new Recording(started, "rejected", done), RequestPriority.INTERACTIVE);
+
+        assertThat(started, not(hasItem("rejected")));
+        assertThat(scheduler.getQueuedCount(RequestPriority.INTERACTIVE), is(1));
+
+        rejecting.set(false);
+        release.countDown();
+
+        assertThat(done.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(started, hasItem("rejected"));
+        assertThat(scheduler.getQueuedCount(RequestPriority.INTERACTIVE), is(0));
+    }
+
+    @Test
+    public void testSubmit_rejectedByShutDownExecutorFails() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        RequestScheduler scheduler = new RequestScheduler.Builder().executor(executor).build();
+        final List<RejectedExecutionException> failures = new ArrayList<>();
+        List<String> started = Collections.synchronizedList(new ArrayList<String>());
+
+        Future<?> future = scheduler.submit(new Recording(started, "rejected", new CountDownLatch(1)),
+                RequestPriority.NORMAL, new RequestScheduler.OnRejectedListener() {
+                    @Override
+                    public void onRejected(@NonNull RejectedExecutionException exception) {
+                        failures.add(exception);
+                    }
+                });
+
+        assertThat(failures, hasSize(1));
+        assertThat(future.isDone(), is(true));
+        assertThat(started, is(empty()));
+        assertThat(scheduler.getQueuedCount(RequestPriority.NORMAL), is(0));
+        assertThat(scheduler.getRunningCount(RequestPriority.NORMAL), is(0));
+    }
+
+    @Test
+    public void testGetMaxConcurrency_followsAdaptiveLimit() throws Exception {
+        AdaptiveConcurrencyLimit adaptiveLimit = new AdaptiveConcurrencyLimit.Builder().initialLimit(1).build();
+        RequestScheduler scheduler = new RequestScheduler.Builder().adaptiveLimit(adaptiveLimit).build();
+        assertThat(scheduler.getMaxConcurrency(), is(1));
+        assertThat(scheduler.getConcurrencyLimit(RequestPriority.NORMAL), is(1));
+
+        scheduler.recordRoundTrip(TimeUnit.MILLISECONDS.toNanos(20), 1);
+
+        assertThat(scheduler.getMaxConcurrency(), is(2));
+        assertThat(scheduler.getConcurrencyLimit(RequestPriority.INTERACTIVE), is(2));
+        assertThat(scheduler.getConcurrencyLimit(RequestPriority.NORMAL), is(1));
+        assertThat(scheduler.getConcurrencyLimit(RequestPriority.BACKGROUND), is(1));
+    }
+
+    @Test
+    public void testSubmit_completedRequestIsNoRoundTripSample() throws Exception {
+        AdaptiveConcurrencyLimit adaptiveLimit = new AdaptiveConcurrencyLimit.Builder().initialLimit(1).build();
+        RequestScheduler scheduler = new RequestScheduler.Builder().adaptiveLimit(adaptiveLimit).build();
+
+        CountDownLatch done = new CountDownLatch(1);
+        scheduler.submit(new Recording(Collections.synchronizedList(new ArrayList<String>()), "cached", done),
+                RequestPriority.INTERACTIVE);
+        assertThat(done.await(1, TimeUnit.SECONDS), is(true));
+        Thread.sleep(50);
+
+        assertThat(scheduler.getMaxConcurrency(), is(1));
+    }
+
+    @Test
+    public void testConcurrencyLimit_invalidLimit() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("concurrency limit must be at least 1");
+
+        new RequestScheduler.Builder().concurrencyLimit(RequestPriority.NORMAL, 0);
+    }
+
+    private static class Recording implements Runnable {
+        private final List<String> mStarted;
+        private final String mName;
+        private final CountDownLatch mDone;
+
+        Recording(List<String> started, String name, CountDownLatch done) {
+            mStarted = started;
+            mName = name;
+            mDone = done;
+        }
+
+        @Override
+        public void run() {
+            mStarted.add(mName);
+            mDone.countDown();
+        }
+    }
+
+    private static class Blocking extends Recording {
+        private final CountDownLatch mRelease;
+
+        Blocking(CountDownLatch release, List<String> started, String name, CountDownLatch done) {
+            super(started, name, done);
+            mRelease = release;
+        }
+
+        @Override
+        public void run() {
+            try {
+                mRelease.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.run();
+        }
+    }
+}
@@ -9,8 +9,12 @@ import com.hyperwallet.android.model.TypeReference;
 import com.hyperwallet.android.model.graphql.error.GqlErrors;
 import com.hyperwallet.android.model.transfermethod.BankAccount;
 import com.hyperwallet.android.rule.ExternalResourceManager;
-import com.hyperwallet.android.util.HttpClient;
+import com.hyperwallet.android.util.HttpRequest;
+import com.hyperwallet.android.util.HttpTransport;
 import com.hyperwallet.android.util.JsonUtils;
+import com.hyperwallet.android.util.LoopbackTransport;
+import com.hyperwallet.android.util.MetricsRegistry;
+import com.hyperwallet.android.util.RequestEventListener;
 
 import org.hamcrest.CoreMatchers;
 import org.json.JSONObject;
@@ -24,6 +28,9 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.robolectric.RobolectricTestRunner;
 
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static com.hyperwallet.android.model.transfermethod.TransferMethod.TransferMethodTypes.BANK_ACCOUNT;
@@ -31,7 +38,9 @@ import static com.hyperwallet.android.util.HttpMethod.GET;
 import static com.hyperwallet.android.util.HttpMethod.POST;
 import static com.hyperwallet.android.util.HttpMethod.PUT;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -49,10 +58,10 @@ public class RestTransactionTest {
     @Mock
     private HyperwalletListener<BankAccount> mListener;
     @Mock
-    private HttpClient mHttpClient;
+    private HttpTransport mHttpTransport;
 
     @Captor
-    private ArgumentCaptor<String> mPayloadCaptor;
+    private ArgumentCaptor<HttpRequest> mRequestCaptor;
 
     @Captor
     private ArgumentCaptor<Runnable> mRunnableCaptor;
@@ -79,8 +88,12 @@ public class RestTransactionTest {
         assertThat(restTransaction.getListener(), CoreMatchers.<HyperwalletListener>is(mListener));
         assertThat(restTransaction.getPath(), is("users/test-user-token/bank-accounts"));
 
-        restTransaction.performRequest(mHttpClient);
-        verify(mHttpClient).get();
+        restTransaction.performRequest(mHttpTransport);
+        verify(mHttpTransport).execute(mRequestCaptor.capture());
+        assertThat(mRequestCaptor.getValue().getMethod(), is(GET));
+        assertThat(mRequestCaptor.getValue().getUrl(),
+                is("http://hyperwallet.com/rest/v3/users/test-user-token/bank-accounts"));
+        assertThat(mRequestCaptor.getValue().getBody(), is(nullValue()));
     }
 
     @Test
@@ -99,10 +112,11 @@ public class RestTransactionTest {
                 .build("http://hyperwallet.com/rest/v3/", token, "test-user-token");
         assertThat(restTransaction.getMethod(), is(POST));
 
-        restTransaction.performRequest(mHttpClient);
-        verify(mHttpClient).post(mPayloadCaptor.capture());
+        restTransaction.performRequest(mHttpTransport);
+        verify(mHttpTransport).execute(mRequestCaptor.capture());
+        assertThat(mRequestCaptor.getValue().getMethod(), is(POST));
 
-        JSONObject resultPayload = new JSONObject(restTransaction.getPayload());
+        JSONObject resultPayload = new JSONObject(mRequestCaptor.getValue().getBody());
         assertThat(resultPayload.getString("type"), is(BANK_ACCOUNT));
         assertThat(resultPayload.getString("transferMethodCurrency"), is("USD"));
         assertThat(resultPayload.getString("transferMethodCountry"), is("US"));
@@ -125,11 +139,12 @@ public class RestTransactionTest {
                 .build("http://hyperwallet.com/rest/v3/", token, "test-user-token");
         assertThat(restTransaction.getMethod(), is(PUT));
 
-        restTransaction.performRequest(mHttpClient);
+        restTransaction.performRequest(mHttpTransport);
 
-        verify(mHttpClient).put(mPayloadCaptor.capture());
+        verify(mHttpTransport).execute(mRequestCaptor.capture());
+        assertThat(mRequestCaptor.getValue().getMethod(), is(PUT));
 
-        String payload = mPayloadCaptor.getValue();
+        String payload = mRequestCaptor.getValue().getBody();
         JSONObject resultPayload = new JSONObject(payload);
         assertThat(resultPayload.getString("type"), is(BANK_ACCOUNT));
         assertThat(resultPayload.getString("transferMethodCurrency"), is("USD"));
@@ -179,6 +194,98 @@ public class RestTransactionTest {
         verify(handler).post(any(Runnable.class));
     }
 
+    @Test
+    public void testRunRequest_usingLoopbackTransport() throws Exception {
+        final PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
+        final String token = "eyJhbGciOiJIUzI1NiJ9.eyJncmFwaHFsLXVyaSI6Imh0dHA6XC9cLzEyNy4wLjAuMTo1MzEyN1wvZ3JhcGhxb";
+        final String response = mExternalResourceManager.getResourceContent("bank_account_response.json");
+
+        RestTransaction.Builder<BankAccount> accountBuilder =
+                new RestTransaction.Builder<>(GET, pathFormatter, new TypeReference<BankAccount>() {
+                }, mListener, contextId);
+        final RestTransaction restTransaction = accountBuilder
+                .build("http://hyperwallet.com/rest/v3/", token, "test-user-token");
+        LoopbackTransport transport = LoopbackTransport.withResponse(HttpURLConnection.HTTP_OK, response);
+        restTransaction.setTransport(transport);
+        when(mListener.getHandler()).thenReturn(null);
+
+        restTransaction.run();
+
+        assertThat(transport.getRequestCount(), is(1L));
+        verify(mListener).onSuccess(any(BankAccount.class));
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+    }
+
+    @Test
+    public void testRunRequest_reportsTimingEventsWithContextId() throws Exception {
+        final PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
+        final String token = "eyJhbGciOiJIUzI1NiJ9.eyJncmFwaHFsLXVyaSI6Imh0dHA6XC9cLzEyNy4wLjAuMTo1MzEyN1wvZ3JhcGhxb";
+        final String response = mExternalResourceManager.getResourceContent("bank_account_response.json");
+        final List<String> events = new ArrayList<>();
+        RequestEventListener eventListener = new RequestEventListener() {
+            @Override
+            public void onQueueWait(String contextId, String endpoint, long durationNanos) {
+                events.add("queue wait " + contextId + " " + endpoint);
+            }
+
+            @Override
+            public void onBodyRead(String contextId, String endpoint, long durationNanos) {
+                events.add("body read " + contextId + " " + endpoint);
+            }
+
+            @Override
+            public void onJsonParsed(String contextId, String endpoint, long durationNanos) {
+                events.add("json parsed " + contextId + " " + endpoint);
+            }
+
+            @Override
+            public void onListenerDispatched(String contextId, String endpoint, long durationNanos) {
+                events.add("listener dispatched " + contextId + " " + endpoint);
+            }
+        };
+
+        RestTransaction.Builder<BankAccount> accountBuilder =
+                new RestTransaction.Builder<>(GET, pathFormatter, new TypeReference<BankAccount>() {
+                }, mListener, contextId);
+        final RestTransaction restTransaction = accountBuilder
+                .build("http://hyperwallet.com/rest/v3/", token, "test-user-token");
+        restTransaction.setTransport(LoopbackTransport.withResponse(HttpURLConnection.HTTP_OK, response));
+        restTransaction.setEventListener(eventListener);
+        when(mListener.getHandler()).thenReturn(null);
+
+        restTransaction.onSubmitted();
+        restTransaction.run();
+
+        String endpoint = " GET users/{0}/bank-accounts";
+        assertThat(events, contains("queue wait " + contextId + endpoint, "body read " + contextId + endpoint,
+                "json parsed " + contextId + endpoint, "listener dispatched " + contextId + endpoint));
+        verify(mListener).onSuccess(any(BankAccount.class));
+    }
+
+    @Test
+    public void testRunRequest_recordsMetricsPerEndpoint() throws Exception {
+        final PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
+        final String token = "eyJhbGciOiJIUzI1NiJ9.eyJncmFwaHFsLXVyaSI6Imh0dHA6XC9cLzEyNy4wLjAuMTo1MzEyN1wvZ3JhcGhxb";
+        final String response = mExternalResourceManager.getResourceContent("bank_account_response.json");
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+        RestTransaction.Builder<BankAccount> accountBuilder =
+                new RestTransaction.Builder<>(GET, pathFormatter, new TypeReference<BankAccount>() {
+                }, mListener, contextId);
+        final RestTransaction restTransaction = accountBuilder
+                .build("http://hyperwallet.com/rest/v3/", token, "test-user-token");
+        restTransaction.setTransport(LoopbackTransport.withResponse(HttpURLConnection.HTTP_OK, response));
+        restTransaction.setMetricsRegistry(metricsRegistry);
+        when(mListener.getHandler()).thenReturn(null);
+
+        restTransaction.run();
+
+        MetricsRegistry.Snapshot snapshot = metricsRegistry.getSnapshot("GET users/{0}/bank-accounts");
+        assertThat(snapshot.getSuccessCount(), is(1L));
+        assertThat(snapshot.getFailureCount(), is(0L));
+        assertThat(snapshot.getLatency().getCount(), is(1L));
+    }
+
     @Test
     public void testRunRequest_whenHttpClientIsInvalid() throws Exception {
         final PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
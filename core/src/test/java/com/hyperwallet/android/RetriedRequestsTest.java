@@ -0,0 +1,83 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.transfermethod.BankAccount;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+import com.hyperwallet.android.util.RetryCounter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+
+import okhttp3.mockwebserver.MockResponse;
+
+@RunWith(RobolectricTestRunner.class)
+public class RetriedRequestsTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<User> mUserListener;
+    @Mock
+    private HyperwalletListener<BankAccount> mBankAccountListener;
+
+    @Test
+    public void testGetUser_unavailableIsRetriedAfterRetryAfter() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_UNAVAILABLE)
+                .setHeader("Retry-After", "0"));
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(responseBody));
+
+        Hyperwallet.getDefault().getUser(mUserListener);
+
+        verify(mUserListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(any(User.class));
+        verify(mUserListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mServer.getServer().getRequestCount(), is(2));
+        RetryCounter.Entry entry = Hyperwallet.getDefault().getRetryCounter().getEntry("GET users/{0}");
+        assertThat(entry.getRequests(), is(1L));
+        assertThat(entry.getRetries(), is(1L));
+        assertThat(entry.getExhausted(), is(0L));
+    }
+
+    @Test
+    public void testCreateBankAccount_unavailableIsNotRetried() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContentError("system_error_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_UNAVAILABLE)
+                .setHeader("Retry-After", "0").setBody(responseBody));
+        BankAccount bankAccount = new BankAccount.Builder(null, "USD", "8017110254")
+                .branchId("211179539")
+                .bankAccountPurpose(BankAccount.Purpose.CHECKING)
+                .build();
+
+        Hyperwallet.getDefault().createBankAccount(bankAccount, mBankAccountListener);
+
+        verify(mBankAccountListener, timeout(AWAIT_TIMEOUT_MILLIS)).onFailure(any(HyperwalletException.class));
+        assertThat(mServer.getServer().getRequestCount(), is(1));
+        assertThat(Hyperwallet.getDefault().getRetryCounter().getEntries().isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,104 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class RouteTemplateTest {
+
+    private static final String[] PATTERNS = {
+            "users/{0}",
+            "transfers/{1}",
+            "users/{0}/bank-accounts/{1}",
+            "users/{0}/prepaid-cards/{1}/receipts",
+            "users/{0}/paypal-accounts/{1}/status-transitions"
+    };
+    private static final String USER_TOKEN = "usr-f9154016-94e8-4686-a840-075688ac07b5";
+    private static final String TRANSFER_METHOD_TOKEN = "trm-ac5727ac-8fe7-42fb-b69d-977ebdd7b48b";
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testExpand_matchesMessageFormat() {
+        for (String pattern : PATTERNS) {
+            assertThat(RouteTemplate.of(pattern).expand(USER_TOKEN, new Object[]{TRANSFER_METHOD_TOKEN}),
+                    is(MessageFormat.format(pattern, USER_TOKEN, TRANSFER_METHOD_TOKEN)));
+        }
+    }
+
+    @Test
+    public void testExpand_argumentsArePercentEncoded() {
+        RouteTemplate template = RouteTemplate.compile("users/{0}/bank-accounts/{1}");
+
+        String path = template.expand("usr 1", new Object[]{"trm/../\u00e9&1"});
+
+        assertThat(path, is("users/usr%201/bank-accounts/trm%2F..%2F%C3%A9%261"));
+    }
+
+    @Test
+    public void testExpand_patternWithoutArguments() {
+        assertThat(RouteTemplate.compile("transfers").expand(USER_TOKEN, new Object[0]), is("transfers"));
+    }
+
+    @Test
+    public void testExpand_missingArgument() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Missing argument {1} of route pattern transfers/{1}");
+
+        RouteTemplate.compile("transfers/{1}").expand(USER_TOKEN, new Object[0]);
+    }
+
+    @Test
+    public void testCompile_unclosedArgument() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Unclosed argument in route pattern users/{0");
+
+        RouteTemplate.compile("users/{0");
+    }
+
+    @Test
+    public void testOf_patternIsCompiledOnce() {
+        assertThat(RouteTemplate.of("users/{0}/receipts"), is(sameInstance(RouteTemplate.of("users/{0}/receipts"))));
+    }
+
+    /**
+     * Compares building a path with the compiled route table to the previous {@link MessageFormat} based path,
+     * run manually as it only reports timings
+     */
+    @Ignore("Microbenchmark, run manually")
+    @Test
+    public void benchmarkExpand_againstMessageFormat() {
+        int iterations = 200_000;
+        Object[] arguments = {TRANSFER_METHOD_TOKEN};
+        long sink = 0;
+        for (int round = 0; round < 3; round++) {
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                ArrayList<Object> argumentsList = new ArrayList<>(Arrays.asList(arguments));
+                argumentsList.add(0, USER_TOKEN);
+                sink += MessageFormat.format(PATTERNS[i % PATTERNS.length], argumentsList.toArray()).length();
+            }
+            long messageFormatNanos = System.nanoTime() - startNanos;
+
+            startNanos = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += RouteTemplate.of(PATTERNS[i % PATTERNS.length]).expand(USER_TOKEN, arguments).length();
+            }
+            long routeTemplateNanos = System.nanoTime() - startNanos;
+
+            System.out.println(String.format("round %d: MessageFormat %d ns/op, RouteTemplate %d ns/op", round,
+                    messageFormatNanos / iterations, routeTemplateNanos / iterations));
+        }
+        System.out.println(sink);
+    }
+}
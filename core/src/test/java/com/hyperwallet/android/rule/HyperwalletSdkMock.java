@@ -5,6 +5,7 @@ import android.util.Base64;
 import com.hyperwallet.android.Hyperwallet;
 import com.hyperwallet.android.HyperwalletAuthenticationTokenListener;
 import com.hyperwallet.android.HyperwalletAuthenticationTokenProvider;
+import com.hyperwallet.android.HyperwalletOptions;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -19,10 +20,16 @@ import java.util.concurrent.TimeUnit;
 public class HyperwalletSdkMock extends TestWatcher {
 
     private HyperwalletMockWebServer server;
+    private HyperwalletOptions options;
     private boolean failAuthentication;
 
     public HyperwalletSdkMock(HyperwalletMockWebServer server) {
+        this(server, new HyperwalletOptions.Builder().build());
+    }
+
+    public HyperwalletSdkMock(HyperwalletMockWebServer server, HyperwalletOptions options) {
         this.server = server;
+        this.options = options;
         failAuthentication = false;
     }
 
@@ -33,7 +40,7 @@ public class HyperwalletSdkMock extends TestWatcher {
     @Override
     protected void starting(Description description) {
         super.starting(description);
-        Hyperwallet.getInstance(new AuthenticationProvider(server));
+        Hyperwallet.getInstance(new AuthenticationProvider(server), options);
     }
 
 
@@ -0,0 +1,104 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testOnSample_flatLatencyRaisesLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit.Builder().initialLimit(4).build();
+
+        limit.onSample(100, 4);
+        limit.onSample(110, 5);
+        limit.onSample(100, 6);
+
+        assertThat(limit.getLimit(), is(7));
+    }
+
+    @Test
+    public void testOnSample_unusedLimitIsNotRaised() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit.Builder().initialLimit(8).build();
+
+        limit.onSample(100, 1);
+        limit.onSample(100, 3);
+
+        assertThat(limit.getLimit(), is(8));
+    }
+
+    @Test
+    public void testOnSample_risingLatencyCutsLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit.Builder().initialLimit(10).backoffRatio(0.5f)
+                .build();
+
+        limit.onSample(100, 10);
+        limit.onSample(250, 11);
+
+        assertThat(limit.getLimit(), is(5));
+    }
+
+    @Test
+    public void testOnSample_limitStaysWithinBounds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit.Builder().initialLimit(2).minLimit(2)
+                .maxLimit(3).build();
+
+        limit.onSample(100, 2);
+        limit.onSample(100, 3);
+        assertThat(limit.getLimit(), is(3));
+
+        limit.onSample(1000, 3);
+        limit.onSample(1000, 3);
+        assertThat(limit.getLimit(), is(2));
+    }
+
+    @Test
+    public void testOnSample_minimumLatencyIsMeasuredAgain() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit.Builder().initialLimit(4).probeInterval(2)
+                .build();
+        limit.onSample(100, 4);
+        limit.onSample(300, 4);
+        assertThat(limit.getLimit(), is(4));
+
+        limit.onSample(300, 4);
+        limit.onSample(310, 4);
+
+        assertThat(limit.getLimit(), is(6));
+    }
+
+    @Test
+    public void testOnSample_listenerIsNotifiedOfChanges() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit.Builder().initialLimit(2).build();
+        final List<String> changes = new ArrayList<>();
+        limit.addListener(new AdaptiveConcurrencyLimit.Listener() {
+            @Override
+            public void onLimitChanged(int from, int to) {
+                changes.add(from + "->" + to);
+            }
+        });
+
+        limit.onSample(100, 2);
+        limit.onSample(100, 0);
+        limit.onSample(500, 3);
+
+        assertThat(changes, contains("2->3", "3->2"));
+    }
+
+    @Test
+    public void testBuild_minLimitAboveMaxLimit() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("min limit can not be above max limit");
+
+        new AdaptiveConcurrencyLimit.Builder().minLimit(5).maxLimit(4).build();
+    }
+}
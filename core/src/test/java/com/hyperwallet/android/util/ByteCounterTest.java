@@ -0,0 +1,37 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+public class ByteCounterTest {
+
+    @Test
+    public void testRecord_accumulatesPerEndpoint() {
+        ByteCounter byteCounter = new ByteCounter();
+
+        byteCounter.recordReceived("GET users/{0}/receipts", 100, 400);
+        byteCounter.recordReceived("GET users/{0}/receipts", 50, 200);
+        byteCounter.recordSent("POST graphql", 300, 3000);
+
+        ByteCounter.Entry receipts = byteCounter.getEntry("GET users/{0}/receipts");
+        assertThat(receipts.getWireBytesReceived(), is(150L));
+        assertThat(receipts.getDecodedBytesReceived(), is(600L));
+        assertThat(receipts.getWireBytesSent(), is(0L));
+        ByteCounter.Entry graphql = byteCounter.getEntry("POST graphql");
+        assertThat(graphql.getWireBytesSent(), is(300L));
+        assertThat(graphql.getDecodedBytesSent(), is(3000L));
+        assertThat(byteCounter.getEntries(), hasKey("POST graphql"));
+        assertThat(byteCounter.getEntries().size(), is(2));
+    }
+
+    @Test
+    public void testGetEntry_unknownEndpoint() {
+        ByteCounter.Entry entry = new ByteCounter().getEntry("GET users/{0}");
+
+        assertThat(entry.getWireBytesReceived(), is(0L));
+        assertThat(entry.getDecodedBytesReceived(), is(0L));
+    }
+}
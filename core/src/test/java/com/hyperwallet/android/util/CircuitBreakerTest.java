@@ -0,0 +1,160 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class CircuitBreakerTest {
+
+    private static final String REST_URI = "https://api.test/rest/v3/";
+    private static final String GRAPH_QL_URI = "https://api.test/graphql/";
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testRecord_opensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().slidingWindowSize(4).minimumCalls(4)
+                .failureRateThreshold(0.5f).build();
+
+        record(breaker, REST_URI, true, true, false);
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.CLOSED));
+        record(breaker, REST_URI, false);
+
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.OPEN));
+        assertThat(breaker.tryAcquire(REST_URI), is(CircuitBreaker.NO_PERMIT));
+        assertThat(breaker.getState(GRAPH_QL_URI), is(CircuitBreaker.State.CLOSED));
+        assertThat(breaker.tryAcquire(GRAPH_QL_URI), is(not(CircuitBreaker.NO_PERMIT)));
+    }
+
+    @Test
+    public void testRecord_slidingWindowForgetsOldestCalls() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().slidingWindowSize(4).minimumCalls(4)
+                .failureRateThreshold(0.75f).build();
+
+        record(breaker, REST_URI, false, false, true, true, true, true, false, false);
+
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void testTryAcquire_halfOpenLetsTrialCallsThrough() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().slidingWindowSize(2).minimumCalls(2)
+                .openDuration(0, TimeUnit.MILLISECONDS).halfOpenCalls(1).build();
+        record(breaker, REST_URI, false, false);
+
+        long permit = breaker.tryAcquire(REST_URI);
+        assertThat(permit, is(not(CircuitBreaker.NO_PERMIT)));
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.HALF_OPEN));
+        assertThat(breaker.tryAcquire(REST_URI), is(CircuitBreaker.NO_PERMIT));
+
+        breaker.record(REST_URI, permit, true);
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void testRecord_failedTrialCallOpensAgain() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().slidingWindowSize(2).minimumCalls(2)
+                .openDuration(0, TimeUnit.MILLISECONDS).build();
+        record(breaker, REST_URI, false, false);
+        long permit = breaker.tryAcquire(REST_URI);
+
+        breaker.record(REST_URI, permit, false);
+
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void testRecord_ignoresCallPermittedBeforeHalfOpen() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().slidingWindowSize(2).minimumCalls(2)
+                .openDuration(0, TimeUnit.MILLISECONDS).build();
+        long closedPermit = breaker.tryAcquire(REST_URI);
+        record(breaker, REST_URI, false, false);
+        long trialPermit = breaker.tryAcquire(REST_URI);
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.HALF_OPEN));
+
+        breaker.record(REST_URI, closedPermit, true);
+
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.HALF_OPEN));
+        breaker.record(REST_URI, trialPermit, false);
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void testRelease_abortedTrialCallLetsAnotherThrough() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().slidingWindowSize(2).minimumCalls(2)
+                .openDuration(0, TimeUnit.MILLISECONDS).halfOpenCalls(1).build();
+        record(breaker, REST_URI, false, false);
+        long permit = breaker.tryAcquire(REST_URI);
+
+        breaker.release(REST_URI, permit);
+
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.HALF_OPEN));
+        assertThat(breaker.tryAcquire(REST_URI), is(permit));
+    }
+
+    @Test
+    public void testTryAcquire_openRejectsUntilOpenDurationElapsed() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().slidingWindowSize(1).minimumCalls(1)
+                .openDuration(1, TimeUnit.HOURS).build();
+        record(breaker, REST_URI, false);
+
+        assertThat(breaker.tryAcquire(REST_URI), is(CircuitBreaker.NO_PERMIT));
+        assertThat(breaker.getState(REST_URI), is(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void testAddListener_notifiedOfTransitions() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().slidingWindowSize(1).minimumCalls(1)
+                .openDuration(0, TimeUnit.MILLISECONDS).build();
+        final List<String> transitions = new ArrayList<>();
+        breaker.addListener(new CircuitBreaker.Listener() {
+            @Override
+            public void onStateChanged(@NonNull String key, @NonNull CircuitBreaker.State from,
+                    @NonNull CircuitBreaker.State to) {
+                transitions.add(key + " " + from + "->" + to);
+            }
+        });
+
+        record(breaker, REST_URI, false, true);
+
+        assertThat(transitions, contains(REST_URI + " CLOSED->OPEN", REST_URI + " OPEN->HALF_OPEN",
+                REST_URI + " HALF_OPEN->CLOSED"));
+    }
+
+    @Test
+    public void testIsFailure() {
+        assertThat(CircuitBreaker.isFailure(500), is(true));
+        assertThat(CircuitBreaker.isFailure(503), is(true));
+        assertThat(CircuitBreaker.isFailure(400), is(false));
+        assertThat(CircuitBreaker.isFailure(200), is(false));
+    }
+
+    @Test
+    public void testBuilder_invalidFailureRateThreshold() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("failure rate threshold must be in (0, 1]");
+
+        new CircuitBreaker.Builder().failureRateThreshold(0);
+    }
+
+    private static void record(final CircuitBreaker breaker, final String key, final boolean... outcomes) {
+        for (boolean success : outcomes) {
+            long permit = breaker.tryAcquire(key);
+            if (permit != CircuitBreaker.NO_PERMIT) {
+                breaker.record(key, permit, success);
+            }
+        }
+    }
+}
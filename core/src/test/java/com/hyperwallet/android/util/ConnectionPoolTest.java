@@ -0,0 +1,92 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionPoolTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private String mMaxConnections;
+    private String mKeepAliveDuration;
+
+    @Before
+    public void clearProperties() {
+        mMaxConnections = System.clearProperty(ConnectionPool.MAX_CONNECTIONS_PROPERTY);
+        mKeepAliveDuration = System.clearProperty(ConnectionPool.KEEP_ALIVE_DURATION_PROPERTY);
+    }
+
+    @After
+    public void restoreProperties() {
+        restore(ConnectionPool.MAX_CONNECTIONS_PROPERTY, mMaxConnections);
+        restore(ConnectionPool.KEEP_ALIVE_DURATION_PROPERTY, mKeepAliveDuration);
+    }
+
+    @Test
+    public void testConstructor_setsPlatformKeepAliveLimits() {
+        ConnectionPool pool = new ConnectionPool(3, 2, TimeUnit.MINUTES);
+
+        assertThat(pool.isKeepAliveEnabled(), is(true));
+        assertThat(System.getProperty(ConnectionPool.MAX_CONNECTIONS_PROPERTY), is("3"));
+        assertThat(System.getProperty(ConnectionPool.KEEP_ALIVE_DURATION_PROPERTY), is("120000"));
+    }
+
+    @Test
+    public void testConstructor_keepsPropertiesSetByApp() {
+        System.setProperty(ConnectionPool.MAX_CONNECTIONS_PROPERTY, "10");
+
+        new ConnectionPool();
+
+        assertThat(System.getProperty(ConnectionPool.MAX_CONNECTIONS_PROPERTY), is("10"));
+        assertThat(System.getProperty(ConnectionPool.KEEP_ALIVE_DURATION_PROPERTY), is("300000"));
+    }
+
+    @Test
+    public void testIsKeepAliveEnabled_disabledWithoutIdleConnections() {
+        ConnectionPool pool = new ConnectionPool(0, 5, TimeUnit.MINUTES);
+
+        assertThat(pool.isKeepAliveEnabled(), is(false));
+        assertThat(System.getProperty(ConnectionPool.MAX_CONNECTIONS_PROPERTY), is(nullValue()));
+    }
+
+    @Test
+    public void testIsKeepAliveEnabled_disabledWithoutKeepAliveDuration() {
+        ConnectionPool pool = new ConnectionPool(5, 0, TimeUnit.MINUTES);
+
+        assertThat(pool.isKeepAliveEnabled(), is(false));
+    }
+
+    @Test
+    public void testConstructor_negativeMaxIdleConnections() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("max idle connections per host can not be negative");
+
+        new ConnectionPool(-1, 5, TimeUnit.MINUTES);
+    }
+
+    @Test
+    public void testConstructor_negativeKeepAliveDuration() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("keep alive duration can not be negative");
+
+        new ConnectionPool(5, -1, TimeUnit.MINUTES);
+    }
+
+    private static void restore(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockResponse;
+
+public class ConnectionWarmerTest {
+
+    @Rule
+    public final HyperwalletMockWebServer server = new HyperwalletMockWebServer();
+
+    @Test
+    public void testWarm_connectionIsReusedByNextRequest() throws Exception {
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_NOT_FOUND));
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK));
+        ConnectionPool connectionPool = new ConnectionPool();
+        ConnectionWarmer warmer = new ConnectionWarmer(connectionPool, null);
+
+        ConnectionWarmer.Result result = warmer.warm(server.getServer().url("/rest/v3/").toString());
+        new HttpClient.Builder(server.getServer().url("/rest/v3/users").toString()).connectionPool(connectionPool)
+                .build().getResponse();
+
+        assertThat(result.isSuccessful(), is(true));
+        assertThat(result.getHost(), is(server.getServer().getHostName()));
+        assertThat(server.getServer().takeRequest().getMethod(), is("HEAD"));
+        assertThat(server.getServer().takeRequest().getSequenceNumber(), is(1));
+        assertThat(warmer.getResults().get(result.getHost()), is(result));
+    }
+
+    @Test
+    public void testWarm_hostIsWarmedOnce() {
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK));
+        ConnectionWarmer warmer = new ConnectionWarmer(new ConnectionPool(), null);
+        warmer.warm(server.getServer().url("/rest/v3/").toString());
+
+        ConnectionWarmer.Result result = warmer.warm(server.getServer().url("/graphql/").toString());
+
+        assertThat(result, is(nullValue()));
+        assertThat(server.getServer().getRequestCount(), is(1));
+    }
+
+    @Test
+    public void testWarm_failureIsReportedToListener() throws Exception {
+        String uri = server.getServer().url("/rest/v3/").toString();
+        server.getServer().shutdown();
+        ConnectionWarmer warmer = new ConnectionWarmer(new ConnectionPool(), null);
+        final List<Boolean> outcomes = new ArrayList<>();
+        warmer.addListener(new ConnectionWarmer.Listener() {
+            @Override
+            public void onWarmedUp(ConnectionWarmer.Result result) {
+                outcomes.add(result.isSuccessful());
+            }
+        });
+
+        ConnectionWarmer.Result result = warmer.warm(uri);
+
+        assertThat(result.isSuccessful(), is(false));
+        assertThat(outcomes, contains(false));
+    }
+}
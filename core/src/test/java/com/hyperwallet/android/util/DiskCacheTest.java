@@ -0,0 +1,96 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+public class DiskCacheTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+    @Rule
+    public final TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testPut_entryIsReadByNewInstance() throws IOException {
+        File directory = mTemporaryFolder.newFolder("cache");
+        new DiskCache(directory, 1024).put("usr-1 users/usr-1 {}",
+                new DiskCache.Entry("\"v1\"", null, "{\"token\":\"usr-1\"}"));
+
+        DiskCache.Entry entry = new DiskCache(directory, 1024).get("usr-1 users/usr-1 {}");
+
+        assertThat(entry.getETag(), is("\"v1\""));
+        assertThat(entry.getLastModified(), is(nullValue()));
+        assertThat(entry.getBody(), is("{\"token\":\"usr-1\"}"));
+    }
+
+    @Test
+    public void testGet_corruptFileIsDeleted() throws IOException {
+        File directory = mTemporaryFolder.newFolder("cache");
+        DiskCache cache = new DiskCache(directory, 1024);
+        cache.put("key", new DiskCache.Entry(null, null, "{\"token\":\"usr-1\"}"));
+        File file = directory.listFiles()[0];
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        randomAccessFile.setLength(file.length() - 4);
+        randomAccessFile.close();
+
+        DiskCache reopened = new DiskCache(directory, 1024);
+
+        assertThat(reopened.get("key"), is(nullValue()));
+        assertThat(reopened.size(), is(0L));
+        assertThat(file.exists(), is(false));
+    }
+
+    @Test
+    public void testInitialize_leftoverTempFileIsDeleted() throws IOException {
+        File directory = mTemporaryFolder.newFolder("cache");
+        File tempFile = new File(directory, "abc.tmp");
+        tempFile.createNewFile();
+
+        assertThat(new DiskCache(directory, 1024).size(), is(0L));
+        assertThat(tempFile.exists(), is(false));
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsed() throws IOException {
+        DiskCache cache = new DiskCache(mTemporaryFolder.newFolder("cache"), 160);
+        cache.put("first", new DiskCache.Entry(null, null, "{\"body\":\"1111111111111111111111111111111111\"}"));
+        cache.put("second", new DiskCache.Entry(null, null, "{\"body\":\"2222222222222222222222222222222222\"}"));
+        cache.get("first");
+
+        cache.put("third", new DiskCache.Entry(null, null, "{\"body\":\"3333333333333333333333333333333333\"}"));
+
+        assertThat(cache.get("second"), is(nullValue()));
+        assertThat(cache.get("first").getBody(), is("{\"body\":\"1111111111111111111111111111111111\"}"));
+        assertThat(cache.get("third").getBody(), is("{\"body\":\"3333333333333333333333333333333333\"}"));
+    }
+
+    @Test
+    public void testClear_removesAllEntries() throws IOException {
+        DiskCache cache = new DiskCache(mTemporaryFolder.newFolder("cache"), 1024);
+        cache.put("first", new DiskCache.Entry(null, null, "{}"));
+        cache.put("second", new DiskCache.Entry(null, null, "{}"));
+
+        cache.clear();
+
+        assertThat(cache.size(), is(0L));
+        assertThat(cache.get("first"), is(nullValue()));
+    }
+
+    @Test
+    public void testDiskCache_invalidMaxSize() throws IOException {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("max size must be positive");
+
+        new DiskCache(mTemporaryFolder.newFolder("cache"), 0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class HeadersTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testWith_layersHeaderWithoutChangingDefaults() {
+        Headers defaults = Headers.of(defaultHeaders());
+
+        Headers headers = defaults.with("Authorization", "Bearer token");
+
+        assertThat(headers.get("Authorization"), is("Bearer token"));
+        assertThat(headers.get("Accept"), is("application/json"));
+        assertThat(headers.size(), is(3));
+        assertThat(defaults.get("Authorization"), is(nullValue()));
+        assertThat(defaults.size(), is(2));
+    }
+
+    @Test
+    public void testWith_replacesValue() {
+        Headers headers = Headers.of(defaultHeaders())
+                .with("Authorization", "Bearer old")
+                .with("Accept", "text/plain")
+                .with("Authorization", "Bearer new");
+
+        assertThat(headers.size(), is(3));
+        assertThat(headers.get("Accept"), is("text/plain"));
+        assertThat(headers.get("Authorization"), is("Bearer new"));
+        assertThat(headers.keySet(), contains("Content-Type", "Accept", "Authorization"));
+    }
+
+    @Test
+    public void testEquals_matchesCopiedMap() {
+        Headers headers = Headers.of(defaultHeaders()).with("X-Sdk-ContextId", "context-id");
+
+        Map<String, String> copy = new HashMap<>(headers);
+
+        assertThat(copy.equals(headers), is(true));
+        assertThat(headers.equals(copy), is(true));
+        assertThat(headers.hashCode(), is(copy.hashCode()));
+    }
+
+    @Test
+    public void testWithAll_emptyHeadersAdoptsImmutableHeaders() {
+        Headers headers = Headers.of(defaultHeaders()).with("Authorization", "Bearer token");
+
+        assertThat(Headers.EMPTY.withAll(headers), is(sameInstance(headers)));
+        assertThat(Headers.of(headers), is(sameInstance(headers)));
+        assertThat(headers.withAll(Collections.singletonMap("Accept-Encoding", "gzip")).size(), is(4));
+    }
+
+    @Test
+    public void testIterator_removeIsUnsupported() {
+        thrown.expect(UnsupportedOperationException.class);
+        thrown.expectMessage("Headers are immutable");
+
+        Headers headers = Headers.of(defaultHeaders()).with("Authorization", "Bearer token");
+        headers.entrySet().iterator().remove();
+    }
+
+    private static Map<String, String> defaultHeaders() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Accept", "application/json");
+        headers.put("Content-Type", "application/json");
+        return headers;
+    }
+}
@@ -0,0 +1,74 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class HedgingPolicyTest {
+
+    private static final String ENDPOINT = "GET users/{0}/transfer-methods";
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testGetDelayMillis_noHedgeBeforeMinSamples() {
+        HedgingPolicy policy = new HedgingPolicy.Builder().minSamples(3).build();
+        policy.recordLatency(ENDPOINT, 100);
+        policy.recordLatency(ENDPOINT, 100);
+
+        assertThat(policy.getDelayMillis(ENDPOINT), is(HedgingPolicy.NO_HEDGE));
+        assertThat(policy.getDelayMillis("GET users/{0}/balances"), is(HedgingPolicy.NO_HEDGE));
+    }
+
+    @Test
+    public void testGetDelayMillis_percentileOfLatencies() {
+        HedgingPolicy policy = new HedgingPolicy.Builder().percentile(0.9f).minSamples(10).build();
+        for (int latency = 100; latency <= 1000; latency += 100) {
+            policy.recordLatency(ENDPOINT, latency);
+        }
+
+        assertThat(policy.getDelayMillis(ENDPOINT), is(900L));
+    }
+
+    @Test
+    public void testGetDelayMillis_notBelowMinDelay() {
+        HedgingPolicy policy = new HedgingPolicy.Builder().minSamples(1).minDelayMillis(50).build();
+        policy.recordLatency(ENDPOINT, 10);
+
+        assertThat(policy.getDelayMillis(ENDPOINT), is(50L));
+    }
+
+    @Test
+    public void testGetDelayMillis_onlyMostRecentLatenciesAreKept() {
+        HedgingPolicy policy = new HedgingPolicy.Builder().percentile(1f).windowSize(2).minSamples(2).build();
+        policy.recordLatency(ENDPOINT, 5000);
+        policy.recordLatency(ENDPOINT, 200);
+        policy.recordLatency(ENDPOINT, 300);
+
+        assertThat(policy.getDelayMillis(ENDPOINT), is(300L));
+    }
+
+    @Test
+    public void testRecordHedge_countsHedgesAndWins() {
+        HedgingPolicy policy = new HedgingPolicy.Builder().build();
+
+        policy.recordHedge(true);
+        policy.recordHedge(false);
+        policy.recordHedge(true);
+
+        assertThat(policy.getHedgeCount(), is(3L));
+        assertThat(policy.getHedgeWinCount(), is(2L));
+    }
+
+    @Test
+    public void testBuild_minSamplesAboveWindowSize() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("min samples can not be above window size");
+
+        new HedgingPolicy.Builder().windowSize(10).minSamples(11).build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.hyperwallet.android.util;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsMapWithSize.aMapWithSize;
 import static org.junit.Assert.assertNotNull;
@@ -19,6 +20,7 @@ import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -26,6 +28,7 @@ import java.util.Map;
 
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
+import okhttp3.mockwebserver.RecordedRequest;
 
 
 @RunWith(Suite.class)
@@ -138,6 +141,23 @@ public class HttpClientTestSuite {
         }
 
 
+        @Test
+        public void testPost_sendsBodyWithFixedLength() throws Exception {
+            String requestUrl = server.mockResponse()
+                    .withHttpResponseCode(HttpURLConnection.HTTP_CREATED).getRequestUrl();
+            HttpClient client = new HttpClient.Builder(requestUrl).build();
+            byte[] body = "{\"type\":\"BANK_ACCOUNT\",\"currency\":\"\u20ac\"}".getBytes(StandardCharsets.UTF_8);
+
+            int httpResponseCode = client.post(body);
+
+            assertThat(httpResponseCode, is(HttpURLConnection.HTTP_CREATED));
+            RecordedRequest request = server.getServer().takeRequest();
+            assertThat(request.getHeader("Content-Length"), is(String.valueOf(body.length)));
+            assertThat(request.getHeader("Transfer-Encoding"), is(nullValue()));
+            assertThat(request.getBody().readUtf8(), is("{\"type\":\"BANK_ACCOUNT\",\"currency\":\"\u20ac\"}"));
+        }
+
+
         @Test
         public void testPut_verifyHttpResponseCode() throws Exception {
             String requestUrl = server.mockResponse()
@@ -178,6 +198,26 @@ public class HttpClientTestSuite {
 
         }
 
+        @Test
+        public void testGetResponse_releasesConnectionToPool() throws Exception {
+
+            ConnectionPool connectionPool = new ConnectionPool();
+            String body = resourceManager.getResourceContent("bank_account_response.json");
+            String requestUrl = server.mockResponse().withBody(body).getRequestUrl();
+            HttpClient client = new HttpClient.Builder(requestUrl).connectionPool(connectionPool).build();
+
+            String response = client.getResponse();
+
+            assertThat(response, is(body));
+
+            requestUrl = server.mockResponse().withBody(body).getRequestUrl();
+            client = new HttpClient.Builder(requestUrl).connectionPool(connectionPool).build();
+            client.getResponse();
+
+            assertThat(server.getServer().takeRequest().getSequenceNumber(), is(0));
+            assertThat(server.getServer().takeRequest().getSequenceNumber(), is(1));
+        }
+
         @Test
         public void testGetHttpUrlConnection_verifyConnectTimeout() throws Exception {
 
@@ -301,6 +341,21 @@ public class HttpClientTestSuite {
 
         }
 
+
+        @Test
+        public void testBuild_attemptToBuildClientWithNegativeRequestCompressionThreshold()
+                throws IOException, URISyntaxException {
+
+            thrown.expect(IllegalArgumentException.class);
+            thrown.expectMessage("request compression threshold can not be negative");
+
+            new HttpClient.Builder(server.mockResponse().getRequestUrl())
+                    .path("hyperwallet")
+                    .requestCompressionThreshold(-2)
+                    .build();
+
+        }
+
     }
 
 }
@@ -0,0 +1,194 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+public class HttpUrlConnectionTransportTest {
+
+    @Rule
+    public final HyperwalletMockWebServer server = new HyperwalletMockWebServer();
+
+    @Test
+    public void testExecute_sendsGetRequest() throws Exception {
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setHeader("X-Test", "value").setBody("{}"));
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept", "application/json");
+        Map<String, String> queries = new HashMap<>();
+        queries.put("limit", "10");
+        HttpRequest request = new HttpRequest.Builder(HttpMethod.GET, server.getServer().url("/rest/v3/").toString())
+                .path("users").putHeaders(headers).putQueries(queries).build();
+
+        HttpResponse response = new HttpUrlConnectionTransport().execute(request);
+
+        assertThat(response.getCode(), is(HttpURLConnection.HTTP_OK));
+        assertThat(response.getHeader("x-test"), is("value"));
+        assertThat(response.getBodyAsString(), is("{}"));
+        RecordedRequest recordedRequest = server.getRequest();
+        assertThat(recordedRequest.getMethod(), is("GET"));
+        assertThat(recordedRequest.getPath(), is("/rest/v3/users?limit=10"));
+        assertThat(recordedRequest.getHeader("Accept"), is("application/json"));
+    }
+
+    @Test
+    public void testExecute_queryValuesAreEncoded() throws Exception {
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody("{}"));
+        Map<String, String> queries = new HashMap<>();
+        queries.put("businessName", "Smith & Sons=1");
+        HttpRequest request = new HttpRequest.Builder(HttpMethod.GET, server.getServer().url("/rest/v3/").toString())
+                .path("users").putQueries(queries).build();
+
+        new HttpUrlConnectionTransport().execute(request).getBodyAsString();
+
+        RecordedRequest recordedRequest = server.getRequest();
+        assertThat(recordedRequest.getPath(), is("/rest/v3/users?businessName=Smith%20%26%20Sons%3D1"));
+        assertThat(recordedRequest.getRequestUrl().queryParameter("businessName"), is("Smith & Sons=1"));
+    }
+
+    @Test
+    public void testExecute_sendsPostRequestBody() throws Exception {
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_BAD_REQUEST)
+                .setBody("{\"errors\":[]}"));
+        HttpRequest request = new HttpRequest.Builder(HttpMethod.POST, server.getServer().url("/graphql").toString())
+                .body("query { }").build();
+
+        HttpResponse response = new HttpUrlConnectionTransport(new ConnectionPool(), null).execute(request);
+
+        assertThat(response.getCode(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+        assertThat(response.getBodyAsString(), is("{\"errors\":[]}"));
+        RecordedRequest recordedRequest = server.getRequest();
+        assertThat(recordedRequest.getMethod(), is("POST"));
+        assertThat(recordedRequest.getBody().readUtf8(), is("query { }"));
+    }
+
+    @Test
+    public void testExecute_decodesGzipResponseAndCountsBytes() throws Exception {
+        String body = "{\"data\":[" + repeat("{\"token\":\"trm-12345\",\"type\":\"BANK_ACCOUNT\"},", 50)
+                + "{}]}";
+        byte[] compressed = gzip(body.getBytes(StandardCharsets.UTF_8));
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setHeader("Content-Encoding", "gzip").setBody(new Buffer().write(compressed)));
+        ByteCounter byteCounter = new ByteCounter();
+        HttpRequest request = new HttpRequest.Builder(HttpMethod.GET, server.getServer().url("/rest/v3/").toString())
+                .path("users/usr-1/transfer-methods").endpoint("GET users/{0}/transfer-methods").build();
+
+        HttpResponse response = new HttpUrlConnectionTransport.Builder().byteCounter(byteCounter).build()
+                .execute(request);
+
+        assertThat(response.getBodyAsString(), is(body));
+        assertThat(server.getRequest().getHeader("Accept-Encoding"), is("gzip, deflate"));
+        ByteCounter.Entry entry = byteCounter.getEntry("GET users/{0}/transfer-methods");
+        assertThat(entry.getWireBytesReceived(), is((long) compressed.length));
+        assertThat(entry.getDecodedBytesReceived(), is((long) body.length()));
+    }
+
+    @Test
+    public void testExecute_compressesRequestBodyAboveThreshold() throws Exception {
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody("{}"));
+        String query = "query { " + repeat("field ", 100) + "}";
+        ByteCounter byteCounter = new ByteCounter();
+        HttpRequest request = new HttpRequest.Builder(HttpMethod.POST, server.getServer().url("/graphql").toString())
+                .endpoint("POST graphql").body(query).build();
+
+        new HttpUrlConnectionTransport.Builder().byteCounter(byteCounter).requestCompressionThreshold(256).build()
+                .execute(request).close();
+
+        RecordedRequest recordedRequest = server.getRequest();
+        assertThat(recordedRequest.getHeader("Content-Encoding"), is("gzip"));
+        assertThat(gunzip(recordedRequest.getBody().readByteArray()), is(query));
+        ByteCounter.Entry entry = byteCounter.getEntry("POST graphql");
+        assertThat(entry.getDecodedBytesSent(), is((long) query.length()));
+        assertThat(entry.getWireBytesSent() < entry.getDecodedBytesSent(), is(true));
+    }
+
+    @Test
+    public void testExecute_doesNotCompressRequestBodyBelowThreshold() throws Exception {
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody("{}"));
+        HttpRequest request = new HttpRequest.Builder(HttpMethod.POST, server.getServer().url("/graphql").toString())
+                .body("query { }").build();
+
+        new HttpUrlConnectionTransport.Builder().requestCompressionThreshold(256).build().execute(request).close();
+
+        RecordedRequest recordedRequest = server.getRequest();
+        assertThat(recordedRequest.getHeader("Content-Encoding"), is((String) null));
+        assertThat(recordedRequest.getBody().readUtf8(), is("query { }"));
+    }
+
+    @Test
+    public void testExecute_reportsConnectionWriteAndFirstByte() throws Exception {
+        server.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody("{}"));
+        final List<String> events = new ArrayList<>();
+        RequestEventListener eventListener = new RequestEventListener() {
+            @Override
+            public void onConnectionAcquired(String contextId, String endpoint, long durationNanos) {
+                events.add("connection " + contextId + " " + endpoint);
+            }
+
+            @Override
+            public void onRequestWritten(String contextId, String endpoint, long durationNanos) {
+                events.add("written " + contextId + " " + endpoint);
+            }
+
+            @Override
+            public void onFirstByte(String contextId, String endpoint, long durationNanos) {
+                events.add("first byte " + contextId + " " + endpoint);
+            }
+        };
+        HttpRequest request = new HttpRequest.Builder(HttpMethod.POST, server.getServer().url("/rest/v3/").toString())
+                .path("users").endpoint("POST users").body("{\"clientUserId\":\"1\"}")
+                .eventListener(eventListener, "context-id").build();
+
+        new HttpUrlConnectionTransport().execute(request).getBodyAsString();
+
+        assertThat(events, contains("connection context-id POST users", "written context-id POST users",
+                "first byte context-id POST users"));
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(data);
+        gzip.close();
+        return out.toByteArray();
+    }
+
+    private static String gunzip(byte[] data) throws IOException {
+        GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        for (int count; (count = in.read(buffer)) != -1; ) {
+            out.write(buffer, 0, count);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
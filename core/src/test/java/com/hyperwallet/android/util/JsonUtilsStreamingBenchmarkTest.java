@@ -0,0 +1,135 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import com.hyperwallet.android.model.TypeReference;
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.receipt.Receipt;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.Charset;
+
+/**
+ * Compares decoding a 1,000 receipt page from a fully buffered {@code String} against decoding it straight from the
+ * response stream, the stream must allocate less than the buffered body
+ */
+@RunWith(RobolectricTestRunner.class)
+public class JsonUtilsStreamingBenchmarkTest {
+
+    private static final int RECEIPT_COUNT = 1000;
+    private static final int WARM_UP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Rule
+    public final ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+
+    private byte[] mPayload;
+
+    @Before
+    public void setUp() throws Exception {
+        JSONObject page = new JSONObject(mExternalResourceManager.getResourceContent("receipts_response.json"));
+        JSONArray receipts = page.getJSONArray("data");
+        JSONArray scaled = new JSONArray();
+        for (int i = 0; i < RECEIPT_COUNT; i++) {
+            JSONObject receipt = new JSONObject(receipts.getJSONObject(i % receipts.length()).toString());
+            receipt.put("journalId", String.valueOf(3051579 + i));
+            scaled.put(receipt);
+        }
+        page.put("data", scaled);
+        page.put("count", RECEIPT_COUNT);
+        page.put("limit", RECEIPT_COUNT);
+        mPayload = page.toString().getBytes(UTF_8);
+    }
+
+    @Test
+    public void testDecodeReceipts_streamAllocatesLessThanString() throws Exception {
+        assumeTrue(isAllocationMeasured());
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            decodeFromString();
+            decodeFromStream();
+        }
+
+        long stringAllocated = measure(new Decoder() {
+            @Override
+            public PageList<Receipt> decode() throws Exception {
+                return decodeFromString();
+            }
+        });
+        long streamAllocated = measure(new Decoder() {
+            @Override
+            public PageList<Receipt> decode() throws Exception {
+                return decodeFromStream();
+            }
+        });
+
+        assertThat(streamAllocated, is(lessThan(stringAllocated)));
+    }
+
+    /**
+     * @return bytes allocated per decode
+     */
+    private long measure(Decoder decoder) throws Exception {
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            PageList<Receipt> receipts = decoder.decode();
+            assertThat(receipts.getDataList().size(), is(RECEIPT_COUNT));
+        }
+        return (allocatedBytes() - allocatedBefore) / ITERATIONS;
+    }
+
+    /**
+     * Mirrors the previous response path: buffer the body, build a {@code String}, then parse it
+     */
+    private PageList<Receipt> decodeFromString() throws Exception {
+        InputStream inputStream = new ByteArrayInputStream(mPayload);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1024];
+        int read;
+        while ((read = inputStream.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
+        return JsonUtils.fromJsonString(buffer.toString("UTF-8"), new TypeReference<PageList<Receipt>>() {
+        });
+    }
+
+    private PageList<Receipt> decodeFromStream() throws Exception {
+        return JsonUtils.fromJsonStream(new ByteArrayInputStream(mPayload), new TypeReference<PageList<Receipt>>() {
+        });
+    }
+
+    private static boolean isAllocationMeasured() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        return threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported();
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private interface Decoder {
+        PageList<Receipt> decode() throws Exception;
+    }
+}
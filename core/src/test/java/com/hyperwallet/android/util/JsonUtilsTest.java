@@ -3,9 +3,12 @@ package com.hyperwallet.android.util;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 
 import com.hyperwallet.android.model.TypeReference;
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.receipt.Receipt;
 import com.hyperwallet.android.model.transfermethod.BankAccount;
 import com.hyperwallet.android.rule.ExternalResourceManager;
 
@@ -17,6 +20,9 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.Map;
 
 @RunWith(RobolectricTestRunner.class)
@@ -70,4 +76,54 @@ public class JsonUtilsTest {
         assertNotNull(jsonArray);
         assertThat(jsonArray.length(), is(1));
     }
+
+    @Test
+    public void testFromJsonStream_validBankAccountJson() throws Exception {
+        String response = mExternalResourceManager.getResourceContent("bank_account_response.json");
+        BankAccount bankAccount = JsonUtils.fromJsonStream(toStream(response),
+                new TypeReference<BankAccount>() {
+                });
+        assertNotNull(bankAccount);
+        assertEquals("BANK_ACCOUNT", bankAccount.getField("type"));
+        assertEquals("ACTIVATED", bankAccount.getField("status"));
+    }
+
+    @Test
+    public void testFromJsonStream_receiptsMatchStringDecoding() throws Exception {
+        String response = mExternalResourceManager.getResourceContent("receipts_response.json");
+        PageList<Receipt> fromString = JsonUtils.fromJsonString(response,
+                new TypeReference<PageList<Receipt>>() {
+                });
+        PageList<Receipt> fromStream = JsonUtils.fromJsonStream(toStream(response),
+                new TypeReference<PageList<Receipt>>() {
+                });
+
+        assertThat(fromStream.getCount(), is(fromString.getCount()));
+        assertThat(fromStream.getDataList().size(), is(2));
+        assertThat(fromStream.getDataList().get(0).getJournalId(), is(fromString.getDataList().get(0).getJournalId()));
+        assertThat(fromStream.getDataList().get(0).getDetails().getPayeeName(), is("A Person"));
+        assertThat(fromStream.getPageLinks().size(), is(fromString.getPageLinks().size()));
+    }
+
+    @Test
+    public void testFromJsonStream_emptyStream() throws Exception {
+        assertNull(JsonUtils.fromJsonStream(toStream("  \n"), new TypeReference<BankAccount>() {
+        }));
+    }
+
+    @Test(expected = JSONException.class)
+    public void testFromJsonStream_malformedJson() throws Exception {
+        JsonUtils.fromJsonStream(toStream("{\"token\": "), new TypeReference<BankAccount>() {
+        });
+    }
+
+    @Test(expected = JSONException.class)
+    public void testFromJsonStream_trailingContent() throws Exception {
+        JsonUtils.fromJsonStream(toStream("{\"token\": \"trm-1\"} {"), new TypeReference<BankAccount>() {
+        });
+    }
+
+    private static InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(Charset.forName("UTF-8")));
+    }
 }
@@ -0,0 +1,67 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testGetPercentileMillis_withinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+
+        assertThat(snapshot.getCount(), is(100L));
+        assertThat(snapshot.getP50Millis(), is(allOf(greaterThanOrEqualTo(50.0), lessThanOrEqualTo(50 * 1.125))));
+        assertThat(snapshot.getP90Millis(), is(allOf(greaterThanOrEqualTo(90.0), lessThanOrEqualTo(90 * 1.125))));
+        assertThat(snapshot.getP99Millis(), is(allOf(greaterThanOrEqualTo(99.0), lessThanOrEqualTo(99 * 1.125))));
+    }
+
+    @Test
+    public void testBucketOf_upperBoundContainsLatency() {
+        for (long micros = 1; micros < 1 << 20; micros = micros * 3 / 2 + 1) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+
+            assertThat(LatencyHistogram.upperBoundOf(bucket), is(greaterThanOrEqualTo(micros)));
+            assertThat(LatencyHistogram.upperBoundOf(bucket - 1), is(lessThanOrEqualTo(micros - 1)));
+        }
+    }
+
+    @Test
+    public void testRecord_latencyAboveHighestBucketIsCounted() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(TimeUnit.DAYS.toNanos(365));
+
+        assertThat(histogram.getSnapshot().getCount(), is(1L));
+        assertThat(histogram.getSnapshot().getP99Millis() > TimeUnit.HOURS.toMillis(9), is(true));
+    }
+
+    @Test
+    public void testGetPercentileMillis_emptyHistogram() {
+        assertThat(new LatencyHistogram().getSnapshot().getP99Millis(), is(0.0));
+    }
+
+    @Test
+    public void testGetPercentileMillis_invalidPercentile() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("percentile must be in (0, 1]");
+
+        new LatencyHistogram().getSnapshot().getPercentileMillis(0);
+    }
+}
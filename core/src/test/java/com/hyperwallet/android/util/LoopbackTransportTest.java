@@ -0,0 +1,48 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+
+public class LoopbackTransportTest {
+
+    @Test
+    public void testExecute_returnsFixedResponse() throws Exception {
+        LoopbackTransport transport = LoopbackTransport.withResponse(HttpURLConnection.HTTP_OK, "{\"token\":\"x\"}");
+        HttpRequest request = new HttpRequest.Builder(HttpMethod.GET, "https://localhost/rest/v3/")
+                .path("users/usr-token").build();
+
+        HttpResponse first = transport.execute(request);
+        HttpResponse second = transport.execute(request);
+
+        assertThat(first.getCode(), is(HttpURLConnection.HTTP_OK));
+        assertThat(first.getBodyAsString(), is("{\"token\":\"x\"}"));
+        assertThat(second.getBodyAsString(), is("{\"token\":\"x\"}"));
+        assertThat(transport.getRequestCount(), is(2L));
+    }
+
+    @Test
+    public void testExecute_delegatesToResponder() throws Exception {
+        LoopbackTransport transport = new LoopbackTransport(new LoopbackTransport.Responder() {
+            @NonNull
+            @Override
+            public HttpResponse respond(@NonNull HttpRequest request) {
+                return LoopbackTransport.response(HttpURLConnection.HTTP_CREATED,
+                        request.getBody().getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        HttpRequest request = new HttpRequest.Builder(HttpMethod.POST, "https://localhost/rest/v3/")
+                .path("users/usr-token/bank-accounts").body("{\"type\":\"BANK_ACCOUNT\"}").build();
+
+        HttpResponse response = transport.execute(request);
+
+        assertThat(response.getCode(), is(HttpURLConnection.HTTP_CREATED));
+        assertThat(response.getBodyAsString(), is("{\"type\":\"BANK_ACCOUNT\"}"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testGetSnapshot_countsSuccessesAndFailuresPerCode() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.recordSuccess("GET users/{0}/receipts", TimeUnit.MILLISECONDS.toNanos(40));
+        registry.recordSuccess("GET users/{0}/receipts", TimeUnit.MILLISECONDS.toNanos(60));
+        registry.recordFailure("GET users/{0}/receipts", TimeUnit.MILLISECONDS.toNanos(5), "EC_IO_EXCEPTION");
+        registry.recordFailure("POST users/{0}/transfers", TimeUnit.MILLISECONDS.toNanos(80), "EC_IO_EXCEPTION");
+
+        MetricsRegistry.Snapshot snapshot = registry.getSnapshot("GET users/{0}/receipts");
+
+        assertThat(snapshot.getSuccessCount(), is(2L));
+        assertThat(snapshot.getFailureCount(), is(1L));
+        assertThat(snapshot.getFailureCounts(), hasEntry("EC_IO_EXCEPTION", 1L));
+        assertThat(snapshot.getLatency().getCount(), is(3L));
+        assertThat(registry.getSnapshots().size(), is(2));
+    }
+
+    @Test
+    public void testGetSnapshot_readsBytesFromByteCounter() {
+        ByteCounter byteCounter = new ByteCounter();
+        MetricsRegistry registry = new MetricsRegistry(byteCounter);
+        byteCounter.recordSent("POST users/{0}/transfers", 120, 300);
+        byteCounter.recordReceived("POST users/{0}/transfers", 200, 500);
+        registry.recordSuccess("POST users/{0}/transfers", TimeUnit.MILLISECONDS.toNanos(80));
+
+        MetricsRegistry.Snapshot snapshot = registry.getSnapshots().get("POST users/{0}/transfers");
+
+        assertThat(snapshot.getBytesSent(), is(120L));
+        assertThat(snapshot.getBytesReceived(), is(200L));
+    }
+
+    @Test
+    public void testGetSnapshot_unknownEndpoint() {
+        MetricsRegistry.Snapshot snapshot = new MetricsRegistry().getSnapshot("GET users/{0}");
+
+        assertThat(snapshot.getSuccessCount(), is(0L));
+        assertThat(snapshot.getFailureCount(), is(0L));
+        assertThat(snapshot.getLatency().getCount(), is(0L));
+    }
+
+    @Test
+    public void testRecord_doesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        long threadId = Thread.currentThread().getId();
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.recordSuccess("GET users/{0}/receipts", 1);
+        registry.recordFailure("GET users/{0}/receipts", 1, "EC_IO_EXCEPTION");
+
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10000; i++) {
+            registry.recordSuccess("GET users/{0}/receipts", i * 1000L);
+            registry.recordFailure("GET users/{0}/receipts", i * 1000L, "EC_IO_EXCEPTION");
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+        // allows for the bytes the measurement itself allocates
+        assertThat(allocated, is(lessThan(1024L)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestCoalescerTest {
+
+    @Test
+    public void testJoin_identicalKeysAreCoalesced() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+
+        assertThat(coalescer.join("usr-1 users/usr-1 {}", "first"), is(true));
+        assertThat(coalescer.join("usr-1 users/usr-1 {}", "second"), is(false));
+        assertThat(coalescer.join("usr-1 users/usr-1/balances {}", "third"), is(true));
+
+        assertThat(coalescer.getInFlightCount(), is(2));
+        assertThat(coalescer.getIssuedCount(), is(2L));
+        assertThat(coalescer.getCoalescedCount(), is(1L));
+        assertThat(coalescer.getCoalescedRatio(), is(0.5));
+    }
+
+    @Test
+    public void testComplete_returnsWaitersInJoinOrder() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+        coalescer.join("key", "first");
+        coalescer.join("key", "second");
+
+        assertThat(coalescer.complete("key"), contains("first", "second"));
+        assertThat(coalescer.complete("key"), is(empty()));
+        assertThat(coalescer.join("key", "third"), is(true));
+    }
+
+    @Test
+    public void testLeave_lastWaiterCompletesRequest() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+        coalescer.join("key", "first");
+        coalescer.join("key", "second");
+
+        assertThat(coalescer.leave("key", "first"), is(false));
+        assertThat(coalescer.leave("key", "second"), is(true));
+        assertThat(coalescer.getInFlightCount(), is(0));
+        assertThat(coalescer.join("key", "third"), is(true));
+    }
+
+    @Test
+    public void testLeave_abortsIssuedCallWhenLastWaiterLeaves() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+        final AtomicInteger aborted = new AtomicInteger();
+        coalescer.join("key", "first", new RequestCoalescer.Call() {
+            @Override
+            public void abort() {
+                aborted.incrementAndGet();
+            }
+        });
+        coalescer.join("key", "second");
+
+        coalescer.leave("key", "first");
+        assertThat(aborted.get(), is(0));
+        coalescer.leave("key", "second");
+
+        assertThat(aborted.get(), is(1));
+        assertThat(coalescer.leave("key", "second"), is(false));
+    }
+
+    @Test
+    public void testGetCoalescedRatio_nothingIssued() {
+        assertThat(new RequestCoalescer<String>().getCoalescedRatio(), is(0.0));
+    }
+}
@@ -0,0 +1,72 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ResponseCacheTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testPut_keepsResponsesWithValidators() {
+        ResponseCache cache = new ResponseCache();
+        Object result = new Object();
+
+        cache.put("usr-1 users/usr-1 {}", new ResponseCache.Entry("usr-1", "\"v1\"", null, result));
+
+        ResponseCache.Entry entry = cache.get("usr-1 users/usr-1 {}");
+        assertThat(entry.getETag(), is("\"v1\""));
+        assertThat(entry.getResult(), is(result));
+    }
+
+    @Test
+    public void testPut_responseWithoutValidatorsRemovesEntry() {
+        ResponseCache cache = new ResponseCache();
+        cache.put("key", new ResponseCache.Entry("usr-1", "\"v1\"", null, "first"));
+
+        cache.put("key", new ResponseCache.Entry("usr-1", null, null, "second"));
+
+        assertThat(cache.get("key"), is(nullValue()));
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsed() {
+        ResponseCache cache = new ResponseCache(2);
+        cache.put("first", new ResponseCache.Entry("usr-1", "\"1\"", null, null));
+        cache.put("second", new ResponseCache.Entry("usr-1", "\"2\"", null, null));
+        cache.get("first");
+
+        cache.put("third", new ResponseCache.Entry("usr-1", "\"3\"", null, null));
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("second"), is(nullValue()));
+    }
+
+    @Test
+    public void testClear_removesOnlyEntriesOfUser() {
+        ResponseCache cache = new ResponseCache();
+        cache.put("usr-1 users/usr-1 {}", new ResponseCache.Entry("usr-1", "\"1\"", null, null));
+        cache.put("usr-2 users/usr-2 {}", new ResponseCache.Entry("usr-2", null, "Wed, 21 Oct 2015 07:28:00 GMT", null));
+
+        cache.clear("usr-1");
+
+        assertThat(cache.get("usr-1 users/usr-1 {}"), is(nullValue()));
+        assertThat(cache.get("usr-2 users/usr-2 {}").getLastModified(), is("Wed, 21 Oct 2015 07:28:00 GMT"));
+        cache.clear();
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testConstructor_negativeMaxEntries() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("max entries can not be negative");
+
+        new ResponseCache(-1);
+    }
+}
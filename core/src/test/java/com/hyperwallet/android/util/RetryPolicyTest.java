@@ -0,0 +1,97 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+public class RetryPolicyTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testGetDelayMillis_exponentialBoundWithFullJitter() {
+        RetryPolicy policy = new RetryPolicy.Builder().maxAttempts(5).baseDelay(100, TimeUnit.MILLISECONDS)
+                .maxDelay(300, TimeUnit.MILLISECONDS).random(new FixedRandom(0.999999)).build();
+
+        assertThat(policy.getDelayMillis(1, 0, null, 0), is(100L));
+        assertThat(policy.getDelayMillis(2, 0, null, 0), is(200L));
+        assertThat(policy.getDelayMillis(3, 0, null, 0), is(300L));
+        assertThat(policy.getDelayMillis(4, 0, null, 0), is(300L));
+    }
+
+    @Test
+    public void testGetDelayMillis_jitterDrawsFromZero() {
+        RetryPolicy policy = new RetryPolicy.Builder().random(new FixedRandom(0)).build();
+
+        assertThat(policy.getDelayMillis(1, 503, null, 0), is(0L));
+    }
+
+    @Test
+    public void testGetDelayMillis_noRetryAfterMaxAttempts() {
+        RetryPolicy policy = new RetryPolicy.Builder().maxAttempts(2).build();
+
+        assertThat(policy.getDelayMillis(2, 0, null, 0), is(RetryPolicy.NO_RETRY));
+    }
+
+    @Test
+    public void testGetDelayMillis_honorsRetryAfterSeconds() {
+        RetryPolicy policy = new RetryPolicy.Builder().build();
+
+        assertThat(policy.getDelayMillis(1, 429, "2", 0), is(2000L));
+        assertThat(policy.getDelayMillis(1, 503, " 1 ", 0), is(1000L));
+    }
+
+    @Test
+    public void testGetDelayMillis_ignoresRetryAfterOfOtherResponses() {
+        RetryPolicy policy = new RetryPolicy.Builder().random(new FixedRandom(0)).build();
+
+        assertThat(policy.getDelayMillis(1, 502, "2", 0), is(0L));
+    }
+
+    @Test
+    public void testGetDelayMillis_noRetryBeyondTotalBudget() {
+        RetryPolicy policy = new RetryPolicy.Builder().totalBudget(3, TimeUnit.SECONDS).build();
+
+        assertThat(policy.getDelayMillis(1, 503, "5", 0), is(RetryPolicy.NO_RETRY));
+        assertThat(policy.getDelayMillis(1, 503, "1", 2500), is(RetryPolicy.NO_RETRY));
+        assertThat(policy.getDelayMillis(1, 503, "1", 1000), is(1000L));
+    }
+
+    @Test
+    public void testIsRetryable() {
+        assertThat(RetryPolicy.isRetryable(429), is(true));
+        assertThat(RetryPolicy.isRetryable(502), is(true));
+        assertThat(RetryPolicy.isRetryable(503), is(true));
+        assertThat(RetryPolicy.isRetryable(504), is(true));
+        assertThat(RetryPolicy.isRetryable(500), is(false));
+        assertThat(RetryPolicy.isRetryable(400), is(false));
+    }
+
+    @Test
+    public void testBuilder_invalidMaxAttempts() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("max attempts must be at least 1");
+
+        new RetryPolicy.Builder().maxAttempts(0);
+    }
+
+    private static final class FixedRandom extends Random {
+        private final double mValue;
+
+        FixedRandom(final double value) {
+            mValue = value;
+        }
+
+        @Override
+        public double nextDouble() {
+            return mValue;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import java.net.Socket;
+
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+
+public class Tls12SocketFactoryTest {
+
+    @Test
+    public void testGetSharedInstance_returnsSameFactory() throws Exception {
+        assertThat(Tls12SocketFactory.getSharedInstance(), is(sameInstance(Tls12SocketFactory.getSharedInstance())));
+    }
+
+    @Test
+    public void testCreateSocket_enablesOnlyTls12() throws Exception {
+        Tls12SocketFactory factory = new Tls12SocketFactory();
+
+        Socket socket = factory.createSocket();
+
+        assertThat(((SSLSocket) socket).getEnabledProtocols(), is(new String[]{"TLSv1.2"}));
+    }
+
+    @Test
+    public void testOnHandshakeCompleted_countsFullAndResumedHandshakes() throws Exception {
+        Tls12SocketFactory factory = new Tls12SocketFactory();
+        SSLSession session = mock(SSLSession.class);
+        when(session.getId()).thenReturn(new byte[]{1, 2, 3});
+        SSLSession otherSession = mock(SSLSession.class);
+        when(otherSession.getId()).thenReturn(new byte[]{4, 5, 6});
+
+        factory.onHandshakeCompleted(session);
+        factory.onHandshakeCompleted(otherSession);
+        factory.onHandshakeCompleted(session);
+
+        assertThat(factory.getFullHandshakeCount(), is(2L));
+        assertThat(factory.getResumedHandshakeCount(), is(1L));
+    }
+
+    @Test
+    public void testOnHandshakeCompleted_countsSessionWithoutIdAsFullHandshake() throws Exception {
+        Tls12SocketFactory factory = new Tls12SocketFactory();
+        SSLSession session = mock(SSLSession.class);
+        when(session.getId()).thenReturn(new byte[0]);
+
+        factory.onHandshakeCompleted(session);
+        factory.onHandshakeCompleted(session);
+
+        assertThat(factory.getFullHandshakeCount(), is(2L));
+        assertThat(factory.getResumedHandshakeCount(), is(0L));
+    }
+}
@@ -0,0 +1,54 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+public class UrlEncodingTest {
+
+    @Test
+    public void testAppendPathSegment_unreservedCharactersAreKept() {
+        StringBuilder url = new StringBuilder("users/");
+
+        UrlEncoding.appendPathSegment(url, "usr-1_a.b~C9");
+
+        assertThat(url.toString(), is("users/usr-1_a.b~C9"));
+    }
+
+    @Test
+    public void testAppendPathSegment_separatorsAreEncoded() {
+        StringBuilder url = new StringBuilder();
+
+        UrlEncoding.appendPathSegment(url, "a/b?c#d e");
+
+        assertThat(url.toString(), is("a%2Fb%3Fc%23d%20e"));
+    }
+
+    @Test
+    public void testAppendQueryComponent_delimitersAreEncoded() {
+        StringBuilder url = new StringBuilder();
+
+        UrlEncoding.appendQueryComponent(url, "Smith & Sons=1+2");
+
+        assertThat(url.toString(), is("Smith%20%26%20Sons%3D1%2B2"));
+    }
+
+    @Test
+    public void testAppendQueryComponent_dateIsKeptReadable() {
+        StringBuilder url = new StringBuilder();
+
+        UrlEncoding.appendQueryComponent(url, "2019-06-20T17:52:28");
+
+        assertThat(url.toString(), is("2019-06-20T17:52:28"));
+    }
+
+    @Test
+    public void testAppendQueryComponent_nonAsciiIsEncodedAsUtf8() {
+        StringBuilder url = new StringBuilder();
+
+        UrlEncoding.appendQueryComponent(url, "\u00e9\u20ac\uD83D\uDE00");
+
+        assertThat(url.toString(), is("%C3%A9%E2%82%AC%F0%9F%98%80"));
+    }
+}